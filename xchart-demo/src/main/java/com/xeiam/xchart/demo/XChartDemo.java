@@ -160,8 +160,15 @@ public class XChartDemo extends JPanel implements TreeSelectionListener {
           @Override
           public void run() {
 
-            realtimeChart02.updateData();
-            chartPanel.updateSeries(RealtimeChart02.SERIES_NAME, realtimeChart02.getxData(), realtimeChart02.getyData());
+            javax.swing.SwingUtilities.invokeLater(new Runnable() {
+
+              @Override
+              public void run() {
+
+                realtimeChart02.updateData();
+                chartPanel.repaint();
+              }
+            });
           }
         };
         timer = new Timer();
@@ -15,14 +15,13 @@
  */
 package com.xeiam.xchart.demo.charts.realtime;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Timer;
 import java.util.TimerTask;
 
 import javax.swing.JFrame;
 
 import com.xeiam.xchart.Chart;
+import com.xeiam.xchart.Series;
 import com.xeiam.xchart.XChartPanel;
 import com.xeiam.xchart.demo.charts.ExampleChart;
 
@@ -33,13 +32,14 @@ import com.xeiam.xchart.demo.charts.ExampleChart;
  * <ul>
  * <li>real-time chart updates
  * <li>dynamic window
+ * <li>fixed capacity Series
  */
 public class RealtimeChart02 implements ExampleChart {
 
   private Chart chart;
   public static final String SERIES_NAME = "series1";
-  private List<Integer> xData;
-  private List<Double> yData;
+  private Series series;
+  private double nextX;
 
   public static void main(String[] args) {
 
@@ -71,9 +71,16 @@ public class RealtimeChart02 implements ExampleChart {
       @Override
       public void run() {
 
-        realtimeChart02.updateData();
-        chartPanel.updateSeries(SERIES_NAME, realtimeChart02.getxData(), realtimeChart02.getyData());
+        // the series is painted on the event-dispatching thread, so update it there too
+        javax.swing.SwingUtilities.invokeLater(new Runnable() {
 
+          @Override
+          public void run() {
+
+            realtimeChart02.updateData();
+            chartPanel.repaint();
+          }
+        });
       }
     };
 
@@ -90,62 +97,42 @@ public class RealtimeChart02 implements ExampleChart {
   @Override
   public Chart getChart() {
 
-    xData = getMonotonicallyIncreasingData(5);
-    yData = getRandomData(5);
+    double[] xData = getMonotonicallyIncreasingData(5);
+    double[] yData = getRandomData(5);
+    nextX = xData.length;
 
     // Create Chart
     Chart chart = new Chart(500, 400);
     chart.setChartTitle("Sample Real-time Chart");
     chart.setXAxisTitle("X");
     chart.setYAxisTitle("Y");
-    chart.addSeries(SERIES_NAME, xData, yData);
+    // keep the last 20 points in a ring buffer
+    series = chart.addSeries(SERIES_NAME, xData, yData).setCapacity(20);
 
     return chart;
   }
 
-  private List<Double> getRandomData(int numPoints) {
+  private double[] getRandomData(int numPoints) {
 
-    List<Double> data = new ArrayList<Double>();
+    double[] data = new double[numPoints];
     for (int i = 0; i < numPoints; i++) {
-      data.add(Math.random() * 100);
+      data[i] = Math.random() * 100;
     }
     return data;
   }
 
-  private List<Integer> getMonotonicallyIncreasingData(int numPoints) {
+  private double[] getMonotonicallyIncreasingData(int numPoints) {
 
-    List<Integer> data = new ArrayList<Integer>();
+    double[] data = new double[numPoints];
     for (int i = 0; i < numPoints; i++) {
-      data.add(i);
+      data[i] = i;
     }
     return data;
   }
 
   public void updateData() {
 
-    // Get some new data
-    List<Double> newData = getRandomData(1);
-
-    yData.addAll(newData);
-
-    // Limit the total number of points
-    while (yData.size() > 20) {
-      yData.remove(0);
-    }
-
-    xData.add(xData.get(xData.size() - 1) + 1);
-    while (xData.size() > 20) {
-      xData.remove(0);
-    }
-  }
-
-  public List<Double> getyData() {
-
-    return yData;
-  }
-
-  public List<Integer> getxData() {
-
-    return xData;
+    // Append some new data, the oldest point drops out once the series holds 20 points
+    series.append(nextX++, Math.random() * 100);
   }
 }
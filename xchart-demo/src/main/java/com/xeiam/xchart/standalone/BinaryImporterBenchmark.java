@@ -0,0 +1,101 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart.standalone;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import com.xeiam.xchart.BinaryExporter;
+import com.xeiam.xchart.BinaryImporter;
+import com.xeiam.xchart.BitmapEncoder;
+import com.xeiam.xchart.CSVExporter;
+import com.xeiam.xchart.CSVImporter;
+import com.xeiam.xchart.CSVImporter.DataOrientation;
+import com.xeiam.xchart.Chart;
+
+/**
+ * Compares opening a series of 10 million points from a binary series file with reading it from a CSV file, and the time of the first paint of each. Then paints
+ * the mapped series zoomed in to 1% of its X range, of which only the visible points are read.
+ * 
+ * @author timmolter
+ */
+public class BinaryImporterBenchmark {
+
+  private static final int POINT_COUNT = 10000000;
+
+  private static final int RUNS = 3;
+
+  public static void main(String[] args) throws IOException {
+
+    Random random = new Random(42);
+    double[] xData = new double[POINT_COUNT];
+    double[] yData = new double[POINT_COUNT];
+    double y = 0;
+    for (int i = 0; i < POINT_COUNT; i++) {
+      xData[i] = i;
+      y += random.nextGaussian();
+      yData[i] = Math.round(y * 1000) / 1000.0;
+    }
+    Chart chart = new Chart(800, 600);
+    chart.addSeries("archive", xData, yData);
+
+    File dir = File.createTempFile("BinaryImporterBenchmark", "");
+    dir.delete();
+    dir.mkdir();
+    String path2Dir = dir.getPath() + File.separator;
+    File binaryFile = new File(dir, "archive.xcs");
+    File csvFile = new File(dir, "archive.csv");
+    try {
+      BinaryExporter.writeSeries(chart, path2Dir);
+      CSVExporter.writeCSVColumns(chart.getSeriesMap().get("archive"), path2Dir);
+      chart = null;
+      xData = null;
+      yData = null;
+      System.out.println(String.format("binary %d MB, csv %d MB", binaryFile.length() >> 20, csvFile.length() >> 20));
+
+      for (int run = 0; run < RUNS; run++) {
+        long start = System.nanoTime();
+        Chart binaryChart = BinaryImporter.getChartFromBinaryDir(path2Dir, 800, 600, null);
+        long binaryOpenTime = System.nanoTime() - start;
+        start = System.nanoTime();
+        BitmapEncoder.getBufferedImage(binaryChart);
+        long binaryPaintTime = System.nanoTime() - start;
+        binaryChart.getStyleManager().setXAxisMin(POINT_COUNT / 2.0);
+        binaryChart.getStyleManager().setXAxisMax(POINT_COUNT / 2.0 + POINT_COUNT / 100);
+        start = System.nanoTime();
+        BitmapEncoder.getBufferedImage(binaryChart);
+        long zoomedPaintTime = System.nanoTime() - start;
+        binaryChart = null;
+
+        start = System.nanoTime();
+        Chart csvChart = CSVImporter.getChartFromCSVDir(path2Dir, DataOrientation.Columns, 800, 600);
+        long csvOpenTime = System.nanoTime() - start;
+        start = System.nanoTime();
+        BitmapEncoder.getBufferedImage(csvChart);
+        long csvPaintTime = System.nanoTime() - start;
+        csvChart = null;
+
+        System.out.println(String.format("open + paint: binary %5d + %5d ms, csv %5d + %5d ms, binary zoomed paint %5d ms", binaryOpenTime / 1000000,
+            binaryPaintTime / 1000000, csvOpenTime / 1000000, csvPaintTime / 1000000, zoomedPaintTime / 1000000));
+      }
+    } finally {
+      binaryFile.delete();
+      csvFile.delete();
+      dir.delete();
+    }
+  }
+}
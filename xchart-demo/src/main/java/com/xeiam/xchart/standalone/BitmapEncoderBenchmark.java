@@ -0,0 +1,89 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart.standalone;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import com.xeiam.xchart.BitmapEncoder;
+import com.xeiam.xchart.Chart;
+
+/**
+ * Measures how many 4 megapixel charts per second BitmapEncoder renders and PNG encodes into a byte[], and how many garbage collections that takes, with and
+ * without reusing the images.
+ * 
+ * @author timmolter
+ */
+public class BitmapEncoderBenchmark {
+
+  private static final int WIDTH = 2000;
+  private static final int HEIGHT = 2000;
+
+  private static final int WARM_UP_RUNS = 5;
+  private static final int RUNS = 30;
+
+  public static void main(String[] args) throws IOException {
+
+    Chart chart = getChart();
+
+    for (int poolSize : new int[] { 0, BitmapEncoder.DEFAULT_BUFFERED_IMAGE_POOL_SIZE, 0, BitmapEncoder.DEFAULT_BUFFERED_IMAGE_POOL_SIZE }) {
+
+      BitmapEncoder.setBufferedImagePoolSize(poolSize);
+
+      for (int i = 0; i < WARM_UP_RUNS; i++) {
+        BitmapEncoder.getPNGBytes(chart);
+      }
+
+      long gcCount = getGCCount();
+      long start = System.nanoTime();
+      for (int i = 0; i < RUNS; i++) {
+        BitmapEncoder.getPNGBytes(chart);
+      }
+      double rendersPerSecond = RUNS / ((System.nanoTime() - start) / 1000000000.0);
+      gcCount = getGCCount() - gcCount;
+
+      System.out.println(String.format("pool size %d: %8.2f renders per second, %4d GCs", poolSize, rendersPerSecond, gcCount));
+    }
+  }
+
+  private static long getGCCount() {
+
+    long gcCount = 0;
+    for (GarbageCollectorMXBean garbageCollectorMXBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+      gcCount += Math.max(0, garbageCollectorMXBean.getCollectionCount());
+    }
+    return gcCount;
+  }
+
+  private static Chart getChart() {
+
+    Random random = new Random(42);
+    double[] xData = new double[500];
+    double[] yData = new double[500];
+    for (int i = 0; i < xData.length; i++) {
+      xData[i] = i;
+      yData[i] = random.nextGaussian();
+    }
+
+    Chart chart = new Chart(WIDTH, HEIGHT);
+    chart.setChartTitle("Bitmap Encoder Benchmark");
+    chart.addSeries("data", xData, yData);
+
+    return chart;
+  }
+}
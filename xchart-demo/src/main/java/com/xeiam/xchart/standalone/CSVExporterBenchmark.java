@@ -0,0 +1,79 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart.standalone;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import com.xeiam.xchart.CSVExporter;
+import com.xeiam.xchart.Chart;
+
+/**
+ * Measures how long CSVExporter takes to write two series of 5 million points, each to a file of its own and both to a single file.
+ * 
+ * @author timmolter
+ */
+public class CSVExporterBenchmark {
+
+  private static final int POINT_COUNT = 5000000;
+
+  private static final int RUNS = 5;
+
+  public static void main(String[] args) throws IOException {
+
+    Random random = new Random(42);
+    double[] xData = new double[POINT_COUNT];
+    double[] yData = new double[POINT_COUNT];
+    double[] errorBars = new double[POINT_COUNT];
+    for (int i = 0; i < POINT_COUNT; i++) {
+      xData[i] = i;
+      // sensor readings with 3 decimals and full precision ones
+      yData[i] = Math.round(random.nextGaussian() * 100000) / 1000.0;
+      errorBars[i] = random.nextDouble();
+    }
+    Chart chart = new Chart(800, 600);
+    chart.addSeries("readings", xData, yData);
+    chart.addSeries("errors", xData, errorBars, errorBars);
+
+    File dir = File.createTempFile("CSVExporterBenchmark", "");
+    dir.delete();
+    dir.mkdir();
+    File readingsFile = new File(dir, "readings.csv");
+    File errorsFile = new File(dir, "errors.csv");
+    File chartFile = new File(dir, "chart.csv");
+    try {
+      for (int run = 0; run < RUNS; run++) {
+        long start = System.nanoTime();
+        CSVExporter.writeCSVColumns(chart.getSeriesMap().get("readings"), dir.getPath() + File.separator);
+        CSVExporter.writeCSVColumns(chart.getSeriesMap().get("errors"), dir.getPath() + File.separator);
+        long seriesTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        CSVExporter.writeCSVColumns(chart, chartFile.getPath());
+        long chartTime = System.nanoTime() - start;
+
+        System.out.println(String.format("%d MB: series files %5d ms, chart file %5d ms", (readingsFile.length() + errorsFile.length()) >> 20, seriesTime / 1000000,
+            chartTime / 1000000));
+      }
+    } finally {
+      readingsFile.delete();
+      errorsFile.delete();
+      chartFile.delete();
+      dir.delete();
+    }
+  }
+}
@@ -0,0 +1,156 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart.standalone;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.xeiam.xchart.CSVImporter;
+import com.xeiam.xchart.CSVImporter.DataOrientation;
+import com.xeiam.xchart.Chart;
+import com.xeiam.xchart.ParallelCSVImporter;
+
+/**
+ * Measures how long CSVImporter takes to read a series of 1 million points, once with a column per value and once with a line per value, and once with dates.
+ * Then compares reading a directory of many smaller files with CSVImporter and with ParallelCSVImporter.
+ * 
+ * @author timmolter
+ */
+public class CSVImporterBenchmark {
+
+  private static final int POINT_COUNT = 1000000;
+
+  private static final int RUNS = 5;
+
+  private static final int FILE_COUNT = 200;
+
+  private static final int FILE_POINT_COUNT = 20000;
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+
+    File columnsDir = createTempDir("columns");
+    File rowsDir = createTempDir("rows");
+    File datesDir = createTempDir("dates");
+    writeColumns(new File(columnsDir, "series.csv"), false);
+    writeRows(new File(rowsDir, "series.csv"));
+    writeColumns(new File(datesDir, "series.csv"), true);
+    System.out.println(String.format("file size %d MB", new File(columnsDir, "series.csv").length() / (1 << 20)));
+
+    for (int run = 0; run < RUNS; run++) {
+      long start = System.nanoTime();
+      Chart chart = CSVImporter.getChartFromCSVDir(columnsDir.getPath(), DataOrientation.Columns, 800, 600);
+      long columnsTime = System.nanoTime() - start;
+
+      start = System.nanoTime();
+      CSVImporter.getChartFromCSVDir(rowsDir.getPath(), DataOrientation.Rows, 800, 600);
+      long rowsTime = System.nanoTime() - start;
+
+      start = System.nanoTime();
+      CSVImporter.getChartFromCSVDir(datesDir.getPath(), DataOrientation.Columns, 800, 600, null, "yyyy-MM-dd HH:mm:ss");
+      long datesTime = System.nanoTime() - start;
+
+      System.out.println(String.format("%d points: columns %5d ms, rows %5d ms, dates %5d ms", chart.getSeriesMap().get("series").getPointCount(), columnsTime / 1000000,
+          rowsTime / 1000000, datesTime / 1000000));
+    }
+
+    File filesDir = createTempDir("files");
+    for (int i = 0; i < FILE_COUNT; i++) {
+      writeColumns(new File(filesDir, String.format("sensor%03d.csv", i)), false, FILE_POINT_COUNT);
+    }
+    int threadCount = Runtime.getRuntime().availableProcessors();
+    ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+    try {
+      ParallelCSVImporter importer = new ParallelCSVImporter(executorService, 2 * threadCount);
+      for (int run = 0; run < RUNS; run++) {
+        long start = System.nanoTime();
+        CSVImporter.getChartFromCSVDir(filesDir.getPath(), DataOrientation.Columns, 800, 600);
+        long serialTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        importer.getChartFromCSVDir(filesDir.getPath(), DataOrientation.Columns, 800, 600, null);
+        long parallelTime = System.nanoTime() - start;
+
+        System.out.println(String.format("%d files on %d threads: serial %5d ms, parallel %5d ms", FILE_COUNT, threadCount, serialTime / 1000000,
+            parallelTime / 1000000));
+      }
+    } finally {
+      executorService.shutdown();
+    }
+  }
+
+  private static File createTempDir(String name) throws IOException {
+
+    File dir = File.createTempFile("CSVImporterBenchmark", name);
+    dir.delete();
+    dir.mkdir();
+    dir.deleteOnExit();
+    return dir;
+  }
+
+  private static void writeColumns(File file, boolean isDated) throws IOException {
+
+    writeColumns(file, isDated, POINT_COUNT);
+  }
+
+  private static void writeColumns(File file, boolean isDated, int pointCount) throws IOException {
+
+    file.deleteOnExit();
+    Random random = new Random(42);
+    Writer out = new BufferedWriter(new FileWriter(file));
+    try {
+      out.write(isDated ? "time,value,error\n" : "x,value,error\n");
+      SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+      for (int i = 0; i < pointCount; i++) {
+        out.write(isDated ? dateFormat.format(new Date(1400000000000L + i * 1000L)) : Integer.toString(i));
+        out.write(',');
+        out.write(Double.toString(random.nextGaussian()));
+        out.write(',');
+        out.write(Double.toString(random.nextDouble() / 10));
+        out.write(",\n");
+      }
+    } finally {
+      out.close();
+    }
+  }
+
+  private static void writeRows(File file) throws IOException {
+
+    file.deleteOnExit();
+    Random random = new Random(42);
+    Writer out = new BufferedWriter(new FileWriter(file));
+    try {
+      for (int row = 0; row < 2; row++) {
+        for (int i = 0; i < POINT_COUNT; i++) {
+          if (i > 0) {
+            out.write(',');
+          }
+          out.write(row == 0 ? Integer.toString(i) : Double.toString(random.nextGaussian()));
+        }
+        out.write('\n');
+      }
+    } finally {
+      out.close();
+    }
+  }
+}
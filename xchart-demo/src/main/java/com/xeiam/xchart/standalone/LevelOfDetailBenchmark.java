@@ -0,0 +1,77 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart.standalone;
+
+import java.util.Random;
+
+import com.xeiam.xchart.BitmapEncoder;
+import com.xeiam.xchart.Chart;
+import com.xeiam.xchart.Series;
+import com.xeiam.xchart.SeriesMarker;
+
+/**
+ * Compares painting a sliding window of 5 million points with and without a level of detail pyramid, zoomed out to the whole window and zoomed in to 10% and 1% of
+ * it, while points are appended between the paints.
+ * 
+ * @author timmolter
+ */
+public class LevelOfDetailBenchmark {
+
+  private static final int CAPACITY = 5000000;
+
+  private static final int POINTS_PER_FRAME = 10000;
+
+  private static final int FRAMES = 10;
+
+  private static final double[] ZOOMS = { 1.0, 0.1, 0.01 };
+
+  public static void main(String[] args) {
+
+    for (int run = 0; run < 2; run++) {
+      for (boolean isLevelOfDetailEnabled : new boolean[] { false, true }) {
+        Random random = new Random(42);
+        Chart chart = new Chart(800, 600);
+        chart.getStyleManager().setPlotDecimationEnabled(true);
+        Series series = chart.addSeries("live", new double[] { 0 }, new double[] { 0 });
+        series.setMarker(SeriesMarker.NONE);
+        series.setCapacity(CAPACITY);
+        series.setLevelOfDetailEnabled(isLevelOfDetailEnabled);
+        double y = 0;
+        int x = 1;
+        for (; x < CAPACITY; x++) {
+          y += random.nextGaussian();
+          series.append(x, y);
+        }
+
+        StringBuilder sb = new StringBuilder(isLevelOfDetailEnabled ? "pyramid   " : "no pyramid");
+        for (double zoom : ZOOMS) {
+          long start = System.nanoTime();
+          for (int frame = 0; frame < FRAMES; frame++) {
+            for (int i = 0; i < POINTS_PER_FRAME; i++, x++) {
+              y += random.nextGaussian();
+              series.append(x, y);
+            }
+            chart.getStyleManager().setXAxisMin(x - CAPACITY * zoom);
+            chart.getStyleManager().setXAxisMax((double) x);
+            BitmapEncoder.getBufferedImage(chart);
+          }
+          sb.append(String.format(", zoom %5.2f: %5d ms/frame", zoom, (System.nanoTime() - start) / FRAMES / 1000000));
+        }
+        System.out.println(sb);
+      }
+    }
+  }
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart.standalone;
+
+import java.util.Random;
+
+import com.xeiam.xchart.BitmapEncoder;
+import com.xeiam.xchart.Chart;
+import com.xeiam.xchart.Series;
+import com.xeiam.xchart.SeriesMarker;
+
+/**
+ * Measures how long it takes to paint a line chart with 10k, 100k and 1M points into a BufferedImage.
+ * 
+ * @author timmolter
+ */
+public class LineChartBenchmark {
+
+  private static final int[] NUM_POINTS = { 10000, 100000, 1000000 };
+
+  private static final int WARM_UP_RUNS = 3;
+  private static final int RUNS = 10;
+
+  public static void main(String[] args) {
+
+    for (int numPoints : NUM_POINTS) {
+
+      Chart chart = getChart(numPoints);
+
+      for (int i = 0; i < WARM_UP_RUNS; i++) {
+        BitmapEncoder.getBufferedImage(chart);
+      }
+
+      long start = System.nanoTime();
+      for (int i = 0; i < RUNS; i++) {
+        BitmapEncoder.getBufferedImage(chart);
+      }
+      double millisPerRun = (System.nanoTime() - start) / 1000000.0 / RUNS;
+
+      System.out.println(String.format("%8d points: %10.2f ms per chart", numPoints, millisPerRun));
+    }
+  }
+
+  private static Chart getChart(int numPoints) {
+
+    Random random = new Random(42);
+    double[] xData = new double[numPoints];
+    double[] yData = new double[numPoints];
+    double y = 0.0;
+    for (int i = 0; i < numPoints; i++) {
+      xData[i] = i;
+      y += random.nextDouble() - 0.5;
+      yData[i] = y;
+    }
+
+    Chart chart = new Chart(800, 600);
+    chart.setChartTitle("Line Chart Benchmark");
+    Series series = chart.addSeries(numPoints + " points", xData, yData);
+    series.setMarker(SeriesMarker.NONE);
+
+    return chart;
+  }
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart.standalone;
+
+import java.util.Random;
+
+import com.xeiam.xchart.BitmapEncoder;
+import com.xeiam.xchart.Chart;
+import com.xeiam.xchart.SeriesMarker;
+import com.xeiam.xchart.StyleManager.ChartType;
+
+/**
+ * Measures how long it takes to paint 2 million points with plot decimation or scatter density on, where the points are reduced to a few per pixel before they
+ * are drawn, so the time goes into reading the points and transforming them to pixel coordinates. Each combination of X-Axis type, linear or logarithmic axes and
+ * chart type is painted on its own.
+ * 
+ * @author timmolter
+ */
+public class LineChartTransformBenchmark {
+
+  private static final int NUM_POINTS = 2000000;
+
+  private static final int WARM_UP_RUNS = 10;
+  private static final int RUNS = 10;
+
+  public static void main(String[] args) {
+
+    Random random = new Random(42);
+    double[] xData = new double[NUM_POINTS];
+    long[] xDates = new long[NUM_POINTS];
+    double[] yData = new double[NUM_POINTS];
+    double y = 1000.0;
+    for (int i = 0; i < NUM_POINTS; i++) {
+      xData[i] = i + 1;
+      xDates[i] = 1400000000000L + i * 1000L;
+      y += random.nextDouble() - 0.5;
+      yData[i] = y;
+    }
+
+    for (ChartType chartType : new ChartType[] { ChartType.Line, ChartType.Area, ChartType.Scatter }) {
+      for (boolean isDateSeries : new boolean[] { false, true }) {
+        for (boolean isLogarithmic : new boolean[] { false, true }) {
+          if (isDateSeries && isLogarithmic) {
+            continue;
+          }
+
+          Chart chart = new Chart(800, 600);
+          chart.getStyleManager().setChartType(chartType);
+          chart.getStyleManager().setPlotDecimationEnabled(true);
+          chart.getStyleManager().setScatterDensityEnabled(true);
+          chart.getStyleManager().setXAxisLogarithmic(isLogarithmic);
+          chart.getStyleManager().setYAxisLogarithmic(isLogarithmic);
+          if (isDateSeries) {
+            chart.addDateSeries("points", xDates, yData).setMarker(SeriesMarker.NONE);
+          }
+          else {
+            chart.addSeries("points", xData, yData).setMarker(SeriesMarker.NONE);
+          }
+
+          for (int i = 0; i < WARM_UP_RUNS; i++) {
+            BitmapEncoder.getBufferedImage(chart);
+          }
+          long start = System.nanoTime();
+          for (int i = 0; i < RUNS; i++) {
+            BitmapEncoder.getBufferedImage(chart);
+          }
+          double nanosPerPoint = (System.nanoTime() - start) / (double) RUNS / NUM_POINTS;
+
+          System.out.println(String.format("%-8s %-6s %-11s: %6.2f ns per point", chartType, isDateSeries ? "Date" : "Number", isLogarithmic ? "logarithmic" : "linear",
+              nanosPerPoint));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart.standalone;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+
+import com.xeiam.xchart.BitmapEncoder;
+import com.xeiam.xchart.Chart;
+import com.xeiam.xchart.PNGEncoder;
+
+/**
+ * Compares the encoding time and file size of ImageIO and PNGEncoder with different settings, for a 1600x1200 line chart.
+ * 
+ * @author timmolter
+ */
+public class PNGEncoderBenchmark {
+
+  private static final int WARM_UP_RUNS = 5;
+  private static final int RUNS = 20;
+
+  public static void main(String[] args) throws IOException {
+
+    BufferedImage bufferedImage = BitmapEncoder.getBufferedImage(getChart());
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (int i = 0; i < WARM_UP_RUNS; i++) {
+      out.reset();
+      ImageIO.write(bufferedImage, "png", out);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < RUNS; i++) {
+      out.reset();
+      ImageIO.write(bufferedImage, "png", out);
+    }
+    print("ImageIO", start, out.size());
+
+    Object[][] settings = { { 6, PNGEncoder.Filter.ADAPTIVE, false }, { 1, PNGEncoder.Filter.ADAPTIVE, false }, { 1, PNGEncoder.Filter.UP, false }, { 1, PNGEncoder.Filter.SUB, false },
+        { 1, PNGEncoder.Filter.NONE, true }, { 9, PNGEncoder.Filter.NONE, true } };
+    PNGEncoder pngEncoder = new PNGEncoder();
+    for (Object[] setting : settings) {
+      pngEncoder.setCompressionLevel((Integer) setting[0]);
+      pngEncoder.setFilter((PNGEncoder.Filter) setting[1]);
+      pngEncoder.setPaletteEnabled((Boolean) setting[2]);
+
+      for (int i = 0; i < WARM_UP_RUNS; i++) {
+        out.reset();
+        pngEncoder.encode(bufferedImage, out);
+      }
+      start = System.nanoTime();
+      for (int i = 0; i < RUNS; i++) {
+        out.reset();
+        pngEncoder.encode(bufferedImage, out);
+      }
+      print("PNGEncoder level " + setting[0] + ", " + setting[1] + (((Boolean) setting[2]) ? ", palette" : ""), start, out.size());
+    }
+    pngEncoder.end();
+  }
+
+  private static void print(String name, long start, int size) {
+
+    double millisPerRun = (System.nanoTime() - start) / 1000000.0 / RUNS;
+    System.out.println(String.format("%-40s %8.2f ms %8d bytes", name, millisPerRun, size));
+  }
+
+  private static Chart getChart() {
+
+    Random random = new Random(42);
+    double[] xData = new double[1000];
+    double[] yData = new double[1000];
+    double y = 0.0;
+    for (int i = 0; i < xData.length; i++) {
+      xData[i] = i;
+      y += random.nextDouble() - 0.5;
+      yData[i] = y;
+    }
+
+    Chart chart = new Chart(1600, 1200);
+    chart.setChartTitle("PNG Encoder Benchmark");
+    chart.addSeries("data", xData, yData);
+
+    return chart;
+  }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart.standalone;
+
+import java.util.Random;
+
+import com.xeiam.xchart.BitmapEncoder;
+import com.xeiam.xchart.Chart;
+import com.xeiam.xchart.Series;
+import com.xeiam.xchart.SeriesMarker;
+import com.xeiam.xchart.StyleManager.ChartType;
+
+/**
+ * Measures how long it takes to paint a scatter chart with 200k points into a BufferedImage, for each marker and in density mode.
+ * 
+ * @author timmolter
+ */
+public class ScatterChartBenchmark {
+
+  private static final int NUM_POINTS = 200000;
+
+  private static final SeriesMarker[] MARKERS = { SeriesMarker.CIRCLE, SeriesMarker.SQUARE, SeriesMarker.DIAMOND, SeriesMarker.TRIANGLE_UP, SeriesMarker.TRIANGLE_DOWN };
+
+  private static final int WARM_UP_RUNS = 3;
+  private static final int RUNS = 10;
+
+  public static void main(String[] args) {
+
+    for (SeriesMarker marker : MARKERS) {
+      run(marker.toString(), getChart(marker));
+    }
+
+    Chart chart = getChart(SeriesMarker.CIRCLE);
+    chart.getStyleManager().setScatterDensityEnabled(true);
+    run("DENSITY", chart);
+  }
+
+  private static void run(String name, Chart chart) {
+
+    for (int i = 0; i < WARM_UP_RUNS; i++) {
+      BitmapEncoder.getBufferedImage(chart);
+    }
+
+    long start = System.nanoTime();
+    for (int i = 0; i < RUNS; i++) {
+      BitmapEncoder.getBufferedImage(chart);
+    }
+    double millisPerRun = (System.nanoTime() - start) / 1000000.0 / RUNS;
+
+    System.out.println(String.format("%14s: %10.2f ms per chart", name, millisPerRun));
+  }
+
+  private static Chart getChart(SeriesMarker marker) {
+
+    Random random = new Random(42);
+    double[] xData = new double[NUM_POINTS];
+    double[] yData = new double[NUM_POINTS];
+    for (int i = 0; i < NUM_POINTS; i++) {
+      xData[i] = random.nextGaussian();
+      yData[i] = random.nextGaussian();
+    }
+
+    Chart chart = new Chart(800, 600);
+    chart.getStyleManager().setChartType(ChartType.Scatter);
+    chart.setChartTitle("Scatter Chart Benchmark");
+    Series series = chart.addSeries(NUM_POINTS + " points", xData, yData);
+    series.setMarker(marker);
+
+    return chart;
+  }
+}
@@ -0,0 +1,121 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart.standalone;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.xeiam.xchart.BitmapEncoder;
+import com.xeiam.xchart.Chart;
+import com.xeiam.xchart.PNGEncoder;
+import com.xeiam.xchart.TiledEncoder;
+
+/**
+ * Measures the time and peak heap use of saving a 2000 x 1500 chart at 300 DPI with BitmapEncoder, which paints one big image, and with TiledEncoder on 1 to
+ * the number of available processors threads. Both compress the same way.
+ * 
+ * @author timmolter
+ */
+public class TiledEncoderBenchmark {
+
+  private static final int DPI = 300;
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+
+    Chart chart = getChart();
+    File file = File.createTempFile("TiledEncoderBenchmark", ".png");
+    file.deleteOnExit();
+
+    for (int run = 0; run < 2; run++) {
+
+      resetPeakHeap();
+      long start = System.nanoTime();
+      BitmapEncoder.savePNGWithDPI(chart, file.getPath(), DPI);
+      System.out.println(String.format("BitmapEncoder:          %6d ms, peak heap %5d MB", (System.nanoTime() - start) / 1000000, getPeakHeap() / (1 << 20)));
+
+      int processorCount = Runtime.getRuntime().availableProcessors();
+      for (int threadCount = 1; threadCount <= processorCount; threadCount *= 2) {
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        TiledEncoder tiledEncoder = new TiledEncoder(executorService, 2 * threadCount);
+        PNGEncoder pngEncoder = new PNGEncoder();
+        pngEncoder.setCompressionLevel(6);
+        pngEncoder.setFilter(PNGEncoder.Filter.ADAPTIVE);
+
+        resetPeakHeap();
+        start = System.nanoTime();
+        OutputStream out = new FileOutputStream(file);
+        try {
+          tiledEncoder.savePNGWithDPI(chart, out, DPI, pngEncoder);
+        } finally {
+          out.close();
+        }
+        System.out.println(String.format("TiledEncoder %2d threads: %6d ms, peak heap %5d MB", threadCount, (System.nanoTime() - start) / 1000000, getPeakHeap()
+            / (1 << 20)));
+
+        pngEncoder.end();
+        executorService.shutdown();
+      }
+    }
+  }
+
+  private static void resetPeakHeap() {
+
+    System.gc();
+    for (MemoryPoolMXBean memoryPoolMXBean : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (memoryPoolMXBean.getType() == MemoryType.HEAP) {
+        memoryPoolMXBean.resetPeakUsage();
+      }
+    }
+  }
+
+  private static long getPeakHeap() {
+
+    long peakHeap = 0;
+    for (MemoryPoolMXBean memoryPoolMXBean : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (memoryPoolMXBean.getType() == MemoryType.HEAP) {
+        peakHeap += memoryPoolMXBean.getPeakUsage().getUsed();
+      }
+    }
+    return peakHeap;
+  }
+
+  private static Chart getChart() {
+
+    Random random = new Random(42);
+    double[] xData = new double[10000];
+    double[] yData = new double[10000];
+    for (int i = 0; i < xData.length; i++) {
+      xData[i] = i;
+      yData[i] = Math.sin(i / 500.0) + random.nextGaussian() * 0.1;
+    }
+
+    Chart chart = new Chart(2000, 1500);
+    chart.setChartTitle("Tiled Encoder Benchmark");
+    chart.setXAxisTitle("X");
+    chart.setYAxisTitle("Y");
+    chart.addSeries("data", xData, yData);
+
+    return chart;
+  }
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart.standalone;
+
+import java.util.Random;
+
+import com.xeiam.xchart.BitmapEncoder;
+import com.xeiam.xchart.Chart;
+import com.xeiam.xchart.SeriesMarker;
+
+/**
+ * Paints a series of 10 million points with sorted X values zoomed out and zoomed in to 1%, 0.1% and 0.01% of its X range, where only the visible points are
+ * painted.
+ * 
+ * @author timmolter
+ */
+public class ViewportCullingBenchmark {
+
+  private static final int POINT_COUNT = 10000000;
+
+  private static final int PAINTS = 5;
+
+  private static final double[] ZOOMS = { 1.0, 0.01, 0.001, 0.0001 };
+
+  public static void main(String[] args) {
+
+    Random random = new Random(42);
+    double[] xData = new double[POINT_COUNT];
+    double[] yData = new double[POINT_COUNT];
+    double y = 0;
+    for (int i = 0; i < POINT_COUNT; i++) {
+      xData[i] = i;
+      y += random.nextGaussian();
+      yData[i] = y;
+    }
+    Chart chart = new Chart(800, 600);
+    chart.getStyleManager().setPlotDecimationEnabled(true);
+    chart.addSeries("archive", xData, yData).setMarker(SeriesMarker.NONE);
+
+    for (int run = 0; run < 3; run++) {
+      StringBuilder sb = new StringBuilder();
+      for (double zoom : ZOOMS) {
+        chart.getStyleManager().setXAxisMin(POINT_COUNT * (1 - zoom) / 2);
+        chart.getStyleManager().setXAxisMax(POINT_COUNT * (1 + zoom) / 2);
+        long start = System.nanoTime();
+        for (int i = 0; i < PAINTS; i++) {
+          BitmapEncoder.getBufferedImage(chart);
+        }
+        sb.append(String.format("zoom %7.4f: %5d ms  ", zoom, (System.nanoTime() - start) / PAINTS / 1000000));
+      }
+      System.out.println(sb);
+    }
+  }
+}
@@ -0,0 +1,241 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart;
+
+import java.awt.image.BufferedImage;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import javax.imageio.ImageIO;
+
+import com.xeiam.xchart.internal.BufferedImagePool;
+
+/**
+ * Renders and saves many Charts as PNGs in parallel on an ExecutorService. At most maxInFlight charts are rendered at the same time, which bounds the memory used
+ * for images, and the images are reused for charts of the same size. A failing chart does not stop the batch, its exception is reported instead.
+ * <p>
+ * Different Charts can be rendered concurrently, but the same Chart must not be added twice to a batch, or be painted elsewhere while the batch runs.
+ * 
+ * @author timmolter
+ */
+public class BatchEncoder {
+
+  private final ExecutorService executorService;
+
+  private final Semaphore inFlight;
+
+  private final BufferedImagePool bufferedImagePool;
+
+  private final List<Callable<Chart>> chartFactories = new ArrayList<Callable<Chart>>();
+
+  /** a file name or an OutputStream per chart */
+  private final List<Object> targets = new ArrayList<Object>();
+
+  /**
+   * Constructor
+   * 
+   * @param executorService the executor to render on, it is not shut down by this BatchEncoder
+   * @param maxInFlight the maximum number of charts rendered and encoded at the same time
+   */
+  public BatchEncoder(ExecutorService executorService, int maxInFlight) {
+
+    if (maxInFlight < 1) {
+      throw new IllegalArgumentException("Max in flight must be at least 1!!!");
+    }
+    this.executorService = executorService;
+    this.inFlight = new Semaphore(maxInFlight);
+    this.bufferedImagePool = new BufferedImagePool(maxInFlight);
+  }
+
+  /**
+   * Add a Chart to be saved as a PNG file
+   * 
+   * @param chart
+   * @param fileName
+   * @return this BatchEncoder
+   */
+  public BatchEncoder addPNG(Chart chart, String fileName) {
+
+    return add(getFactory(chart), fileName);
+  }
+
+  /**
+   * Add a Chart to be saved as PNG to an OutputStream. The stream is flushed but not closed.
+   * 
+   * @param chart
+   * @param outputStream
+   * @return this BatchEncoder
+   */
+  public BatchEncoder addPNG(Chart chart, OutputStream outputStream) {
+
+    return add(getFactory(chart), outputStream);
+  }
+
+  /**
+   * Add a Chart, which is only created when it is rendered, to be saved as a PNG file. This keeps the charts waiting to be rendered from taking up memory.
+   * 
+   * @param chartFactory
+   * @param fileName
+   * @return this BatchEncoder
+   */
+  public BatchEncoder addPNG(Callable<Chart> chartFactory, String fileName) {
+
+    return add(chartFactory, fileName);
+  }
+
+  /**
+   * Add a Chart, which is only created when it is rendered, to be saved as PNG to an OutputStream. The stream is flushed but not closed.
+   * 
+   * @param chartFactory
+   * @param outputStream
+   * @return this BatchEncoder
+   */
+  public BatchEncoder addPNG(Callable<Chart> chartFactory, OutputStream outputStream) {
+
+    return add(chartFactory, outputStream);
+  }
+
+  private BatchEncoder add(Callable<Chart> chartFactory, Object target) {
+
+    if (chartFactory == null || target == null) {
+      throw new IllegalArgumentException("Chart and output cannot be null!!!");
+    }
+    chartFactories.add(chartFactory);
+    targets.add(target);
+    return this;
+  }
+
+  private static Callable<Chart> getFactory(final Chart chart) {
+
+    if (chart == null) {
+      return null;
+    }
+    return new Callable<Chart>() {
+
+      @Override
+      public Chart call() {
+
+        return chart;
+      }
+    };
+  }
+
+  /**
+   * Render and save all the added charts, blocking until they are all done. The added charts are cleared afterwards, so that the BatchEncoder can be reused.
+   * 
+   * @return the exception thrown for each chart, in the order the charts were added, null for the charts that were saved successfully
+   * @throws InterruptedException if the calling thread is interrupted while waiting
+   */
+  public List<Exception> saveAll() throws InterruptedException {
+
+    List<Future<?>> futures = new ArrayList<Future<?>>(chartFactories.size());
+    List<Exception> exceptions = new ArrayList<Exception>(chartFactories.size());
+
+    try {
+      for (int i = 0; i < chartFactories.size(); i++) {
+        inFlight.acquire();
+        try {
+          futures.add(executorService.submit(new RenderTask(chartFactories.get(i), targets.get(i))));
+        } catch (RejectedExecutionException e) {
+          inFlight.release();
+          futures.add(null);
+          exceptions.add(e);
+          continue;
+        }
+        exceptions.add(null);
+      }
+
+      for (int i = 0; i < futures.size(); i++) {
+        if (futures.get(i) == null) {
+          continue;
+        }
+        try {
+          futures.get(i).get();
+        } catch (ExecutionException e) {
+          Throwable cause = e.getCause();
+          if (cause instanceof Error) {
+            throw (Error) cause;
+          }
+          exceptions.set(i, (Exception) cause);
+        }
+      }
+    } finally {
+      chartFactories.clear();
+      targets.clear();
+    }
+
+    return exceptions;
+  }
+
+  /**
+   * Renders one chart into a pooled image and encodes it
+   */
+  private class RenderTask implements Callable<Void> {
+
+    private final Callable<Chart> chartFactory;
+    private final Object target;
+
+    RenderTask(Callable<Chart> chartFactory, Object target) {
+
+      this.chartFactory = chartFactory;
+      this.target = target;
+    }
+
+    @Override
+    public Void call() throws Exception {
+
+      try {
+        Chart chart = chartFactory.call();
+        BufferedImage bufferedImage = bufferedImagePool.acquire(chart.getWidth(), chart.getHeight());
+        try {
+          chart.paint(bufferedImage.createGraphics());
+          write(bufferedImage);
+        } finally {
+          bufferedImagePool.release(bufferedImage);
+        }
+      } finally {
+        inFlight.release();
+      }
+      return null;
+    }
+
+    private void write(BufferedImage bufferedImage) throws IOException {
+
+      if (target instanceof String) {
+        OutputStream out = new FileOutputStream((String) target);
+        try {
+          ImageIO.write(bufferedImage, "png", out);
+        } finally {
+          out.close();
+        }
+      }
+      else {
+        OutputStream out = (OutputStream) target;
+        ImageIO.write(bufferedImage, "png", out);
+        out.flush();
+      }
+    }
+  }
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * This class is used to export Chart data to binary columnar files, which BinaryImporter opens without parsing by memory mapping them. Each series becomes a file
+ * named after the series. See BinarySeriesFormat for the layout. Only Number and Date series can be exported.
+ * 
+ * @author timmolter
+ */
+public class BinaryExporter {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  /**
+   * Write all series of a Chart to binary files in a directory, a file per series
+   * 
+   * @param chart
+   * @param path2Dir - ex. "./path/to/directory/" *make sure you have the '/' on the end
+   * @throws IOException
+   */
+  public static void writeSeries(Chart chart, String path2Dir) throws IOException {
+
+    for (Series series : chart.getSeriesMap().values()) {
+      writeSeries(series, path2Dir + series.getName() + BinarySeriesFormat.FILE_EXTENSION);
+    }
+  }
+
+  /**
+   * Write a series to a binary file
+   * 
+   * @param series
+   * @param fileName
+   * @throws IOException
+   */
+  public static void writeSeries(Series series, String fileName) throws IOException {
+
+    OutputStream out = new FileOutputStream(new File(fileName));
+    try {
+      writeSeries(series, out);
+    } finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Write a series in the binary format to an OutputStream. The stream is flushed but not closed.
+   * 
+   * @param series
+   * @param out
+   * @throws IOException
+   */
+  public static void writeSeries(Series series, OutputStream out) throws IOException {
+
+    SeriesColumns seriesColumns = new SeriesColumns(series);
+    if (!seriesColumns.isNumberSeries() && !seriesColumns.isDateSeries()) {
+      throw new IllegalArgumentException("Only Number and Date series can be exported as binary!!!");
+    }
+    byte[] name = series.getName().getBytes(BinarySeriesFormat.UTF_8);
+    int length = seriesColumns.getLength();
+
+    ByteBuffer buffer = ByteBuffer.allocate(Math.max(BUFFER_SIZE, (int) BinarySeriesFormat.getColumnsOffset(name.length)));
+    buffer.order(BinarySeriesFormat.BYTE_ORDER);
+    buffer.putInt(BinarySeriesFormat.MAGIC_NUMBER);
+    buffer.putInt(BinarySeriesFormat.VERSION);
+    buffer.put(seriesColumns.isDateSeries() ? BinarySeriesFormat.DATE_X_AXIS : BinarySeriesFormat.NUMBER_X_AXIS);
+    buffer.put((byte) (seriesColumns.hasErrorBars() ? 1 : 0));
+    buffer.put((byte) (isXSorted(seriesColumns) ? 1 : 0));
+    buffer.put((byte) 0);
+    buffer.putInt(name.length);
+    buffer.putLong(length);
+    buffer.putDouble(series.getXMin());
+    buffer.putDouble(series.getXMax());
+    buffer.putDouble(series.getYMin());
+    buffer.putDouble(series.getYMax());
+    buffer.put(name);
+    while (buffer.position() < BinarySeriesFormat.getColumnsOffset(name.length)) {
+      buffer.put((byte) 0);
+    }
+
+    // the columns one after another, in chunks of the buffer size
+    for (int column = 0; column < (seriesColumns.hasErrorBars() ? 3 : 2); column++) {
+      for (int i = 0; i < length; i++) {
+        if (buffer.remaining() < 8) {
+          out.write(buffer.array(), 0, buffer.position());
+          buffer.clear();
+        }
+        if (column == 1) {
+          buffer.putDouble(seriesColumns.getY(i));
+        }
+        else if (column == 2) {
+          buffer.putDouble(seriesColumns.getErrorBar(i));
+        }
+        else if (seriesColumns.isDateSeries()) {
+          buffer.putLong(seriesColumns.getXDate(i));
+        }
+        else {
+          buffer.putDouble(seriesColumns.getX(i));
+        }
+      }
+    }
+    out.write(buffer.array(), 0, buffer.position());
+    out.flush();
+  }
+
+  private static boolean isXSorted(SeriesColumns seriesColumns) {
+
+    for (int i = 1; i < seriesColumns.getLength(); i++) {
+      if (seriesColumns.isDateSeries() ? seriesColumns.getXDate(i) < seriesColumns.getXDate(i - 1) : !(seriesColumns.getX(i) >= seriesColumns.getX(i - 1))) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
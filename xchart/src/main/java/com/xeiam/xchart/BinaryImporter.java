@@ -0,0 +1,156 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Arrays;
+
+import com.xeiam.xchart.StyleManager.ChartTheme;
+
+/**
+ * This class is used to create Series from binary columnar files written by BinaryExporter. The files are memory mapped and wrapped in a BufferSeriesDataSource,
+ * so the points are read in place by the operating system when they are painted instead of being parsed and copied onto the heap, and the extrema are taken from
+ * the header, so opening a series takes the same time regardless of its size. A column holds at most Integer.MAX_VALUE bytes, about 268 million points.
+ * 
+ * @author timmolter
+ */
+public class BinaryImporter {
+
+  /**
+   * Create a Chart with a series for each binary series file (.xcs) in a directory, in the order of the file names
+   * 
+   * @param path2Directory
+   * @param width
+   * @param height
+   * @param chartTheme may be null
+   * @return
+   */
+  public static Chart getChartFromBinaryDir(String path2Directory, int width, int height, ChartTheme chartTheme) {
+
+    Chart chart = CSVImporter.createChart(width, height, chartTheme);
+
+    File[] files = CSVImporter.getAllFiles(path2Directory, ".*\\" + BinarySeriesFormat.FILE_EXTENSION);
+    Arrays.sort(files);
+    for (File file : files) {
+      try {
+        addSeries(chart, file);
+      } catch (IOException e) {
+        throw new RuntimeException("Exception while reading binary series file " + file + "!!!", e);
+      }
+    }
+
+    return chart;
+  }
+
+  /**
+   * Add a series from a binary series file to a Chart, named as it was when exported
+   * 
+   * @param chart
+   * @param file
+   * @return the series, backed by the mapped file
+   * @throws IOException
+   * @throws IllegalArgumentException if the file is not a binary series file
+   */
+  public static Series addSeries(Chart chart, File file) throws IOException {
+
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+    try {
+      FileChannel channel = randomAccessFile.getChannel();
+
+      ByteBuffer header = ByteBuffer.allocate(BinarySeriesFormat.HEADER_LENGTH);
+      header.order(BinarySeriesFormat.BYTE_ORDER);
+      while (header.hasRemaining() && channel.read(header) >= 0) {
+        // read the whole header
+      }
+      header.flip();
+      if (header.remaining() < BinarySeriesFormat.HEADER_LENGTH || header.getInt() != BinarySeriesFormat.MAGIC_NUMBER) {
+        throw new IllegalArgumentException(file + " is not a binary series file!!!");
+      }
+      int version = header.getInt();
+      if (version != BinarySeriesFormat.VERSION) {
+        throw new IllegalArgumentException("Unsupported binary series file version " + version + " in " + file + "!!!");
+      }
+      boolean isDateSeries = header.get() == BinarySeriesFormat.DATE_X_AXIS;
+      boolean hasErrorBars = header.get() != 0;
+      boolean isXSorted = header.get() != 0;
+      header.get();
+      int nameLength = header.getInt();
+      long pointCount = header.getLong();
+      double xMin = header.getDouble();
+      double xMax = header.getDouble();
+      double yMin = header.getDouble();
+      double yMax = header.getDouble();
+
+      long columnsOffset = BinarySeriesFormat.getColumnsOffset(nameLength);
+      long columnLength = pointCount * 8;
+      if (nameLength < 0 || pointCount < 0 || columnLength > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("Cannot map a series of " + pointCount + " points from " + file + "!!!");
+      }
+      if (channel.size() < columnsOffset + (hasErrorBars ? 3 : 2) * columnLength) {
+        throw new IllegalArgumentException(file + " is truncated!!!");
+      }
+
+      ByteBuffer nameBuffer = ByteBuffer.allocate(nameLength);
+      while (nameBuffer.hasRemaining() && channel.read(nameBuffer, BinarySeriesFormat.HEADER_LENGTH + nameBuffer.position()) >= 0) {
+        // read the whole name
+      }
+      String name = new String(nameBuffer.array(), BinarySeriesFormat.UTF_8);
+
+      // the mappings stay valid after the file is closed
+      DoubleBuffer xData = null;
+      LongBuffer xDates = null;
+      if (isDateSeries) {
+        xDates = map(channel, columnsOffset, columnLength).asLongBuffer();
+      }
+      else {
+        xData = map(channel, columnsOffset, columnLength).asDoubleBuffer();
+      }
+      DoubleBuffer yData = map(channel, columnsOffset + columnLength, columnLength).asDoubleBuffer();
+      DoubleBuffer errorBars = hasErrorBars ? map(channel, columnsOffset + 2 * columnLength, columnLength).asDoubleBuffer() : null;
+
+      return chart.addSeries(name, new BufferSeriesDataSource(xData, xDates, yData, errorBars, isXSorted, xMin, xMax, yMin, yMax));
+    } finally {
+      randomAccessFile.close();
+    }
+  }
+
+  /**
+   * Add a series from a binary series file to a Chart, named as it was when exported
+   * 
+   * @param chart
+   * @param fileName
+   * @return the series, backed by the mapped file
+   * @throws IOException
+   */
+  public static Series addSeries(Chart chart, String fileName) throws IOException {
+
+    return addSeries(chart, new File(fileName));
+  }
+
+  private static ByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+
+    ByteBuffer buffer = channel.map(MapMode.READ_ONLY, position, size);
+    buffer.order(BinarySeriesFormat.BYTE_ORDER);
+    return buffer;
+  }
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart;
+
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+
+/**
+ * The binary columnar file format of a series, written by BinaryExporter and memory mapped by BinaryImporter. All values are little-endian:
+ * 
+ * <pre>
+ *  0  int     magic number, "XCHS"
+ *  4  int     format version, 1
+ *  8  byte    X-Axis type, 0 for Number, 1 for Date
+ *  9  byte    1 if the series has error bars, else 0
+ * 10  byte    1 if the X values are in ascending order, else 0
+ * 11  byte    reserved, 0
+ * 12  int     length of the series name in bytes
+ * 16  long    number of points
+ * 24  double  X min
+ * 32  double  X max
+ * 40  double  Y min, accounting for error bars
+ * 48  double  Y max, accounting for error bars
+ * 56  byte[]  series name in UTF-8, padded with zeros to a multiple of 8 bytes
+ *     double[] or long[]  X values, doubles for Number series, epoch milliseconds for Date series
+ *     double[]            Y values, NaN for gaps
+ *     double[]            error bars, if the series has them
+ * </pre>
+ * 
+ * The extrema in the header let a series be opened without reading its points, and the columns are 8 byte aligned, so they can be mapped as they are.
+ * 
+ * @author timmolter
+ */
+final class BinarySeriesFormat {
+
+  static final int MAGIC_NUMBER = 'X' | 'C' << 8 | 'H' << 16 | 'S' << 24;
+
+  static final int VERSION = 1;
+
+  static final byte NUMBER_X_AXIS = 0;
+
+  static final byte DATE_X_AXIS = 1;
+
+  /** the length of the header up to the series name */
+  static final int HEADER_LENGTH = 56;
+
+  static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+  static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  /** the file extension BinaryImporter looks for in a directory */
+  static final String FILE_EXTENSION = ".xcs";
+
+  /**
+   * Constructor - Private constructor to prevent instantiation
+   */
+  private BinarySeriesFormat() {
+
+  }
+
+  /**
+   * @return the offset of the first column, after the header and the padded series name
+   */
+  static long getColumnsOffset(int nameLength) {
+
+    return HEADER_LENGTH + (nameLength + 7) / 8 * 8;
+  }
+}
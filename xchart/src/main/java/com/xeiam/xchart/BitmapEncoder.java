@@ -19,22 +19,20 @@ import java.awt.Graphics2D;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
-import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.Iterator;
 
 import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
-import javax.imageio.ImageTypeSpecifier;
 import javax.imageio.ImageWriteParam;
 import javax.imageio.ImageWriter;
-import javax.imageio.metadata.IIOInvalidTreeException;
-import javax.imageio.metadata.IIOMetadata;
-import javax.imageio.metadata.IIOMetadataNode;
-import javax.imageio.stream.FileImageOutputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import com.xeiam.xchart.internal.BufferedImagePool;
 
 /**
  * A helper class with static methods for saving Charts as bitmaps
@@ -43,6 +41,12 @@ import javax.imageio.stream.FileImageOutputStream;
  */
 public final class BitmapEncoder {
 
+  /** the default number of idle images kept for reuse, see setBufferedImagePoolSize(int) */
+  public static final int DEFAULT_BUFFERED_IMAGE_POOL_SIZE = 2;
+
+  /** the images the charts are rendered into before they are encoded */
+  private static volatile BufferedImagePool bufferedImagePool = new BufferedImagePool(DEFAULT_BUFFERED_IMAGE_POOL_SIZE);
+
   /**
    * Constructor - Private constructor to prevent instantiation
    */
@@ -59,16 +63,74 @@ public final class BitmapEncoder {
    */
   public static void savePNG(Chart chart, String fileName) throws IOException {
 
-    BufferedImage bufferedImage = getBufferedImage(chart);
+    OutputStream out = new FileOutputStream(fileName);
+    try {
+      savePNG(chart, out);
+    } finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Write a Chart as PNG to an OutputStream. The stream is flushed but not closed.
+   * 
+   * @param chart
+   * @param out
+   * @throws IOException
+   */
+  public static void savePNG(Chart chart, OutputStream out) throws IOException {
+
+    BufferedImagePool pool = bufferedImagePool;
+    BufferedImage bufferedImage = paint(chart, pool);
+    try {
+      ImageIO.write(bufferedImage, "png", out);
+      out.flush();
+    } finally {
+      pool.release(bufferedImage);
+    }
+  }
+
+  /**
+   * Save a Chart as a PNG file using the given PNGEncoder, which sets the compression level, row filter and palette use
+   * 
+   * @param chart
+   * @param fileName
+   * @param pngEncoder
+   * @throws IOException
+   */
+  public static void savePNG(Chart chart, String fileName, PNGEncoder pngEncoder) throws IOException {
 
-    // Save chart as PNG
     OutputStream out = new FileOutputStream(fileName);
-    ImageIO.write(bufferedImage, "png", out);
-    out.close();
+    try {
+      savePNG(chart, out, pngEncoder);
+    } finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Write a Chart as PNG to an OutputStream using the given PNGEncoder, which sets the compression level, row filter and palette use. The stream is flushed but not
+   * closed.
+   * 
+   * @param chart
+   * @param out
+   * @param pngEncoder
+   * @throws IOException
+   */
+  public static void savePNG(Chart chart, OutputStream out, PNGEncoder pngEncoder) throws IOException {
+
+    BufferedImagePool pool = bufferedImagePool;
+    BufferedImage bufferedImage = paint(chart, pool);
+    try {
+      pngEncoder.encode(bufferedImage, out);
+    } finally {
+      pool.release(bufferedImage);
+    }
   }
 
   /**
    * Save a chart as a PNG with a custom DPI. The default DPI is 72, which is fine for displaying charts on a computer monitor, but for printing charts, a DPI of around 300 is much better.
+   * For poster sizes, TiledEncoder saves without holding the whole image in memory.
    * 
    * @param chart
    * @param fileName
@@ -89,82 +151,71 @@ public final class BitmapEncoder {
 
     chart.paint(graphics2D, chart.getWidth(), chart.getHeight());
 
-    for (Iterator<ImageWriter> iw = ImageIO.getImageWritersByFormatName("png"); iw.hasNext();) {
-      ImageWriter writer = iw.next();
-      // instantiate an ImageWriteParam object with default compression options
-      ImageWriteParam iwp = writer.getDefaultWriteParam();
-
-      ImageTypeSpecifier typeSpecifier = ImageTypeSpecifier.createFromBufferedImageType(BufferedImage.TYPE_INT_RGB);
-      IIOMetadata metadata = writer.getDefaultImageMetadata(typeSpecifier, iwp);
-      if (metadata.isReadOnly() || !metadata.isStandardMetadataFormatSupported()) {
-        continue;
-      }
-
-      setDPIforPNG(metadata, DPI);
-
-      File file = new File(fileName);
-      FileImageOutputStream output = new FileImageOutputStream(file);
-      writer.setOutput(output);
-      IIOImage image = new IIOImage(bufferedImage, null, metadata);
-      writer.write(null, image, iwp);
-      writer.dispose();
-      break;
+    // printing favors small files over encoding speed
+    PNGEncoder pngEncoder = new PNGEncoder();
+    pngEncoder.setCompressionLevel(6);
+    pngEncoder.setFilter(PNGEncoder.Filter.ADAPTIVE);
+    pngEncoder.setDPI(DPI);
+    OutputStream out = new FileOutputStream(fileName);
+    try {
+      pngEncoder.encode(bufferedImage, out);
+    } finally {
+      out.close();
+      pngEncoder.end();
     }
   }
 
   /**
-   * Sets the metadata correctly
+   * Save a Chart as a JPEG file
    * 
-   * @param metadata
-   * @param DPI
-   * @throws IIOInvalidTreeException
+   * @param chart
+   * @param fileName
+   * @param quality - a float between 0 and 1 (1 = maximum quality)
+   * @throws FileNotFoundException
+   * @throws IOException
    */
-  private static void setDPIforPNG(IIOMetadata metadata, int DPI) throws IIOInvalidTreeException {
-
-    // for PNG, it's dots per millimeter
-    double dotsPerMilli = 1.0 * DPI / 10 / 2.54;
-
-    IIOMetadataNode horiz = new IIOMetadataNode("HorizontalPixelSize");
-    horiz.setAttribute("value", Double.toString(dotsPerMilli));
-
-    IIOMetadataNode vert = new IIOMetadataNode("VerticalPixelSize");
-    vert.setAttribute("value", Double.toString(dotsPerMilli));
-
-    IIOMetadataNode dim = new IIOMetadataNode("Dimension");
-    dim.appendChild(horiz);
-    dim.appendChild(vert);
-
-    IIOMetadataNode root = new IIOMetadataNode("javax_imageio_1.0");
-    root.appendChild(dim);
+  public static void saveJPG(Chart chart, String fileName, float quality) throws FileNotFoundException, IOException {
 
-    metadata.mergeTree("javax_imageio_1.0", root);
+    OutputStream out = new FileOutputStream(fileName);
+    try {
+      saveJPG(chart, out, quality);
+    } finally {
+      out.close();
+    }
   }
 
   /**
-   * Save a Chart as a JPEG file
+   * Write a Chart as JPEG to an OutputStream. The stream is flushed but not closed.
    * 
    * @param chart
-   * @param fileName
+   * @param out
    * @param quality - a float between 0 and 1 (1 = maximum quality)
-   * @throws FileNotFoundException
    * @throws IOException
    */
-  public static void saveJPG(Chart chart, String fileName, float quality) throws FileNotFoundException, IOException {
+  public static void saveJPG(Chart chart, OutputStream out, float quality) throws IOException {
 
-    BufferedImage bufferedImage = getBufferedImage(chart);
-
-    Iterator<ImageWriter> iter = ImageIO.getImageWritersByFormatName("jpeg");
-    ImageWriter writer = iter.next();
-    // instantiate an ImageWriteParam object with default compression options
-    ImageWriteParam iwp = writer.getDefaultWriteParam();
-    iwp.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
-    iwp.setCompressionQuality(quality);
-    File file = new File(fileName);
-    FileImageOutputStream output = new FileImageOutputStream(file);
-    writer.setOutput(output);
-    IIOImage image = new IIOImage(bufferedImage, null, null);
-    writer.write(null, image, iwp);
-    writer.dispose();
+    BufferedImagePool pool = bufferedImagePool;
+    BufferedImage bufferedImage = paint(chart, pool);
+    try {
+      Iterator<ImageWriter> iter = ImageIO.getImageWritersByFormatName("jpeg");
+      ImageWriter writer = iter.next();
+      // instantiate an ImageWriteParam object with default compression options
+      ImageWriteParam iwp = writer.getDefaultWriteParam();
+      iwp.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+      iwp.setCompressionQuality(quality);
+      ImageOutputStream output = ImageIO.createImageOutputStream(out);
+      try {
+        writer.setOutput(output);
+        IIOImage image = new IIOImage(bufferedImage, null, null);
+        writer.write(null, image, iwp);
+      } finally {
+        writer.dispose();
+        output.close();
+      }
+      out.flush();
+    } finally {
+      pool.release(bufferedImage);
+    }
   }
 
   /**
@@ -176,19 +227,56 @@ public final class BitmapEncoder {
    */
   public static byte[] getPNGBytes(Chart chart) throws IOException {
 
-    BufferedImage bufferedImage = getBufferedImage(chart);
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    savePNG(chart, baos);
+    return baos.toByteArray();
+  }
+
+  /**
+   * Generates a ByteBuffer for a given chart, PNG compressed
+   * 
+   * @param chart
+   * @return a ByteBuffer for a given chart, PNG compressed, positioned at 0 with its limit at the end of the PNG
+   * @throws IOException
+   */
+  public static ByteBuffer getPNGByteBuffer(Chart chart) throws IOException {
+
+    return ByteBuffer.wrap(getPNGBytes(chart));
+  }
 
-    byte[] imageInBytes = null;
+  /**
+   * Set how many idle images the save and getPNGBytes methods keep for reuse, so that saving charts of the same size repeatedly does not allocate a new image every
+   * time. Images of the least recently used size are evicted first. 0 turns pooling off. The default is 2.
+   * 
+   * @param poolSize the maximum number of idle images kept, over all sizes
+   */
+  public static void setBufferedImagePoolSize(int poolSize) {
 
-    ByteArrayOutputStream baos = new ByteArrayOutputStream();
-    ImageIO.write(bufferedImage, "png", baos);
-    baos.flush();
-    imageInBytes = baos.toByteArray();
-    baos.close();
+    bufferedImagePool = new BufferedImagePool(poolSize);
+  }
 
-    return imageInBytes;
+  /**
+   * Paints a chart into an image from the pool
+   */
+  private static BufferedImage paint(Chart chart, BufferedImagePool pool) {
+
+    BufferedImage bufferedImage = pool.acquire(chart.getWidth(), chart.getHeight());
+    Graphics2D graphics2D = bufferedImage.createGraphics();
+    try {
+      chart.paint(graphics2D);
+    } catch (RuntimeException e) {
+      pool.release(bufferedImage);
+      throw e;
+    }
+    return bufferedImage;
   }
 
+  /**
+   * Paints a chart into a new image, which is not pooled because it is handed to the caller
+   * 
+   * @param chart
+   * @return
+   */
   public static BufferedImage getBufferedImage(Chart chart) {
 
     BufferedImage bufferedImage = new BufferedImage(chart.getWidth(), chart.getHeight(), BufferedImage.TYPE_INT_RGB);
@@ -0,0 +1,193 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart;
+
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * A SeriesDataSource over NIO buffers, e.g. the columns of a memory mapped file, which are read in place from position 0 to their limit without being copied
+ * onto the heap. The extrema are given, so that the points are not read to find them.
+ * 
+ * @author timmolter
+ */
+public class BufferSeriesDataSource implements SeriesDataSource {
+
+  private final DoubleBuffer xData;
+  private final LongBuffer xDates;
+  private final DoubleBuffer yData;
+  private final DoubleBuffer errorBars;
+
+  private final boolean isXSorted;
+
+  private final double xMin;
+  private final double xMax;
+  private final double yMin;
+  private final double yMax;
+
+  /**
+   * Constructor
+   * 
+   * @param xData the Number X-Axis data, or null for a Date series
+   * @param xDates the Date X-Axis data as epoch milliseconds, or null for a Number series
+   * @param yData
+   * @param errorBars may be null
+   * @param isXSorted true if the X values are in ascending order
+   * @param xMin
+   * @param xMax
+   * @param yMin the minimum of the Y data, accounting for error bars
+   * @param yMax the maximum of the Y data, accounting for error bars
+   */
+  public BufferSeriesDataSource(DoubleBuffer xData, LongBuffer xDates, DoubleBuffer yData, DoubleBuffer errorBars, boolean isXSorted, double xMin, double xMax,
+      double yMin, double yMax) {
+
+    if (yData == null || (xData == null) == (xDates == null)) {
+      throw new IllegalArgumentException("X and Y-Axis data cannot be null!!!");
+    }
+    if ((xData != null ? xData.limit() : xDates.limit()) != yData.limit()) {
+      throw new IllegalArgumentException("X and Y-Axis sizes are not the same!!!");
+    }
+    if (errorBars != null && errorBars.limit() != yData.limit()) {
+      throw new IllegalArgumentException("errorbars and Y-Axis sizes are not the same!!!");
+    }
+    this.xData = xData;
+    this.xDates = xDates;
+    this.yData = yData;
+    this.errorBars = errorBars;
+    this.isXSorted = isXSorted;
+    this.xMin = xMin;
+    this.xMax = xMax;
+    this.yMin = yMin;
+    this.yMax = yMax;
+  }
+
+  @Override
+  public int size() {
+
+    return yData.limit();
+  }
+
+  @Override
+  public boolean isDateSeries() {
+
+    return xDates != null;
+  }
+
+  @Override
+  public boolean hasErrorBars() {
+
+    return errorBars != null;
+  }
+
+  @Override
+  public boolean isXSorted() {
+
+    return isXSorted;
+  }
+
+  @Override
+  public double getXMin() {
+
+    return xMin;
+  }
+
+  @Override
+  public double getXMax() {
+
+    return xMax;
+  }
+
+  @Override
+  public double getYMin() {
+
+    return yMin;
+  }
+
+  @Override
+  public double getYMax() {
+
+    return yMax;
+  }
+
+  @Override
+  public double getX(int index) {
+
+    return xData != null ? xData.get(index) : xDates.get(index);
+  }
+
+  @Override
+  public double getY(int index) {
+
+    return yData.get(index);
+  }
+
+  @Override
+  public double getErrorBar(int index) {
+
+    return errorBars.get(index);
+  }
+
+  @Override
+  public void read(int fromIndex, int toIndex, double[] xData, double[] yData, double[] errorBars) {
+
+    // bulk reads from duplicates, which have positions of their own
+    int length = toIndex - fromIndex;
+    if (this.xData != null) {
+      DoubleBuffer buffer = this.xData.duplicate();
+      buffer.position(fromIndex);
+      buffer.get(xData, 0, length);
+    }
+    else {
+      for (int i = 0; i < length; i++) {
+        xData[i] = xDates.get(fromIndex + i);
+      }
+    }
+    DoubleBuffer buffer = this.yData.duplicate();
+    buffer.position(fromIndex);
+    buffer.get(yData, 0, length);
+    if (errorBars != null) {
+      buffer = this.errorBars.duplicate();
+      buffer.position(fromIndex);
+      buffer.get(errorBars, 0, length);
+    }
+  }
+
+  /**
+   * @return the Number X-Axis data, or null for a Date series
+   */
+  public DoubleBuffer getXData() {
+
+    return xData;
+  }
+
+  /**
+   * @return the Date X-Axis data as epoch milliseconds, or null for a Number series
+   */
+  public LongBuffer getXDates() {
+
+    return xDates;
+  }
+
+  public DoubleBuffer getYData() {
+
+    return yData;
+  }
+
+  public DoubleBuffer getErrorBars() {
+
+    return errorBars;
+  }
+}
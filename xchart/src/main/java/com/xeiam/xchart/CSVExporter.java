@@ -15,18 +15,21 @@
  */
 package com.xeiam.xchart;
 
-import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
-import java.util.Collection;
-import java.util.Iterator;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.xeiam.xchart.internal.CSVWriter;
 
 /**
  * This class is used to export Chart data to a folder containing one or more CSV files. The parent folder's name is the title of the chart. Each series becomes a CSV file in the folder. The series'
- * name becomes the CSV files' name.
+ * name becomes the CSV files' name. Alternatively all series of a Chart are exported to a single CSV file or stream.
+ * <p>
+ * The values are formatted straight into a buffer that is written in large chunks, Dates as epoch milliseconds, so that CSVImporter reads them back as they were.
+ * Collections of Integer or Long values are written as integers.
  * 
  * @author timmolter
  */
@@ -40,31 +43,26 @@ public class CSVExporter {
    */
   public static void writeCSVRows(Series series, String path2Dir) {
 
-    File newFile = new File(path2Dir + series.getName() + ".csv");
-    Writer out = null;
     try {
-
-      out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(newFile), "UTF8"));
-      String csv = join(series.getXData(), ",") + System.getProperty("line.separator");
-      out.write(csv);
-      csv = join(series.getYData(), ",") + System.getProperty("line.separator");
-      out.write(csv);
-      if (series.getErrorBars() != null) {
-        csv = join(series.getErrorBars(), ",") + System.getProperty("line.separator");
-        out.write(csv);
+      OutputStream out = new FileOutputStream(new File(path2Dir + series.getName() + ".csv"));
+      try {
+        CSVWriter csvWriter = new CSVWriter(out);
+        SeriesColumns seriesColumns = new SeriesColumns(series);
+        for (int column = 0; column < getColumnCount(seriesColumns); column++) {
+          for (int i = 0; i < seriesColumns.getLength(); i++) {
+            if (i > 0) {
+              csvWriter.writeComma();
+            }
+            write(csvWriter, seriesColumns, column, i);
+          }
+          csvWriter.writeLineSeparator();
+        }
+        csvWriter.flush();
+      } finally {
+        out.close();
       }
-
     } catch (Exception e) {
       e.printStackTrace();
-    } finally {
-      if (out != null) {
-        try {
-          out.flush();
-          out.close();
-        } catch (IOException e) {
-          // NOP
-        }
-      }
     }
   }
 
@@ -76,94 +74,168 @@ public class CSVExporter {
    */
   public static void writeCSVColumns(Series series, String path2Dir) {
 
-    File newFile = new File(path2Dir + series.getName() + ".csv");
-    Writer out = null;
     try {
-
-      out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(newFile), "UTF8"));
-      Collection<?> xData = series.getXData();
-      Collection<? extends Number> yData = series.getYData();
-      Collection<? extends Number> errorBarData = series.getErrorBars();
-      Iterator<?> itrx = xData.iterator();
-      Iterator<? extends Number> itry = yData.iterator();
-      Iterator<? extends Number> itrErrorBar = null;
-      if (errorBarData != null) {
-        itrErrorBar = errorBarData.iterator();
-      }
-      while (itrx.hasNext()) {
-        Number xDataPoint = (Number) itrx.next();
-        Number yDataPoint = itry.next();
-        Number errorBarValue = null;
-        if (itrErrorBar != null) {
-          errorBarValue = itrErrorBar.next();
+      OutputStream out = new FileOutputStream(new File(path2Dir + series.getName() + ".csv"));
+      try {
+        CSVWriter csvWriter = new CSVWriter(out);
+        SeriesColumns seriesColumns = new SeriesColumns(series);
+        for (int i = 0; i < seriesColumns.getLength(); i++) {
+          for (int column = 0; column < getColumnCount(seriesColumns); column++) {
+            write(csvWriter, seriesColumns, column, i);
+            csvWriter.writeComma();
+          }
+          csvWriter.writeLineSeparator();
         }
-        StringBuilder sb = new StringBuilder();
-        sb.append(xDataPoint + ",");
-        sb.append(yDataPoint + ",");
-        if (errorBarValue != null) {
-          sb.append(errorBarValue + ",");
-        }
-        sb.append(System.getProperty("line.separator"));
-
-        // String csv = xDataPoint + "," + yDataPoint + errorBarValue == null ? "" : ("," + errorBarValue) + System.getProperty("line.separator");
-        // String csv = + yDataPoint + System.getProperty("line.separator");
-        out.write(sb.toString());
+        csvWriter.flush();
+      } finally {
+        out.close();
       }
-
     } catch (Exception e) {
       e.printStackTrace();
+    }
+  }
+
+  /**
+   * Write all series of a Chart as rows to a single CSV file, see writeCSVRows(Chart, OutputStream).
+   * 
+   * @param chart
+   * @param fileName
+   * @throws IOException
+   */
+  public static void writeCSVRows(Chart chart, String fileName) throws IOException {
+
+    OutputStream out = new FileOutputStream(fileName);
+    try {
+      writeCSVRows(chart, out);
     } finally {
-      if (out != null) {
-        try {
-          out.flush();
-          out.close();
-        } catch (IOException e) {
-          // NOP
+      out.close();
+    }
+  }
+
+  /**
+   * Write all series of a Chart as rows to an OutputStream, one row each for the X values, the Y values and the error bars of a series, starting with the series'
+   * name and "X", "Y" or "Error Bars". The stream is flushed but not closed.
+   * 
+   * @param chart
+   * @param out
+   * @throws IOException
+   */
+  public static void writeCSVRows(Chart chart, OutputStream out) throws IOException {
+
+    CSVWriter csvWriter = new CSVWriter(out);
+    for (Series series : chart.getSeriesMap().values()) {
+      SeriesColumns seriesColumns = new SeriesColumns(series);
+      for (int column = 0; column < getColumnCount(seriesColumns); column++) {
+        csvWriter.writeText(getColumnName(seriesColumns, column));
+        for (int i = 0; i < seriesColumns.getLength(); i++) {
+          csvWriter.writeComma();
+          write(csvWriter, seriesColumns, column, i);
         }
+        csvWriter.writeLineSeparator();
       }
     }
-
+    csvWriter.flush();
   }
 
   /**
-   * @param collection
-   * @param separator
-   * @return
+   * Write all series of a Chart as columns to a single CSV file, see writeCSVColumns(Chart, OutputStream).
+   * 
+   * @param chart
+   * @param fileName
+   * @throws IOException
    */
-  private static String join(Collection<? extends Object> collection, String separator) {
+  public static void writeCSVColumns(Chart chart, String fileName) throws IOException {
 
-    if (collection == null) {
-      return null;
-    }
-    Iterator iterator = collection.iterator();
-    // handle null, zero and one elements before building a buffer
-    if (iterator == null) {
-      return null;
-    }
-    if (!iterator.hasNext()) {
-      return "";
-    }
-    Object first = iterator.next();
-    if (!iterator.hasNext()) {
-      return first == null ? "" : first.toString();
+    OutputStream out = new FileOutputStream(fileName);
+    try {
+      writeCSVColumns(chart, out);
+    } finally {
+      out.close();
     }
+  }
 
-    // two or more elements
-    StringBuffer buf = new StringBuffer(256); // Java default is 16, probably too small
-    if (first != null) {
-      buf.append(first);
+  /**
+   * Write all series of a Chart as columns to an OutputStream, side by side, in a single pass: a column each for the X values, the Y values and the error bars of
+   * a series, under a header of the series' name and "X", "Y" or "Error Bars". The columns of shorter series are left empty at the end. The stream is flushed but
+   * not closed.
+   * 
+   * @param chart
+   * @param out
+   * @throws IOException
+   */
+  public static void writeCSVColumns(Chart chart, OutputStream out) throws IOException {
+
+    List<SeriesColumns> allSeriesColumns = new ArrayList<SeriesColumns>();
+    int length = 0;
+    for (Series series : chart.getSeriesMap().values()) {
+      SeriesColumns seriesColumns = new SeriesColumns(series);
+      allSeriesColumns.add(seriesColumns);
+      length = Math.max(length, seriesColumns.getLength());
     }
 
-    while (iterator.hasNext()) {
-      if (separator != null) {
-        buf.append(separator);
+    CSVWriter csvWriter = new CSVWriter(out);
+    boolean isFirst = true;
+    for (SeriesColumns seriesColumns : allSeriesColumns) {
+      for (int column = 0; column < getColumnCount(seriesColumns); column++) {
+        if (!isFirst) {
+          csvWriter.writeComma();
+        }
+        isFirst = false;
+        csvWriter.writeText(getColumnName(seriesColumns, column));
       }
-      Object obj = iterator.next();
-      if (obj != null) {
-        buf.append(obj);
+    }
+    csvWriter.writeLineSeparator();
+
+    for (int i = 0; i < length; i++) {
+      isFirst = true;
+      for (SeriesColumns seriesColumns : allSeriesColumns) {
+        for (int column = 0; column < getColumnCount(seriesColumns); column++) {
+          if (!isFirst) {
+            csvWriter.writeComma();
+          }
+          isFirst = false;
+          if (i < seriesColumns.getLength()) {
+            write(csvWriter, seriesColumns, column, i);
+          }
+        }
       }
+      csvWriter.writeLineSeparator();
     }
-    return buf.toString();
+    csvWriter.flush();
+  }
+
+  private static int getColumnCount(SeriesColumns seriesColumns) {
 
+    return seriesColumns.hasErrorBars() ? 3 : 2;
+  }
+
+  private static String getColumnName(SeriesColumns seriesColumns, int column) {
+
+    return seriesColumns.getName() + (column == 0 ? " X" : (column == 1 ? " Y" : " Error Bars"));
+  }
+
+  /**
+   * Writes the X value, Y value or error bar of the i-th point
+   */
+  private static void write(CSVWriter csvWriter, SeriesColumns seriesColumns, int column, int i) throws IOException {
+
+    if (seriesColumns.isIntegerColumn(column)) {
+      csvWriter.writeLong(seriesColumns.getInteger(column, i));
+    }
+    else if (column == 1) {
+      csvWriter.writeDouble(seriesColumns.getY(i));
+    }
+    else if (column == 2) {
+      csvWriter.writeDouble(seriesColumns.getErrorBar(i));
+    }
+    else if (seriesColumns.isNumberSeries()) {
+      csvWriter.writeDouble(seriesColumns.getX(i));
+    }
+    else if (seriesColumns.isDateSeries()) {
+      csvWriter.writeLong(seriesColumns.getXDate(i));
+    }
+    else if (seriesColumns.getXObject(i) != null) {
+      csvWriter.writeText(seriesColumns.getXObject(i).toString());
+    }
   }
 }
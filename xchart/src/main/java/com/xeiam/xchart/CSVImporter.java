@@ -15,15 +15,14 @@
  */
 package com.xeiam.xchart;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
-import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import com.xeiam.xchart.StyleManager.ChartTheme;
+import com.xeiam.xchart.internal.CSVParser;
 
 /**
  * This class is used to create a Chart object from a folder containing one or more CSV files. The parent folder's name becomes the title of the chart. Each CSV file in the folder becomes a series on
@@ -48,38 +47,7 @@ public class CSVImporter {
    */
   public static Chart getChartFromCSVDir(String path2Directory, DataOrientation dataOrientation, int width, int height, ChartTheme chartTheme) {
 
-    // 1. get the directory, name chart the dir name
-    Chart chart = null;
-    if (chartTheme != null) {
-      chart = new Chart(width, height, chartTheme);
-    }
-    else {
-      chart = new Chart(width, height);
-    }
-
-    // 2. get all the csv files in the dir
-    File[] csvFiles = getAllFiles(path2Directory, ".*.csv");
-
-    // 3. create a series for each file, naming the series the file name
-    for (int i = 0; i < csvFiles.length; i++) {
-      File csvFile = csvFiles[i];
-      String[] xAndYData = null;
-      if (dataOrientation == DataOrientation.Rows) {
-        xAndYData = getSeriesDataFromCSVRows(csvFile);
-      }
-      else {
-        xAndYData = getSeriesDataFromCSVColumns(csvFile);
-      }
-
-      if (xAndYData[2] == null || xAndYData[2].trim().equalsIgnoreCase("")) {
-        chart.addSeries(csvFile.getName().substring(0, csvFile.getName().indexOf(".csv")), getAxisData(xAndYData[0]), getAxisData(xAndYData[1]));
-      }
-      else {
-        chart.addSeries(csvFile.getName().substring(0, csvFile.getName().indexOf(".csv")), getAxisData(xAndYData[0]), getAxisData(xAndYData[1]), getAxisData(xAndYData[2]));
-      }
-    }
-
-    return chart;
+    return getChartFromCSVDir(path2Directory, dataOrientation, width, height, chartTheme, null);
   }
 
   /**
@@ -91,100 +59,101 @@ public class CSVImporter {
    */
   public static Chart getChartFromCSVDir(String path2Directory, DataOrientation dataOrientation, int width, int height) {
 
-    return getChartFromCSVDir(path2Directory, dataOrientation, width, height, null);
+    return getChartFromCSVDir(path2Directory, dataOrientation, width, height, null, null);
   }
 
   /**
-   * Get the series's data from a file
+   * The files are read in a single pass each, parsing the values straight into primitive arrays. A header line (or a label at the start of each row) is skipped.
+   * The series are added in the order of the file names. ParallelCSVImporter reads the files in parallel.
    * 
-   * @param csvFile
+   * @param path2Directory
+   * @param dataOrientation
+   * @param width
+   * @param height
+   * @param chartTheme may be null
+   * @param datePattern the SimpleDateFormat pattern of the X values if they are dates, null if they are numbers
    * @return
    */
-  private static String[] getSeriesDataFromCSVRows(File csvFile) {
+  public static Chart getChartFromCSVDir(String path2Directory, DataOrientation dataOrientation, int width, int height, ChartTheme chartTheme, String datePattern) {
 
-    String[] xAndYData = new String[3];
+    // 1. get the directory, name chart the dir name
+    Chart chart = createChart(width, height, chartTheme);
 
-    BufferedReader bufferedReader = null;
-    try {
-      int counter = 0;
-      String line = null;
-      bufferedReader = new BufferedReader(new FileReader(csvFile));
-      while ((line = bufferedReader.readLine()) != null) {
-        xAndYData[counter++] = line;
-      }
+    // 2. get all the csv files in the dir
+    File[] csvFiles = getCSVFiles(path2Directory);
 
-    } catch (Exception e) {
-      System.out.println("Exception while reading csv file: " + e);
-    } finally {
-      if (bufferedReader != null) {
-        try {
-          bufferedReader.close();
-        } catch (IOException e) {
-          e.printStackTrace();
-        }
+    // 3. create a series for each file, naming the series the file name
+    CSVParser csvParser = new CSVParser(dataOrientation == DataOrientation.Rows, datePattern);
+    for (int i = 0; i < csvFiles.length; i++) {
+      File csvFile = csvFiles[i];
+      double[][] data;
+      try {
+        data = parse(csvParser, csvFile);
+      } catch (IOException e) {
+        throw new RuntimeException("Exception while reading csv file " + csvFile + "!!!", e);
       }
+      addSeries(chart, csvFile, data, datePattern != null);
+    }
+
+    return chart;
+  }
+
+  static Chart createChart(int width, int height, ChartTheme chartTheme) {
+
+    if (chartTheme != null) {
+      return new Chart(width, height, chartTheme);
+    }
+    else {
+      return new Chart(width, height);
     }
-    return xAndYData;
   }
 
   /**
-   * @param csvFile
-   * @return
+   * @return the csv files in the directory, sorted by name, so that the series are always added in the same order
    */
-  private static String[] getSeriesDataFromCSVColumns(File csvFile) {
-
-    String[] xAndYData = new String[3];
-    xAndYData[0] = "";
-    xAndYData[1] = "";
-    xAndYData[2] = "";
-
-    BufferedReader bufferedReader = null;
-    try {
-      int counter = 0;
-      String line = null;
-      bufferedReader = new BufferedReader(new FileReader(csvFile));
-      while ((line = bufferedReader.readLine()) != null) {
-        String[] dataArray = line.split(",");
-        xAndYData[0] += dataArray[0] + ",";
-        xAndYData[1] += dataArray[1] + ",";
-        if (dataArray.length > 2) {
-          xAndYData[2] += dataArray[2] + ",";
-        }
-      }
+  static File[] getCSVFiles(String path2Directory) {
 
-    } catch (Exception e) {
-      System.out.println("Exception while reading csv file: " + e);
-    } finally {
-      if (bufferedReader != null) {
-        try {
-          bufferedReader.close();
-        } catch (IOException e) {
-          e.printStackTrace();
-        }
-      }
-    }
-    return xAndYData;
+    File[] csvFiles = getAllFiles(path2Directory, ".*.csv");
+    Arrays.sort(csvFiles);
+    return csvFiles;
   }
 
   /**
-   * @param stringData
-   * @return
+   * @return the X, Y and, if present, error bar values of the csv file
+   * @throws IllegalArgumentException if the file does not contain X and Y values, or its columns are not all the same size
    */
-  private static List<Number> getAxisData(String stringData) {
+  static double[][] parse(CSVParser csvParser, File csvFile) throws IOException {
 
-    List<Number> axisData = new ArrayList<Number>();
-    String[] stringDataArray = stringData.split(",");
-    for (int i = 0; i < stringDataArray.length; i++) {
-      String dataPoint = stringDataArray[i];
-      try {
-        BigDecimal value = new BigDecimal(dataPoint);
-        axisData.add(value);
-      } catch (NumberFormatException e) {
-        System.out.println("Error parsing >" + dataPoint + "< !");
-        throw (e);
+    double[][] data = csvParser.parse(csvFile);
+    if (data.length < 2) {
+      throw new IllegalArgumentException("No X and Y-Axis data in csv file " + csvFile + "!!!");
+    }
+    if (data[0].length != data[1].length) {
+      throw new IllegalArgumentException("X and Y-Axis sizes are not the same in csv file " + csvFile + "!!!");
+    }
+    if (data.length > 2 && data[2].length != data[1].length) {
+      throw new IllegalArgumentException("errorbars and Y-Axis sizes are not the same in csv file " + csvFile + "!!!");
+    }
+    return data;
+  }
+
+  /**
+   * Adds the values of a csv file as a series named after the file
+   */
+  static void addSeries(Chart chart, File csvFile, double[][] data, boolean isDated) {
+
+    String seriesName = csvFile.getName().substring(0, csvFile.getName().indexOf(".csv"));
+    double[] errorBars = data.length > 2 ? data[2] : null;
+    if (isDated) {
+      long[] xDates = new long[data[0].length];
+      for (int j = 0; j < xDates.length; j++) {
+        xDates[j] = (long) data[0][j];
       }
+      chart.addDateSeries(seriesName, xDates, data[1], errorBars);
+    }
+    else {
+      chart.addSeries(seriesName, data[0], data[1], errorBars);
     }
-    return axisData;
   }
 
   /**
@@ -16,9 +16,7 @@
 package com.xeiam.xchart;
 
 import java.awt.Graphics2D;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 import java.util.Map;
 
 import com.xeiam.xchart.StyleManager.ChartTheme;
@@ -85,6 +83,16 @@ public class Chart {
     getStyleManager().setChartType(chartBuilder.chartType);
   }
 
+  /**
+   * Constructor - a Chart sharing the style and series of another Chart, which both can be painted at the same time as long as neither is changed
+   * 
+   * @param chart
+   */
+  Chart(Chart chart) {
+
+    chartPainter = new ChartPainter(chart.chartPainter);
+  }
+
   /**
    * @param g
    * @param width
@@ -144,7 +152,7 @@ public class Chart {
   }
 
   /**
-   * Add a series to the chart using double arrays with error bars
+   * Add a series to the chart using double arrays with error bars. The arrays are stored as is, without boxing or copying, so they should not be modified afterwards.
    * 
    * @param seriesName
    * @param xData the X-Axis data
@@ -154,26 +162,46 @@ public class Chart {
    */
   public Series addSeries(String seriesName, double[] xData, double[] yData, double[] errorBars) {
 
-    List<Double> xDataNumber = null;
-    if (xData != null) {
-      xDataNumber = new ArrayList<Double>();
-      for (double d : xData) {
-        xDataNumber.add(new Double(d));
-      }
-    }
-    List<Double> yDataNumber = new ArrayList<Double>();
-    for (double d : yData) {
-      yDataNumber.add(new Double(d));
-    }
-    List<Double> errorBarDataNumber = null;
-    if (errorBars != null) {
-      errorBarDataNumber = new ArrayList<Double>();
-      for (double d : errorBars) {
-        errorBarDataNumber.add(new Double(d));
-      }
-    }
-
-    return chartPainter.getAxisPair().addSeries(seriesName, xDataNumber, yDataNumber, errorBarDataNumber);
+    return chartPainter.getAxisPair().addSeries(seriesName, xData, yData, errorBars);
+  }
+
+  /**
+   * Add a Date series to the chart using a long array of epoch milliseconds for the X-Axis
+   * 
+   * @param seriesName
+   * @param xData the X-Axis data as epoch milliseconds
+   * @param yData the Y-Axis data
+   * @return A Series object that you can set properties on
+   */
+  public Series addDateSeries(String seriesName, long[] xData, double[] yData) {
+
+    return addDateSeries(seriesName, xData, yData, null);
+  }
+
+  /**
+   * Add a Date series to the chart using a long array of epoch milliseconds for the X-Axis with error bars
+   * 
+   * @param seriesName
+   * @param xData the X-Axis data as epoch milliseconds
+   * @param yData the Y-Axis data
+   * @param errorBars the error bar data
+   * @return A Series object that you can set properties on
+   */
+  public Series addDateSeries(String seriesName, long[] xData, double[] yData, double[] errorBars) {
+
+    return chartPainter.getAxisPair().addSeries(seriesName, xData, yData, errorBars);
+  }
+
+  /**
+   * Add a series whose data is provided on demand by a SeriesDataSource, e.g. a memory mapped file, instead of being held in Collections or arrays
+   * 
+   * @param seriesName
+   * @param dataSource
+   * @return A Series object that you can set properties on
+   */
+  public Series addSeries(String seriesName, SeriesDataSource dataSource) {
+
+    return chartPainter.getAxisPair().addSeries(seriesName, dataSource);
   }
 
   /**
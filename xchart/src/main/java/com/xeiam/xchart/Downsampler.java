@@ -0,0 +1,203 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart;
+
+/**
+ * Reduces large data sets to a target number of points before charting them, using the Largest-Triangle-Three-Buckets (LTTB) algorithm. LTTB keeps the first and last
+ * points and, for each bucket in between, the point forming the largest triangle with the previously selected point and the average of the next bucket. This keeps
+ * peaks and the overall shape of the data, which makes it well suited for thumbnails and sparklines.
+ * <p>
+ * Points with a Y value of Double.NaN are treated as gaps: they are never selected themselves, but a gap between two selected points is kept.
+ * 
+ * @author timmolter
+ */
+public final class Downsampler {
+
+  /**
+   * Constructor - Private constructor to prevent instantiation
+   */
+  private Downsampler() {
+
+  }
+
+  /**
+   * Gets the indices of the points to keep, in ascending order
+   * 
+   * @param xData the X-Axis data, in ascending order
+   * @param yData the Y-Axis data
+   * @param targetPointCount the number of points to keep, must be at least 3 to have any effect
+   * @return the indices of the points to keep
+   */
+  public static int[] getLTTBIndices(double[] xData, double[] yData, int targetPointCount) {
+
+    if (xData.length != yData.length) {
+      throw new IllegalArgumentException("X and Y-Axis sizes are not the same!!!");
+    }
+    return getLTTBIndices(xData, null, yData, targetPointCount);
+  }
+
+  /**
+   * Gets the indices of the points to keep, in ascending order
+   * 
+   * @param xData the X-Axis data as epoch milliseconds, in ascending order
+   * @param yData the Y-Axis data
+   * @param targetPointCount the number of points to keep, must be at least 3 to have any effect
+   * @return the indices of the points to keep
+   */
+  public static int[] getLTTBIndices(long[] xData, double[] yData, int targetPointCount) {
+
+    if (xData.length != yData.length) {
+      throw new IllegalArgumentException("X and Y-Axis sizes are not the same!!!");
+    }
+    return getLTTBIndices(null, xData, yData, targetPointCount);
+  }
+
+  /**
+   * Picks the values at the given indices, i.e. those returned by getLTTBIndices()
+   * 
+   * @param data
+   * @param indices
+   * @return a new array holding the picked values
+   */
+  public static double[] select(double[] data, int[] indices) {
+
+    double[] selected = new double[indices.length];
+    for (int i = 0; i < indices.length; i++) {
+      selected[i] = data[indices[i]];
+    }
+    return selected;
+  }
+
+  /**
+   * Picks the values at the given indices, i.e. those returned by getLTTBIndices()
+   * 
+   * @param data
+   * @param indices
+   * @return a new array holding the picked values
+   */
+  public static long[] select(long[] data, int[] indices) {
+
+    long[] selected = new long[indices.length];
+    for (int i = 0; i < indices.length; i++) {
+      selected[i] = data[indices[i]];
+    }
+    return selected;
+  }
+
+  private static int[] getLTTBIndices(double[] xData, long[] xDates, double[] yData, int targetPointCount) {
+
+    int length = yData.length;
+
+    // the points that are not gaps
+    int[] points = new int[length];
+    int numPoints = 0;
+    for (int i = 0; i < length; i++) {
+      if (!Double.isNaN(yData[i])) {
+        points[numPoints++] = i;
+      }
+    }
+    boolean hasGaps = numPoints < length;
+
+    if (targetPointCount < 3 || targetPointCount >= numPoints) {
+      if (!hasGaps) {
+        return points;
+      }
+      return keepGaps(points, numPoints, yData);
+    }
+
+    int[] sampled = new int[targetPointCount];
+    int sampledCount = 0;
+
+    // bucket size, leaving room for the first and last points
+    double every = (double) (numPoints - 2) / (targetPointCount - 2);
+
+    int a = 0; // the previously selected point, as position in points[]
+    sampled[sampledCount++] = points[a];
+
+    for (int i = 0; i < targetPointCount - 2; i++) {
+
+      // the average point of the next bucket
+      int avgRangeStart = (int) Math.floor((i + 1) * every) + 1;
+      int avgRangeEnd = Math.min((int) Math.floor((i + 2) * every) + 1, numPoints);
+      double avgX = 0.0;
+      double avgY = 0.0;
+      for (int j = avgRangeStart; j < avgRangeEnd; j++) {
+        avgX += getX(xData, xDates, points[j]);
+        avgY += yData[points[j]];
+      }
+      int avgRangeLength = avgRangeEnd - avgRangeStart;
+      avgX /= avgRangeLength;
+      avgY /= avgRangeLength;
+
+      // the current bucket
+      int rangeStart = (int) Math.floor(i * every) + 1;
+      int rangeEnd = (int) Math.floor((i + 1) * every) + 1;
+
+      double pointAX = getX(xData, xDates, points[a]);
+      double pointAY = yData[points[a]];
+
+      double maxArea = -1.0;
+      int maxAreaPoint = rangeStart;
+      for (int j = rangeStart; j < rangeEnd; j++) {
+        // twice the triangle area, which is fine for comparison
+        double area = Math.abs((pointAX - avgX) * (yData[points[j]] - pointAY) - (pointAX - getX(xData, xDates, points[j])) * (avgY - pointAY));
+        if (area > maxArea) {
+          maxArea = area;
+          maxAreaPoint = j;
+        }
+      }
+
+      sampled[sampledCount++] = points[maxAreaPoint];
+      a = maxAreaPoint;
+    }
+
+    sampled[sampledCount++] = points[numPoints - 1];
+
+    if (!hasGaps) {
+      return sampled;
+    }
+    return keepGaps(sampled, sampledCount, yData);
+  }
+
+  /**
+   * Inserts the index of a gap between two consecutive indices whenever there is one in between them in the original data
+   */
+  private static int[] keepGaps(int[] indices, int count, double[] yData) {
+
+    int[] withGaps = new int[count * 2];
+    int withGapsCount = 0;
+    for (int i = 0; i < count; i++) {
+      if (i > 0) {
+        for (int j = indices[i - 1] + 1; j < indices[i]; j++) {
+          if (Double.isNaN(yData[j])) {
+            withGaps[withGapsCount++] = j;
+            break;
+          }
+        }
+      }
+      withGaps[withGapsCount++] = indices[i];
+    }
+
+    int[] result = new int[withGapsCount];
+    System.arraycopy(withGaps, 0, result, 0, withGapsCount);
+    return result;
+  }
+
+  private static double getX(double[] xData, long[] xDates, int index) {
+
+    return xData != null ? xData[index] : xDates[index];
+  }
+}
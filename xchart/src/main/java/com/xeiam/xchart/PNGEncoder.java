@@ -0,0 +1,626 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * A PNG encoder with a selectable compression level and row filter, which can write charts with at most 256 colors as an indexed (palette) PNG. Most charts are
+ * a few flat colors on a background, which compress well with a low compression level and a simple filter, so this trades file size for encoding speed.
+ * <p>
+ * The Deflater and the row buffers are reused from one image to the next, so a PNGEncoder is not thread-safe: use one per thread, and call end() once it is no
+ * longer needed to free the Deflater's native memory.
+ * 
+ * @author timmolter
+ */
+public class PNGEncoder {
+
+  /**
+   * The filter applied to each row of pixels before compression, see the PNG specification. ADAPTIVE tries all of them per row and picks the one that looks the
+   * most compressible.
+   */
+  public enum Filter {
+
+    NONE, SUB, UP, AVERAGE, PAETH, ADAPTIVE
+  }
+
+  private static final byte[] SIGNATURE = { (byte) 137, 80, 78, 71, 13, 10, 26, 10 };
+
+  private static final byte[] IHDR = { 'I', 'H', 'D', 'R' };
+  private static final byte[] PLTE = { 'P', 'L', 'T', 'E' };
+  private static final byte[] TRNS = { 't', 'R', 'N', 'S' };
+  private static final byte[] PHYS = { 'p', 'H', 'Y', 's' };
+  private static final byte[] IDAT = { 'I', 'D', 'A', 'T' };
+  private static final byte[] IEND = { 'I', 'E', 'N', 'D' };
+
+  private static final int COLOR_TYPE_RGB = 2;
+  private static final int COLOR_TYPE_PALETTE = 3;
+  private static final int COLOR_TYPE_RGBA = 6;
+
+  private static final int IDAT_CHUNK_SIZE = 32768;
+
+  private static final int MAX_PALETTE_SIZE = 256;
+
+  /** the size of the palette hash table, a power of two well above the max palette size to keep probe sequences short */
+  private static final int PALETTE_TABLE_SIZE = 1024;
+
+  private int compressionLevel = 1;
+
+  private Filter filter = Filter.UP;
+
+  private boolean isPaletteEnabled = false;
+
+  private int dpi = 0;
+
+  private final Deflater deflater = new Deflater();
+
+  private final CRC32 crc = new CRC32();
+
+  // reused buffers
+  private int[] pixelRow = new int[0];
+  private byte[] previousRow = new byte[0];
+  private byte[] currentRow = new byte[0];
+  private byte[][] filteredRows = new byte[5][0];
+  private final byte[] chunkBuffer = new byte[IDAT_CHUNK_SIZE];
+
+  // the palette of the image being encoded, as a hash table from color to index + 1
+  private final int[] paletteTableColors = new int[PALETTE_TABLE_SIZE];
+  private final int[] paletteTableIndices = new int[PALETTE_TABLE_SIZE];
+  private final int[] palette = new int[MAX_PALETTE_SIZE];
+  private int paletteSize;
+
+  /** or-ed into the colors of images without alpha, whose alpha bits are undefined */
+  private int paletteAlphaMask;
+
+  // the image being encoded
+  private OutputStream imageOut;
+  private DeflaterOutputStream imageDataOut;
+  private int imageWidth;
+  private int imageHeight;
+  private int imageColorType;
+  private int imageBytesPerPixel;
+  private int rowCount;
+
+  /**
+   * Set the deflate compression level, from 0 (no compression, fastest) to 9 (smallest files, slowest). The default is 1, which for charts is several times faster
+   * than 6 for files about a fifth larger.
+   * 
+   * @param compressionLevel
+   */
+  public void setCompressionLevel(int compressionLevel) {
+
+    if ((compressionLevel < 0 || compressionLevel > 9) && compressionLevel != Deflater.DEFAULT_COMPRESSION) {
+      throw new IllegalArgumentException("Compression level must be between 0 and 9!!!");
+    }
+    this.compressionLevel = compressionLevel;
+  }
+
+  /**
+   * Set the row filter, the default is UP, which suits the horizontal runs of color in charts and is cheap. ADAPTIVE compresses a little better at a much higher
+   * cost. Indexed images are always written unfiltered, as the PNG specification recommends.
+   * 
+   * @param filter
+   */
+  public void setFilter(Filter filter) {
+
+    if (filter == null) {
+      throw new IllegalArgumentException("Filter cannot be null!!!");
+    }
+    this.filter = filter;
+  }
+
+  /**
+   * Set whether images with at most 256 colors are written as an indexed PNG, which is smaller and usually faster to compress. Counting the colors takes an extra
+   * pass over the image. The default is false.
+   * 
+   * @param isPaletteEnabled
+   */
+  public void setPaletteEnabled(boolean isPaletteEnabled) {
+
+    this.isPaletteEnabled = isPaletteEnabled;
+  }
+
+  /**
+   * Set the resolution written to the PNG, which matters for printing. 0, the default, writes no resolution.
+   * 
+   * @param dpi
+   */
+  public void setDPI(int dpi) {
+
+    if (dpi < 0) {
+      throw new IllegalArgumentException("DPI cannot be negative!!!");
+    }
+    this.dpi = dpi;
+  }
+
+  /**
+   * Encode an image as PNG. The stream is not closed.
+   * 
+   * @param bufferedImage
+   * @param out
+   * @throws IOException
+   */
+  public void encode(BufferedImage bufferedImage, OutputStream out) throws IOException {
+
+    boolean hasAlpha = bufferedImage.getColorModel().hasAlpha();
+
+    int colorType;
+    if (isPaletteEnabled && buildPalette(bufferedImage, hasAlpha)) {
+      colorType = COLOR_TYPE_PALETTE;
+    }
+    else {
+      colorType = hasAlpha ? COLOR_TYPE_RGBA : COLOR_TYPE_RGB;
+    }
+
+    start(out, bufferedImage.getWidth(), bufferedImage.getHeight(), colorType, hasAlpha);
+    writeRows(bufferedImage, 0, bufferedImage.getHeight());
+    finish();
+  }
+
+  /**
+   * Free the native memory of the Deflater, this PNGEncoder cannot be used afterwards
+   */
+  public void end() {
+
+    deflater.end();
+  }
+
+  /**
+   * Start encoding an image that is handed over a strip of rows at a time with writeRows(..), so that it never has to be in memory as a whole. Such images are
+   * never written as indexed PNG, as the palette would have to be known up front.
+   * 
+   * @param out
+   * @param width
+   * @param height
+   * @param hasAlpha
+   * @throws IOException
+   */
+  void start(OutputStream out, int width, int height, boolean hasAlpha) throws IOException {
+
+    start(out, width, height, hasAlpha ? COLOR_TYPE_RGBA : COLOR_TYPE_RGB, hasAlpha);
+  }
+
+  private void start(OutputStream out, int width, int height, int colorType, boolean hasAlpha) throws IOException {
+
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Image width and height must be greater than 0!!!");
+    }
+
+    out.write(SIGNATURE);
+
+    byte[] header = new byte[13];
+    putInt(header, 0, width);
+    putInt(header, 4, height);
+    header[8] = 8; // bit depth
+    header[9] = (byte) colorType;
+    writeChunk(out, IHDR, header, header.length);
+
+    if (colorType == COLOR_TYPE_PALETTE) {
+      writePalette(out, hasAlpha);
+    }
+
+    if (dpi > 0) {
+      int pixelsPerMeter = (int) Math.round(dpi / 0.0254);
+      byte[] physicalDimensions = new byte[9];
+      putInt(physicalDimensions, 0, pixelsPerMeter);
+      putInt(physicalDimensions, 4, pixelsPerMeter);
+      physicalDimensions[8] = 1; // unit is the meter
+      writeChunk(out, PHYS, physicalDimensions, physicalDimensions.length);
+    }
+
+    imageOut = out;
+    imageWidth = width;
+    imageHeight = height;
+    imageColorType = colorType;
+    imageBytesPerPixel = colorType == COLOR_TYPE_PALETTE ? 1 : (colorType == COLOR_TYPE_RGBA ? 4 : 3);
+    rowCount = 0;
+
+    int rowLength = width * imageBytesPerPixel;
+    if (currentRow.length != rowLength) {
+      previousRow = new byte[rowLength];
+      currentRow = new byte[rowLength];
+      for (int i = 0; i < filteredRows.length; i++) {
+        filteredRows[i] = new byte[rowLength];
+      }
+    }
+    else {
+      Arrays.fill(previousRow, (byte) 0);
+    }
+
+    deflater.reset();
+    deflater.setLevel(compressionLevel);
+    imageDataOut = new DeflaterOutputStream(new ImageDataOutputStream(out), deflater, IDAT_CHUNK_SIZE);
+  }
+
+  /**
+   * Write the next rows of the image started with start(..)
+   * 
+   * @param bufferedImage a strip of the image, as wide as the image
+   * @param fromRow the first row of the strip to write
+   * @param toRow the row after the last row of the strip to write
+   * @throws IOException
+   */
+  void writeRows(BufferedImage bufferedImage, int fromRow, int toRow) throws IOException {
+
+    if (imageDataOut == null) {
+      throw new IllegalStateException("No image started!!!");
+    }
+    if (bufferedImage.getWidth() != imageWidth) {
+      throw new IllegalArgumentException("Rows must be as wide as the image!!!");
+    }
+    if (rowCount + toRow - fromRow > imageHeight) {
+      throw new IllegalArgumentException("More rows than the image height!!!");
+    }
+
+    int rowLength = imageWidth * imageBytesPerPixel;
+    Filter rowFilter = imageColorType == COLOR_TYPE_PALETTE ? Filter.NONE : filter;
+
+    for (int y = fromRow; y < toRow; y++) {
+
+      int[] pixels = getPixelRow(bufferedImage, y);
+      byte[] row = currentRow;
+      if (imageColorType == COLOR_TYPE_PALETTE) {
+        for (int x = 0; x < imageWidth; x++) {
+          row[x] = (byte) (lookUpPaletteIndex(pixels[x] | paletteAlphaMask) - 1);
+        }
+      }
+      else if (imageColorType == COLOR_TYPE_RGBA) {
+        for (int x = 0, i = 0; x < imageWidth; x++) {
+          int pixel = pixels[x];
+          row[i++] = (byte) (pixel >> 16);
+          row[i++] = (byte) (pixel >> 8);
+          row[i++] = (byte) pixel;
+          row[i++] = (byte) (pixel >>> 24);
+        }
+      }
+      else {
+        for (int x = 0, i = 0; x < imageWidth; x++) {
+          int pixel = pixels[x];
+          row[i++] = (byte) (pixel >> 16);
+          row[i++] = (byte) (pixel >> 8);
+          row[i++] = (byte) pixel;
+        }
+      }
+
+      int filterType = writeFilteredRow(imageDataOut, rowFilter, imageBytesPerPixel);
+      imageDataOut.write(filteredRows[filterType], 0, rowLength);
+
+      currentRow = previousRow;
+      previousRow = row;
+    }
+    rowCount += toRow - fromRow;
+  }
+
+  /**
+   * Finish the image started with start(..), once all of its rows are written. The stream is flushed but not closed.
+   * 
+   * @throws IOException
+   */
+  void finish() throws IOException {
+
+    if (imageDataOut == null) {
+      throw new IllegalStateException("No image started!!!");
+    }
+    if (rowCount != imageHeight) {
+      throw new IllegalStateException("Only " + rowCount + " of " + imageHeight + " rows were written!!!");
+    }
+    // finishes the deflater without ending it, as it was passed in, and writes the last IDAT chunk
+    imageDataOut.close();
+    imageDataOut = null;
+
+    writeChunk(imageOut, IEND, chunkBuffer, 0);
+    imageOut.flush();
+    imageOut = null;
+  }
+
+  /** the order the ADAPTIVE filter tries the filters in, the ones that usually win for charts first, so the others can give up early */
+  private static final int[] ADAPTIVE_FILTER_ORDER = { 2, 1, 0, 4, 3 };
+
+  /** the number of bytes summed between checks whether a filter can still win */
+  private static final int SUM_BLOCK_SIZE = 256;
+
+  /**
+   * Filters the current row and writes the filter type byte
+   * 
+   * @return the filter type, which is also the index in filteredRows of the filtered row
+   */
+  private int writeFilteredRow(OutputStream out, Filter rowFilter, int bytesPerPixel) throws IOException {
+
+    int filterType;
+    if (rowFilter == Filter.ADAPTIVE) {
+      // the usual heuristic: pick the filter with the smallest sum of absolute values of the filtered bytes taken as signed
+      filterType = ADAPTIVE_FILTER_ORDER[0];
+      filterRow(filterType, bytesPerPixel);
+      long minSum = getAbsoluteSum(filteredRows[filterType], Long.MAX_VALUE);
+      for (int i = 1; i < ADAPTIVE_FILTER_ORDER.length && minSum > 0; i++) {
+        int type = ADAPTIVE_FILTER_ORDER[i];
+        filterRow(type, bytesPerPixel);
+        long sum = getAbsoluteSum(filteredRows[type], minSum);
+        if (sum < minSum) {
+          minSum = sum;
+          filterType = type;
+        }
+      }
+    }
+    else {
+      filterType = rowFilter.ordinal();
+      filterRow(filterType, bytesPerPixel);
+    }
+    out.write(filterType);
+    return filterType;
+  }
+
+  /**
+   * Filters the current row into filteredRows[filterType]
+   */
+  private void filterRow(int filterType, int bytesPerPixel) {
+
+    byte[] row = currentRow;
+    byte[] prior = previousRow;
+    byte[] filtered = filteredRows[filterType];
+    int length = row.length;
+
+    switch (filterType) {
+    case 0: // None
+      System.arraycopy(row, 0, filtered, 0, length);
+      break;
+    case 1: // Sub
+      for (int i = 0; i < bytesPerPixel; i++) {
+        filtered[i] = row[i];
+      }
+      for (int i = bytesPerPixel; i < length; i++) {
+        filtered[i] = (byte) (row[i] - row[i - bytesPerPixel]);
+      }
+      break;
+    case 2: // Up
+      for (int i = 0; i < length; i++) {
+        filtered[i] = (byte) (row[i] - prior[i]);
+      }
+      break;
+    case 3: // Average
+      for (int i = 0; i < bytesPerPixel; i++) {
+        filtered[i] = (byte) (row[i] - ((prior[i] & 0xFF) >>> 1));
+      }
+      for (int i = bytesPerPixel; i < length; i++) {
+        filtered[i] = (byte) (row[i] - (((row[i - bytesPerPixel] & 0xFF) + (prior[i] & 0xFF)) >>> 1));
+      }
+      break;
+    default: // Paeth
+      for (int i = 0; i < bytesPerPixel; i++) {
+        filtered[i] = (byte) (row[i] - prior[i]);
+      }
+      for (int i = bytesPerPixel; i < length; i++) {
+        int left = row[i - bytesPerPixel] & 0xFF;
+        int up = prior[i] & 0xFF;
+        int upLeft = prior[i - bytesPerPixel] & 0xFF;
+        int p = left + up - upLeft;
+        int pLeft = Math.abs(p - left);
+        int pUp = Math.abs(p - up);
+        int pUpLeft = Math.abs(p - upLeft);
+        int predictor = (pLeft <= pUp && pLeft <= pUpLeft) ? left : (pUp <= pUpLeft ? up : upLeft);
+        filtered[i] = (byte) (row[i] - predictor);
+      }
+      break;
+    }
+  }
+
+  /**
+   * @param limit stop summing once the sum reaches this
+   * @return the sum of absolute values of the filtered bytes taken as signed, or limit if it was reached
+   */
+  private static long getAbsoluteSum(byte[] filtered, long limit) {
+
+    long sum = 0;
+    int length = filtered.length;
+    for (int start = 0; start < length; start += SUM_BLOCK_SIZE) {
+      int end = Math.min(length, start + SUM_BLOCK_SIZE);
+      int blockSum = 0;
+      for (int i = start; i < end; i++) {
+        blockSum += Math.abs(filtered[i]);
+      }
+      sum += blockSum;
+      if (sum >= limit) {
+        return limit;
+      }
+    }
+    return sum;
+  }
+
+  /**
+   * Reads a row of pixels as packed ARGB ints, straight from the raster for int RGB and ARGB images
+   */
+  private int[] getPixelRow(BufferedImage bufferedImage, int y) {
+
+    int width = bufferedImage.getWidth();
+    if (pixelRow.length != width) {
+      pixelRow = new int[width];
+    }
+    int type = bufferedImage.getType();
+    if (type == BufferedImage.TYPE_INT_RGB || type == BufferedImage.TYPE_INT_ARGB) {
+      WritableRaster raster = bufferedImage.getRaster();
+      raster.getDataElements(0, y, width, 1, pixelRow);
+    }
+    else {
+      bufferedImage.getRGB(0, y, width, 1, pixelRow, 0, width);
+    }
+    return pixelRow;
+  }
+
+  /**
+   * Collects the colors of the image into the palette
+   * 
+   * @return false if the image has more colors than fit in a palette
+   */
+  private boolean buildPalette(BufferedImage bufferedImage, boolean hasAlpha) {
+
+    Arrays.fill(paletteTableIndices, 0);
+    paletteSize = 0;
+    paletteAlphaMask = hasAlpha ? 0 : 0xFF000000;
+
+    int width = bufferedImage.getWidth();
+    int height = bufferedImage.getHeight();
+    int lastColor = 0;
+    boolean isFirstPixel = true;
+    for (int y = 0; y < height; y++) {
+      int[] pixels = getPixelRow(bufferedImage, y);
+      for (int x = 0; x < width; x++) {
+        int color = pixels[x] | paletteAlphaMask;
+        // runs of the same color are the norm in charts
+        if (color == lastColor && !isFirstPixel) {
+          continue;
+        }
+        isFirstPixel = false;
+        lastColor = color;
+        if (lookUpPaletteIndex(color) == 0) {
+          if (paletteSize == MAX_PALETTE_SIZE) {
+            return false;
+          }
+          int slot = findPaletteSlot(color);
+          paletteTableColors[slot] = color;
+          paletteTableIndices[slot] = paletteSize + 1;
+          palette[paletteSize++] = color;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return the palette index + 1 of the color, 0 if it is not in the palette
+   */
+  private int lookUpPaletteIndex(int color) {
+
+    return paletteTableIndices[findPaletteSlot(color)];
+  }
+
+  /**
+   * @return the slot of the color in the palette hash table, or the empty slot where it would go
+   */
+  private int findPaletteSlot(int color) {
+
+    int slot = (color * 0x9E3779B9) >>> 22;
+    while (paletteTableIndices[slot] != 0 && paletteTableColors[slot] != color) {
+      slot = (slot + 1) & (PALETTE_TABLE_SIZE - 1);
+    }
+    return slot;
+  }
+
+  private void writePalette(OutputStream out, boolean hasAlpha) throws IOException {
+
+    byte[] paletteBytes = new byte[paletteSize * 3];
+    int lastTranslucentIndex = -1;
+    for (int i = 0; i < paletteSize; i++) {
+      int color = palette[i];
+      paletteBytes[i * 3] = (byte) (color >> 16);
+      paletteBytes[i * 3 + 1] = (byte) (color >> 8);
+      paletteBytes[i * 3 + 2] = (byte) color;
+      if ((color >>> 24) != 0xFF) {
+        lastTranslucentIndex = i;
+      }
+    }
+    writeChunk(out, PLTE, paletteBytes, paletteBytes.length);
+
+    if (hasAlpha && lastTranslucentIndex >= 0) {
+      byte[] alphas = new byte[lastTranslucentIndex + 1];
+      for (int i = 0; i < alphas.length; i++) {
+        alphas[i] = (byte) (palette[i] >>> 24);
+      }
+      writeChunk(out, TRNS, alphas, alphas.length);
+    }
+  }
+
+  private void writeChunk(OutputStream out, byte[] type, byte[] data, int length) throws IOException {
+
+    byte[] lengthBytes = new byte[4];
+    putInt(lengthBytes, 0, length);
+    out.write(lengthBytes);
+    out.write(type);
+    out.write(data, 0, length);
+    crc.reset();
+    crc.update(type);
+    crc.update(data, 0, length);
+    byte[] crcBytes = new byte[4];
+    putInt(crcBytes, 0, (int) crc.getValue());
+    out.write(crcBytes);
+  }
+
+  private static void putInt(byte[] bytes, int offset, int value) {
+
+    bytes[offset] = (byte) (value >>> 24);
+    bytes[offset + 1] = (byte) (value >>> 16);
+    bytes[offset + 2] = (byte) (value >>> 8);
+    bytes[offset + 3] = (byte) value;
+  }
+
+  /**
+   * Collects the compressed image data into IDAT chunks of IDAT_CHUNK_SIZE bytes
+   */
+  private class ImageDataOutputStream extends OutputStream {
+
+    private final OutputStream out;
+    private int count = 0;
+
+    ImageDataOutputStream(OutputStream out) {
+
+      this.out = out;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+
+      if (count == chunkBuffer.length) {
+        flushChunk();
+      }
+      chunkBuffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+
+      while (length > 0) {
+        if (count == chunkBuffer.length) {
+          flushChunk();
+        }
+        int n = Math.min(length, chunkBuffer.length - count);
+        System.arraycopy(bytes, offset, chunkBuffer, count, n);
+        count += n;
+        offset += n;
+        length -= n;
+      }
+    }
+
+    private void flushChunk() throws IOException {
+
+      if (count > 0) {
+        writeChunk(out, IDAT, chunkBuffer, count);
+        count = 0;
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+
+      flushChunk();
+    }
+  }
+}
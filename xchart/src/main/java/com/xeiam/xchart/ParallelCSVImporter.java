@@ -0,0 +1,219 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.xeiam.xchart.CSVImporter.DataOrientation;
+import com.xeiam.xchart.StyleManager.ChartTheme;
+import com.xeiam.xchart.internal.CSVParser;
+
+/**
+ * Creates a Chart from a folder of CSV files like CSVImporter, but parses the files in parallel on an ExecutorService. At most maxFilesInFlight files are parsed
+ * or waiting to be added at the same time, optionally also limited by their total size, and the series are added in the order of the file names, so the Chart does not depend on which
+ * file finished first. A file that cannot be read or parsed does not stop the import, it is left out of the Chart and its exception is reported by
+ * getExceptions().
+ * <p>
+ * A ParallelCSVImporter can be reused, but not by several threads at the same time.
+ * 
+ * @author timmolter
+ */
+public class ParallelCSVImporter {
+
+  private final ExecutorService executorService;
+
+  private final int maxFilesInFlight;
+
+  /** the total size of the files in flight in KB, Integer.MAX_VALUE if it is not limited */
+  private int maxKilobytesInFlight = Integer.MAX_VALUE;
+
+  private String datePattern = null;
+
+  /** the exceptions of the last import, by file name */
+  private Map<String, Exception> exceptions = Collections.emptyMap();
+
+  /**
+   * Constructor
+   * 
+   * @param executorService the executor to parse on, it is not shut down by this ParallelCSVImporter
+   * @param maxFilesInFlight the maximum number of files parsed or waiting to be added to the Chart at the same time, at least the number of threads of the executor
+   *          to keep them all busy
+   */
+  public ParallelCSVImporter(ExecutorService executorService, int maxFilesInFlight) {
+
+    if (maxFilesInFlight < 1) {
+      throw new IllegalArgumentException("Max files in flight must be at least 1!!!");
+    }
+    this.executorService = executorService;
+    this.maxFilesInFlight = maxFilesInFlight;
+  }
+
+  /**
+   * Limit the total size of the files in flight, that is parsed or parsed and waiting for the files before them to be added to the Chart, which bounds the memory
+   * used by the import apart from the Chart itself. The parsed values take about as much memory as their text, up to twice that while the columns grow. A single
+   * file larger than the limit is still parsed, but on its own. By default the size is not limited.
+   * 
+   * @param maxBytesInFlight the maximum total size of the files in flight in bytes, 0 for no limit
+   */
+  public void setMaxBytesInFlight(long maxBytesInFlight) {
+
+    if (maxBytesInFlight < 0) {
+      throw new IllegalArgumentException("Max bytes in flight cannot be negative!!!");
+    }
+    if (maxBytesInFlight == 0) {
+      maxKilobytesInFlight = Integer.MAX_VALUE;
+    }
+    else {
+      maxKilobytesInFlight = (int) Math.min(Integer.MAX_VALUE - 1, Math.max(1, maxBytesInFlight >> 10));
+    }
+  }
+
+  /**
+   * @param datePattern the SimpleDateFormat pattern of the X values if they are dates, null if they are numbers, which is the default
+   */
+  public void setDatePattern(String datePattern) {
+
+    this.datePattern = datePattern;
+  }
+
+  /**
+   * Create a Chart with a series for each csv file in a directory, parsing the files in parallel and blocking until they are all done. The files that fail are left
+   * out of the Chart, see getExceptions().
+   * 
+   * @param path2Directory
+   * @param dataOrientation
+   * @param width
+   * @param height
+   * @param chartTheme may be null
+   * @return
+   * @throws InterruptedException if the calling thread is interrupted while waiting
+   */
+  public Chart getChartFromCSVDir(String path2Directory, DataOrientation dataOrientation, int width, int height, ChartTheme chartTheme) throws InterruptedException {
+
+    Chart chart = CSVImporter.createChart(width, height, chartTheme);
+    File[] csvFiles = CSVImporter.getCSVFiles(path2Directory);
+    exceptions = new LinkedHashMap<String, Exception>();
+
+    boolean isLinePerValue = dataOrientation == DataOrientation.Rows;
+    LinkedList<ParseTask> parseTasks = new LinkedList<ParseTask>();
+    int submittedCount = 0;
+    int kilobytesInFlight = 0;
+    try {
+      for (int fileIndex = 0; fileIndex < csvFiles.length; fileIndex++) {
+        // a file is in flight from its submission until its series is added, so its values count against the limits while they wait in its Future
+        while (submittedCount < csvFiles.length && submittedCount - fileIndex < maxFilesInFlight) {
+          int kilobytes = getKilobytes(csvFiles[submittedCount]);
+          if (submittedCount > fileIndex && kilobytesInFlight + kilobytes > maxKilobytesInFlight) {
+            break;
+          }
+          ParseTask parseTask = new ParseTask(csvFiles[submittedCount++], isLinePerValue, kilobytes);
+          try {
+            parseTask.future = executorService.submit(parseTask);
+          } catch (RejectedExecutionException e) {
+            parseTask.rejectedExecutionException = e;
+          }
+          kilobytesInFlight += parseTask.kilobytes;
+          parseTasks.add(parseTask);
+        }
+
+        // the series are added in the order of the files, on this thread
+        ParseTask parseTask = parseTasks.removeFirst();
+        try {
+          if (parseTask.future == null) {
+            exceptions.put(parseTask.csvFile.getName(), parseTask.rejectedExecutionException);
+          }
+          else {
+            CSVImporter.addSeries(chart, parseTask.csvFile, parseTask.future.get(), datePattern != null);
+          }
+        } catch (ExecutionException e) {
+          Throwable cause = e.getCause();
+          if (cause instanceof Error) {
+            throw (Error) cause;
+          }
+          exceptions.put(parseTask.csvFile.getName(), (Exception) cause);
+        } catch (RuntimeException e) {
+          // such as a series name that is already used
+          exceptions.put(parseTask.csvFile.getName(), e);
+        }
+        kilobytesInFlight -= parseTask.kilobytes;
+      }
+    } finally {
+      // after an interrupt, the files still parsing are not needed anymore
+      for (ParseTask parseTask : parseTasks) {
+        if (parseTask.future != null) {
+          parseTask.future.cancel(true);
+        }
+      }
+    }
+
+    return chart;
+  }
+
+  /**
+   * @return the exceptions thrown while reading or parsing the files of the last import, by file name, in the order of the file names; empty if all files were
+   *         imported
+   */
+  public Map<String, Exception> getExceptions() {
+
+    return Collections.unmodifiableMap(exceptions);
+  }
+
+  /**
+   * @return the size of a file in KB as it counts against the size limit, 0 if the size is not limited
+   */
+  private int getKilobytes(File csvFile) {
+
+    return maxKilobytesInFlight == Integer.MAX_VALUE ? 0 : (int) Math.min(maxKilobytesInFlight, (csvFile.length() >> 10) + 1);
+  }
+
+  /**
+   * Parses one file with a CSVParser of its own
+   */
+  private class ParseTask implements Callable<double[][]> {
+
+    private final File csvFile;
+    private final boolean isLinePerValue;
+    private final String datePattern = ParallelCSVImporter.this.datePattern;
+
+    private final int kilobytes;
+
+    /** the parsed values, null if the task was rejected by the executor */
+    private Future<double[][]> future = null;
+    private RejectedExecutionException rejectedExecutionException = null;
+
+    ParseTask(File csvFile, boolean isLinePerValue, int kilobytes) {
+
+      this.csvFile = csvFile;
+      this.isLinePerValue = isLinePerValue;
+      this.kilobytes = kilobytes;
+    }
+
+    @Override
+    public double[][] call() throws Exception {
+
+      return CSVImporter.parse(new CSVParser(isLinePerValue, datePattern), csvFile);
+    }
+  }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+
+import com.xeiam.xchart.internal.SVGGraphics2D;
+
+/**
+ * A helper class with static methods for saving Charts as SVG. The chart is painted the same way as on screen, but into a Graphics2D that streams SVG elements
+ * straight to the output, so lines stay lines at any zoom level and memory use does not grow with the number of points.
+ * 
+ * @author timmolter
+ */
+public final class SVGEncoder {
+
+  /**
+   * Constructor - Private constructor to prevent instantiation
+   */
+  private SVGEncoder() {
+
+  }
+
+  /**
+   * Save a Chart as a SVG file
+   * 
+   * @param chart
+   * @param fileName
+   * @throws IOException
+   */
+  public static void saveSVG(Chart chart, String fileName) throws IOException {
+
+    OutputStream out = new FileOutputStream(fileName);
+    try {
+      saveSVG(chart, out);
+    } finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Write a Chart as UTF-8 encoded SVG to an OutputStream. The stream is flushed but not closed.
+   * 
+   * @param chart
+   * @param out
+   * @throws IOException
+   */
+  public static void saveSVG(Chart chart, OutputStream out) throws IOException {
+
+    SVGGraphics2D svgGraphics2D = new SVGGraphics2D(new BufferedWriter(new OutputStreamWriter(out, "UTF-8"), 1 << 16), chart.getWidth(), chart.getHeight());
+    chart.paint(svgGraphics2D);
+    svgGraphics2D.finish();
+  }
+
+}
@@ -17,10 +17,14 @@ package com.xeiam.xchart;
 
 import java.awt.BasicStroke;
 import java.awt.Color;
+import java.util.AbstractList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.RandomAccess;
 
+import com.xeiam.xchart.internal.LODPyramid;
+import com.xeiam.xchart.internal.SlidingMinMax;
 import com.xeiam.xchart.internal.chartpart.Axis.AxisType;
 import com.xeiam.xchart.internal.markers.Marker;
 import com.xeiam.xchart.internal.style.SeriesColorMarkerLineStyle;
@@ -42,6 +46,53 @@ public class Series {
 
   private Collection<? extends Number> errorBars;
 
+  /** primitive X data for Number axes, null unless the series was added with arrays or appended to */
+  private double[] xDataArray;
+
+  /** primitive X data for Date axes as epoch millis, null unless the series was added with arrays or appended to */
+  private long[] xDateArray;
+
+  /** primitive Y data, Double.NaN marks a gap, null unless the series was added with arrays or appended to */
+  private double[] yDataArray;
+
+  /** primitive error bar data, null unless the series was added with arrays or appended to */
+  private double[] errorBarsArray;
+
+  /** the source of the data of a series added with a SeriesDataSource, null otherwise. The collections are views over it. */
+  private SeriesDataSource dataSource;
+
+  /** the ring buffers holding the data of a series that is appended to, null otherwise. Point i is at index (bufferStart + i) modulo the buffer length. */
+  private double[] xBuffer;
+  private long[] xDateBuffer;
+  private double[] yBuffer;
+  private double[] errorBarsBuffer;
+  private int bufferStart = 0;
+  private int bufferSize = 0;
+
+  /** the fixed length of the ring buffers, 0 if they grow */
+  private int capacity = 0;
+
+  /** whether the arrays and collections need to be copied from the buffers again */
+  private boolean isArraysStale = false;
+
+  /** the incrementally tracked extrema of a series that is appended to, null otherwise */
+  private SlidingMinMax xMinMaxTracker;
+  private SlidingMinMax yMinMaxTracker;
+
+  /** the target point count for LTTB downsampling, 0 means no downsampling */
+  private int downsamplingTargetPointCount = 0;
+
+  /** the downsampled data, computed lazily */
+  private double[] downsampledXData;
+  private double[] downsampledYData;
+  private double[] downsampledErrorBars;
+
+  /** whether a level of detail pyramid is kept, see setLevelOfDetailEnabled() */
+  private boolean isLevelOfDetailEnabled = false;
+
+  /** the level of detail pyramid, built when first painted and kept up to date when points are appended or evicted, null otherwise */
+  private LODPyramid lodPyramid;
+
   /** the minimum value of axis range */
   private double xMin;
 
@@ -54,6 +105,15 @@ public class Series {
   /** the maximum value of axis range */
   private double yMax;
 
+  /** whether the X values are known to be in ascending order, so that the visible points can be found by binary search */
+  private boolean isXSorted = false;
+
+  /** incremented whenever the min or max of the X or Y data changes */
+  private int extremaModCount = 0;
+
+  /** incremented whenever the X or Y data changes */
+  private int dataModCount = 0;
+
   /** Line Style */
   private BasicStroke stroke;
 
@@ -80,6 +140,61 @@ public class Series {
   public Series(String name, Collection<?> xData, AxisType xAxisType, Collection<? extends Number> yData, AxisType yAxisType, Collection<? extends Number> errorBars,
       SeriesColorMarkerLineStyle seriesColorMarkerLineStyle) {
 
+    this(name, xData, xAxisType, yData, yAxisType, errorBars, seriesColorMarkerLineStyle, null, null, null, null);
+    calculateMinMax();
+  }
+
+  /**
+   * Constructor for a Number series backed by primitive arrays. The arrays are not copied.
+   * 
+   * @param name
+   * @param xData
+   * @param yData
+   * @param errorBars
+   * @param seriesColorMarkerLineStyle
+   */
+  public Series(String name, double[] xData, double[] yData, double[] errorBars, SeriesColorMarkerLineStyle seriesColorMarkerLineStyle) {
+
+    this(name, new DoubleArrayList(xData), AxisType.Number, new DoubleArrayList(yData), AxisType.Number, errorBars == null ? null : new DoubleArrayList(errorBars), seriesColorMarkerLineStyle,
+        xData, null, yData, errorBars);
+    calculateMinMax();
+  }
+
+  /**
+   * Constructor for a Date series backed by primitive arrays. The arrays are not copied.
+   * 
+   * @param name
+   * @param xData the X-Axis data as epoch milliseconds
+   * @param yData
+   * @param errorBars
+   * @param seriesColorMarkerLineStyle
+   */
+  public Series(String name, long[] xData, double[] yData, double[] errorBars, SeriesColorMarkerLineStyle seriesColorMarkerLineStyle) {
+
+    this(name, new DateArrayList(xData), AxisType.Date, new DoubleArrayList(yData), AxisType.Number, errorBars == null ? null : new DoubleArrayList(errorBars), seriesColorMarkerLineStyle, null,
+        xData, yData, errorBars);
+    calculateMinMax();
+  }
+
+  /**
+   * Constructor for a series whose data is provided on demand by a SeriesDataSource. The points are not read here, the extrema are taken from the source.
+   * 
+   * @param name
+   * @param dataSource
+   * @param seriesColorMarkerLineStyle
+   */
+  public Series(String name, SeriesDataSource dataSource, SeriesColorMarkerLineStyle seriesColorMarkerLineStyle) {
+
+    this(name, new DataSourceXList(dataSource), dataSource.isDateSeries() ? AxisType.Date : AxisType.Number, new DataSourceYList(dataSource, false), AxisType.Number,
+        dataSource.hasErrorBars() ? new DataSourceYList(dataSource, true) : null, seriesColorMarkerLineStyle, null, null, null, null);
+    this.dataSource = dataSource;
+    this.isXSorted = dataSource.isXSorted();
+    setExtrema(dataSource.getXMin(), dataSource.getXMax(), dataSource.getYMin(), dataSource.getYMax());
+  }
+
+  private Series(String name, Collection<?> xData, AxisType xAxisType, Collection<? extends Number> yData, AxisType yAxisType, Collection<? extends Number> errorBars,
+      SeriesColorMarkerLineStyle seriesColorMarkerLineStyle, double[] xDataArray, long[] xDateArray, double[] yDataArray, double[] errorBarsArray) {
+
     if (name == null || name.length() < 1) {
       throw new IllegalArgumentException("Series name cannot be null or zero-length!!!");
     }
@@ -89,13 +204,15 @@ public class Series {
     this.yData = yData;
     this.yAxisType = yAxisType;
     this.errorBars = errorBars;
+    this.xDataArray = xDataArray;
+    this.xDateArray = xDateArray;
+    this.yDataArray = yDataArray;
+    this.errorBarsArray = errorBarsArray;
 
     strokeColor = seriesColorMarkerLineStyle.getColor();
     markerColor = seriesColorMarkerLineStyle.getColor();
     marker = seriesColorMarkerLineStyle.getMarker();
     stroke = seriesColorMarkerLineStyle.getStroke();
-
-    calculateMinMax();
   }
 
   /**
@@ -165,6 +282,107 @@ public class Series {
     return new double[] { min, max };
   }
 
+  /**
+   * Finds the min and max of a primitive dataset, skipping NaN gaps
+   * 
+   * @param data
+   * @return
+   */
+  private double[] findMinMax(double[] data) {
+
+    double min = Double.MAX_VALUE;
+    double max = Double.MIN_VALUE;
+
+    for (int i = 0; i < data.length; i++) {
+      double value = data[i];
+      if (value < min) {
+        min = value;
+      }
+      if (value > max) {
+        max = value;
+      }
+    }
+    return new double[] { min, max };
+  }
+
+  /**
+   * Finds the min and max of a primitive Date dataset
+   * 
+   * @param data
+   * @return
+   */
+  private double[] findMinMax(long[] data) {
+
+    double min = Double.MAX_VALUE;
+    double max = Double.MIN_VALUE;
+
+    for (int i = 0; i < data.length; i++) {
+      double value = data[i];
+      if (value < min) {
+        min = value;
+      }
+      if (value > max) {
+        max = value;
+      }
+    }
+    return new double[] { min, max };
+  }
+
+  /**
+   * Finds the min and max of a primitive dataset accounting for error bars, skipping NaN gaps
+   * 
+   * @param data
+   * @param errorBars
+   * @return
+   */
+  private double[] findMinMaxWithErrorBars(double[] data, double[] errorBars) {
+
+    double min = Double.MAX_VALUE;
+    double max = Double.MIN_VALUE;
+
+    for (int i = 0; i < data.length; i++) {
+      double value = data[i];
+      double eb = errorBars[i];
+      if (value - eb < min) {
+        min = value - eb;
+      }
+      if (value + eb > max) {
+        max = value + eb;
+      }
+    }
+    return new double[] { min, max };
+  }
+
+  /**
+   * @param data
+   * @param length the number of values checked from index 0
+   * @return true if the values are in ascending order, NaN is out of order
+   */
+  private static boolean isAscending(double[] data, int length) {
+
+    for (int i = 1; i < length; i++) {
+      if (!(data[i] >= data[i - 1])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @param data
+   * @param length the number of values checked from index 0
+   * @return true if the values are in ascending order
+   */
+  private static boolean isAscending(long[] data, int length) {
+
+    for (int i = 1; i < length; i++) {
+      if (data[i] < data[i - 1]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * Set the line style of the series
    * 
@@ -242,21 +460,526 @@ public class Series {
     return this;
   }
 
+  /**
+   * Downsamples the series to the given number of points with the Largest-Triangle-Three-Buckets algorithm when it is painted on a Line, Scatter or Area chart. The
+   * series' data itself is not changed. The X-Axis data must be in ascending order.
+   * 
+   * @param targetPointCount the number of points to paint, 0 turns downsampling off
+   * @see Downsampler
+   */
+  public Series setDownsampling(int targetPointCount) {
+
+    if (targetPointCount < 0) {
+      throw new IllegalArgumentException("Target point count cannot be negative!!!");
+    }
+    this.downsamplingTargetPointCount = targetPointCount;
+    clearDownsampledData();
+    return this;
+  }
+
+  public int getDownsampling() {
+
+    return downsamplingTargetPointCount;
+  }
+
+  /**
+   * Keeps a level of detail pyramid of the series, the min and max of buckets of 2^k points for every k, so that a Line or Area chart zoomed out to many points per
+   * pixel is painted from a few points per pixel instead of all of them. The pyramid is built when the series is first painted and kept up to date when points are
+   * appended or evicted. It takes about 5 bytes per point. Series with markers or error bars, or with X-Axis data not in ascending order, are painted point by point.
+   * 
+   * @param isLevelOfDetailEnabled
+   * @see LODPyramid
+   */
+  public Series setLevelOfDetailEnabled(boolean isLevelOfDetailEnabled) {
+
+    this.isLevelOfDetailEnabled = isLevelOfDetailEnabled;
+    lodPyramid = null;
+    return this;
+  }
+
+  public boolean isLevelOfDetailEnabled() {
+
+    return isLevelOfDetailEnabled;
+  }
+
+  /**
+   * Turns the series into a sliding window of at most the given number of points, e.g. for realtime charts. The points are kept in ring buffers that are allocated
+   * once, and appending to a full series overwrites its oldest point. If the series has more points, the oldest ones are evicted.
+   * 
+   * @param capacity the maximum number of points
+   */
+  public Series setCapacity(int capacity) {
+
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be at least 1!!!");
+    }
+    startAppending(xAxisType, errorBars != null);
+    if (bufferSize > capacity) {
+      evictPoints(bufferSize - capacity);
+    }
+    resizeBuffers(capacity);
+    this.capacity = capacity;
+    dataChanged();
+    return this;
+  }
+
+  /**
+   * @return the maximum number of points set with setCapacity(), 0 if the series can grow
+   */
+  public int getCapacity() {
+
+    return capacity;
+  }
+
+  /**
+   * Appends a point to a Number series. The min and max of the series are updated incrementally, so appending is O(1) amortized.
+   * 
+   * @param x
+   * @param y the Y value, Double.NaN for a gap
+   */
+  public Series append(double x, double y) {
+
+    startAppending(AxisType.Number, false);
+    appendPoint(x, 0L, y, 0.0);
+    dataChanged();
+    return this;
+  }
+
+  /**
+   * Appends a point to a Number series with error bars
+   * 
+   * @param x
+   * @param y the Y value, Double.NaN for a gap
+   * @param errorBar
+   */
+  public Series append(double x, double y, double errorBar) {
+
+    startAppending(AxisType.Number, true);
+    appendPoint(x, 0L, y, errorBar);
+    dataChanged();
+    return this;
+  }
+
+  /**
+   * Appends a point to a Date series
+   * 
+   * @param x
+   * @param y the Y value, Double.NaN for a gap
+   */
+  public Series append(Date x, double y) {
+
+    startAppending(AxisType.Date, false);
+    appendPoint(0.0, x.getTime(), y, 0.0);
+    dataChanged();
+    return this;
+  }
+
+  /**
+   * Appends a point to a Date series with error bars
+   * 
+   * @param x
+   * @param y the Y value, Double.NaN for a gap
+   * @param errorBar
+   */
+  public Series append(Date x, double y, double errorBar) {
+
+    startAppending(AxisType.Date, true);
+    appendPoint(0.0, x.getTime(), y, errorBar);
+    dataChanged();
+    return this;
+  }
+
+  /**
+   * Appends points to a Number series
+   * 
+   * @param xData
+   * @param yData the Y values, Double.NaN for a gap
+   */
+  public Series appendAll(double[] xData, double[] yData) {
+
+    if (xData.length != yData.length) {
+      throw new IllegalArgumentException("X and Y-Axis sizes are not the same!!!");
+    }
+    startAppending(AxisType.Number, false);
+    for (int i = 0; i < xData.length; i++) {
+      appendPoint(xData[i], 0L, yData[i], 0.0);
+    }
+    dataChanged();
+    return this;
+  }
+
+  /**
+   * Removes the oldest points of the series, e.g. to keep a sliding window of a live data feed. The min and max of the remaining points are tracked with monotonic
+   * deques, so evicting is O(1) amortized per point.
+   * 
+   * @param count the number of points to remove
+   */
+  public Series evict(int count) {
+
+    startAppending(xAxisType, errorBars != null);
+    if (count < 0 || count > bufferSize) {
+      throw new IllegalArgumentException("Cannot evict " + count + " of " + bufferSize + " points!!!");
+    }
+    evictPoints(count);
+    dataChanged();
+    return this;
+  }
+
+  /**
+   * Moves the series' data into ring buffers on the first append or evict
+   */
+  private void startAppending(AxisType axisType, boolean hasErrorBars) {
+
+    if (xAxisType != axisType) {
+      throw new IllegalArgumentException("Cannot append " + axisType + " X-Axis data to a Series with " + xAxisType + " X-Axis data!!!");
+    }
+    if (hasErrorBars != (errorBars != null)) {
+      throw new IllegalArgumentException(hasErrorBars ? "Series has no error bars!!!" : "Series has error bars, they must be appended too!!!");
+    }
+    if (yBuffer != null) {
+      return;
+    }
+    if (xAxisType == AxisType.String) {
+      throw new IllegalArgumentException("Cannot append to a Series with String X-Axis data!!!");
+    }
+
+    int size = yData.size();
+    int length = Math.max(16, size + size / 2);
+    xMinMaxTracker = new SlidingMinMax();
+    yMinMaxTracker = new SlidingMinMax();
+
+    if (xAxisType == AxisType.Date) {
+      xDateBuffer = new long[length];
+      if (xDateArray != null) {
+        System.arraycopy(xDateArray, 0, xDateBuffer, 0, size);
+      }
+      else {
+        int i = 0;
+        for (Object dataPoint : xData) {
+          xDateBuffer[i++] = ((Date) dataPoint).getTime();
+        }
+      }
+      for (int i = 0; i < size; i++) {
+        xMinMaxTracker.add(xDateBuffer[i]);
+      }
+      isXSorted = isAscending(xDateBuffer, size);
+    }
+    else {
+      xBuffer = new double[length];
+      System.arraycopy(xDataArray != null ? xDataArray : toDoubleArray(xData), 0, xBuffer, 0, size);
+      for (int i = 0; i < size; i++) {
+        xMinMaxTracker.add(xBuffer[i]);
+      }
+      isXSorted = isAscending(xBuffer, size);
+    }
+
+    yBuffer = new double[length];
+    System.arraycopy(yDataArray != null ? yDataArray : toDoubleArray(yData), 0, yBuffer, 0, size);
+    if (errorBars != null) {
+      errorBarsBuffer = new double[length];
+      System.arraycopy(errorBarsArray != null ? errorBarsArray : toDoubleArray(errorBars), 0, errorBarsBuffer, 0, size);
+      for (int i = 0; i < size; i++) {
+        yMinMaxTracker.add(yBuffer[i] - errorBarsBuffer[i], yBuffer[i] + errorBarsBuffer[i]);
+      }
+    }
+    else {
+      for (int i = 0; i < size; i++) {
+        yMinMaxTracker.add(yBuffer[i]);
+      }
+    }
+
+    bufferStart = 0;
+    bufferSize = size;
+    dataSource = null;
+  }
+
+  private void appendPoint(double x, long xDate, double y, double errorBar) {
+
+    if (bufferSize == yBuffer.length) {
+      if (capacity > 0) {
+        evictPoints(1); // overwrite the oldest point
+      }
+      else {
+        resizeBuffers(bufferSize * 2);
+      }
+    }
+
+    int index = getBufferIndex(bufferSize);
+    if (isXSorted && bufferSize > 0) {
+      int lastIndex = getBufferIndex(bufferSize - 1);
+      isXSorted = xDateBuffer != null ? xDate >= xDateBuffer[lastIndex] : x >= xBuffer[lastIndex];
+    }
+    if (xDateBuffer != null) {
+      xDateBuffer[index] = xDate;
+      xMinMaxTracker.add(xDate);
+    }
+    else {
+      xBuffer[index] = x;
+      xMinMaxTracker.add(x);
+    }
+    yBuffer[index] = y;
+    if (errorBarsBuffer != null) {
+      errorBarsBuffer[index] = errorBar;
+    }
+    yMinMaxTracker.add(y - errorBar, y + errorBar);
+    if (lodPyramid != null) {
+      lodPyramid.add(xDateBuffer != null ? xDate : x, y);
+    }
+    bufferSize++;
+  }
+
+  private void evictPoints(int count) {
+
+    bufferStart = getBufferIndex(count);
+    bufferSize -= count;
+    xMinMaxTracker.evict(count);
+    yMinMaxTracker.evict(count);
+    if (lodPyramid != null) {
+      lodPyramid.evict(count);
+    }
+  }
+
+  /**
+   * @return the index in the ring buffers of the i-th point
+   */
+  private int getBufferIndex(int i) {
+
+    int index = bufferStart + i;
+    return index < yBuffer.length ? index : index - yBuffer.length;
+  }
+
+  /**
+   * Copies the data into new buffers of the given length, starting at index 0
+   */
+  private void resizeBuffers(int length) {
+
+    if (xDateBuffer != null) {
+      long[] newBuffer = new long[length];
+      copyBuffer(xDateBuffer, xDateBuffer.length, newBuffer);
+      xDateBuffer = newBuffer;
+    }
+    else {
+      xBuffer = resizeBuffer(xBuffer, length);
+    }
+    if (errorBarsBuffer != null) {
+      errorBarsBuffer = resizeBuffer(errorBarsBuffer, length);
+    }
+    yBuffer = resizeBuffer(yBuffer, length);
+    bufferStart = 0;
+  }
+
+  private double[] resizeBuffer(double[] buffer, int length) {
+
+    double[] newBuffer = new double[length];
+    copyBuffer(buffer, buffer.length, newBuffer);
+    return newBuffer;
+  }
+
+  /**
+   * Copies the points of a ring buffer in order to the front of an array, the buffer is either a double[] or a long[]
+   */
+  private void copyBuffer(Object buffer, int bufferLength, Object array) {
+
+    int firstPart = Math.min(bufferSize, bufferLength - bufferStart);
+    System.arraycopy(buffer, bufferStart, array, 0, firstPart);
+    System.arraycopy(buffer, 0, array, firstPart, bufferSize - firstPart);
+  }
+
+  /**
+   * Updates the extrema from the trackers after an append or evict
+   */
+  private void dataChanged() {
+
+    dataModCount++;
+    isArraysStale = true;
+    clearDownsampledData();
+    setExtrema(xMinMaxTracker.getMin(), xMinMaxTracker.getMax(), yMinMaxTracker.getMin(), yMinMaxTracker.getMax());
+  }
+
+  /**
+   * Copies the buffers of a series that is appended to into the arrays and collections returned by the getters. The renderer reads the buffers directly instead.
+   */
+  private void syncArrays() {
+
+    if (!isArraysStale) {
+      return;
+    }
+
+    if (xDateBuffer != null) {
+      xDateArray = new long[bufferSize];
+      copyBuffer(xDateBuffer, xDateBuffer.length, xDateArray);
+      xData = new DateArrayList(xDateArray);
+    }
+    else {
+      xDataArray = new double[bufferSize];
+      copyBuffer(xBuffer, xBuffer.length, xDataArray);
+      xData = new DoubleArrayList(xDataArray);
+    }
+    yDataArray = new double[bufferSize];
+    copyBuffer(yBuffer, yBuffer.length, yDataArray);
+    yData = new DoubleArrayList(yDataArray);
+    if (errorBarsBuffer != null) {
+      errorBarsArray = new double[bufferSize];
+      copyBuffer(errorBarsBuffer, errorBarsBuffer.length, errorBarsArray);
+      errorBars = new DoubleArrayList(errorBarsArray);
+    }
+    isArraysStale = false;
+  }
+
+  /**
+   * Drops the buffers when the data is replaced
+   */
+  private void stopAppending() {
+
+    syncArrays();
+    xBuffer = null;
+    xDateBuffer = null;
+    yBuffer = null;
+    errorBarsBuffer = null;
+    bufferStart = 0;
+    bufferSize = 0;
+    capacity = 0;
+    xMinMaxTracker = null;
+    yMinMaxTracker = null;
+    lodPyramid = null;
+  }
+
   public Collection<?> getXData() {
 
+    syncArrays();
     return xData;
   }
 
   public Collection<? extends Number> getYData() {
 
+    syncArrays();
     return yData;
   }
 
   public Collection<? extends Number> getErrorBars() {
 
+    syncArrays();
     return errorBars;
   }
 
+  /**
+   * @return the primitive X data of a Number series added with arrays, otherwise null
+   */
+  public double[] getXDataArray() {
+
+    syncArrays();
+    return xDataArray;
+  }
+
+  /**
+   * @return the primitive X data (epoch millis) of a Date series added with arrays, otherwise null
+   */
+  public long[] getXDateArray() {
+
+    syncArrays();
+    return xDateArray;
+  }
+
+  /**
+   * @return the primitive Y data of a series added with arrays, otherwise null
+   */
+  public double[] getYDataArray() {
+
+    syncArrays();
+    return yDataArray;
+  }
+
+  /**
+   * @return the primitive error bar data of a series added with arrays, otherwise null
+   */
+  public double[] getErrorBarsArray() {
+
+    syncArrays();
+    return errorBarsArray;
+  }
+
+  /**
+   * @return the SeriesDataSource of a series added with one, otherwise null
+   */
+  public SeriesDataSource getDataSource() {
+
+    return dataSource;
+  }
+
+  /**
+   * for internal usage
+   * 
+   * @return the level of detail pyramid if it is enabled, built on the first call, otherwise null
+   */
+  public LODPyramid getLODPyramid() {
+
+    if (!isLevelOfDetailEnabled || xAxisType == AxisType.String) {
+      return null;
+    }
+    if (lodPyramid == null) {
+      lodPyramid = new LODPyramid();
+      if (yBuffer != null) {
+        for (int i = 0; i < bufferSize; i++) {
+          int index = getBufferIndex(i);
+          lodPyramid.add(xDateBuffer != null ? xDateBuffer[index] : xBuffer[index], yBuffer[index]);
+        }
+      }
+      else if (dataSource != null) {
+        double[] x = new double[4096];
+        double[] y = new double[x.length];
+        for (int from = 0; from < dataSource.size(); from += x.length) {
+          int to = Math.min(dataSource.size(), from + x.length);
+          dataSource.read(from, to, x, y, null);
+          for (int i = 0; i < to - from; i++) {
+            lodPyramid.add(x[i], y[i]);
+          }
+        }
+      }
+      else {
+        double[] y = yDataArray != null ? yDataArray : toDoubleArray(yData);
+        if (xDateArray != null) {
+          for (int i = 0; i < y.length; i++) {
+            lodPyramid.add(xDateArray[i], y[i]);
+          }
+        }
+        else {
+          double[] x = xDataArray != null ? xDataArray : toDoubleArray(xData);
+          for (int i = 0; i < y.length; i++) {
+            lodPyramid.add(x[i], y[i]);
+          }
+        }
+      }
+    }
+    return lodPyramid;
+  }
+
+  /**
+   * @return the downsampled X data (epoch millis for Date series), or null if the series is not downsampled
+   */
+  public double[] getDownsampledXData() {
+
+    downsample();
+    return downsampledXData;
+  }
+
+  /**
+   * @return the downsampled Y data, or null if the series is not downsampled
+   */
+  public double[] getDownsampledYData() {
+
+    downsample();
+    return downsampledYData;
+  }
+
+  /**
+   * @return the downsampled error bar data, or null if the series is not downsampled or has no error bars
+   */
+  public double[] getDownsampledErrorBars() {
+
+    downsample();
+    return downsampledErrorBars;
+  }
+
   public double getXMin() {
 
     return xMin;
@@ -277,6 +1000,89 @@ public class Series {
     return yMax;
   }
 
+  /**
+   * @return true if the X values are known to be in ascending order, which is checked for series added with arrays or a SeriesDataSource and kept track of when
+   *         appending
+   */
+  public boolean isXSorted() {
+
+    return isXSorted;
+  }
+
+  /**
+   * @return the number of points of the series
+   */
+  public int getPointCount() {
+
+    return yBuffer != null ? bufferSize : yData.size();
+  }
+
+  /**
+   * for internal usage
+   * 
+   * @return the X ring buffer of a Number series that is appended to, otherwise null
+   */
+  public double[] getXBuffer() {
+
+    return xBuffer;
+  }
+
+  /**
+   * for internal usage
+   * 
+   * @return the X ring buffer (epoch millis) of a Date series that is appended to, otherwise null
+   */
+  public long[] getXDateBuffer() {
+
+    return xDateBuffer;
+  }
+
+  /**
+   * for internal usage
+   * 
+   * @return the Y ring buffer of a series that is appended to, otherwise null
+   */
+  public double[] getYBuffer() {
+
+    return yBuffer;
+  }
+
+  /**
+   * for internal usage
+   * 
+   * @return the error bar ring buffer of a series with error bars that is appended to, otherwise null
+   */
+  public double[] getErrorBarsBuffer() {
+
+    return errorBarsBuffer;
+  }
+
+  /**
+   * for internal usage
+   * 
+   * @return the index of the first point in the ring buffers, the following points wrap around at the end of the buffers
+   */
+  public int getBufferStart() {
+
+    return bufferStart;
+  }
+
+  /**
+   * @return a counter that is incremented whenever the min or max of the X or Y data changes
+   */
+  public int getExtremaModCount() {
+
+    return extremaModCount;
+  }
+
+  /**
+   * @return a counter that is incremented whenever the X or Y data changes
+   */
+  public int getDataModCount() {
+
+    return dataModCount;
+  }
+
   public BasicStroke getStroke() {
 
     return stroke;
@@ -304,36 +1110,249 @@ public class Series {
 
   void replaceXData(Collection<?> newXData) {
 
+    stopAppending();
+    dataModCount++;
     xData = newXData;
+    xDataArray = null;
+    xDateArray = null;
+    dataSource = null;
+    lodPyramid = null;
+    clearDownsampledData();
     calculateMinMax();
   }
 
   void replaceYData(Collection<? extends Number> newYData) {
 
+    stopAppending();
+    dataModCount++;
     yData = newYData;
+    yDataArray = null;
+    dataSource = null;
+    lodPyramid = null;
+    clearDownsampledData();
     calculateMinMax();
   }
 
+  private void clearDownsampledData() {
+
+    downsampledXData = null;
+    downsampledYData = null;
+    downsampledErrorBars = null;
+  }
+
+  /**
+   * Computes the downsampled data if downsampling is on and the series has more points than the target point count
+   */
+  private void downsample() {
+
+    // checked before syncing, so that painting a series that is appended to does not copy its buffers
+    if (downsamplingTargetPointCount == 0 || downsampledYData != null || getPointCount() <= downsamplingTargetPointCount || xAxisType == AxisType.String) {
+      return;
+    }
+    syncArrays();
+
+    double[] x = xDataArray;
+    if (x == null && xDateArray != null) {
+      x = new double[xDateArray.length];
+      for (int i = 0; i < x.length; i++) {
+        x[i] = xDateArray[i];
+      }
+    }
+    else if (x == null) {
+      x = toDoubleArray(xData);
+    }
+    double[] y = yDataArray != null ? yDataArray : toDoubleArray(yData);
+
+    int[] indices = Downsampler.getLTTBIndices(x, y, downsamplingTargetPointCount);
+
+    downsampledXData = Downsampler.select(x, indices);
+    downsampledYData = Downsampler.select(y, indices);
+    if (errorBars != null) {
+      downsampledErrorBars = Downsampler.select(errorBarsArray != null ? errorBarsArray : toDoubleArray(errorBars), indices);
+    }
+  }
+
+  /**
+   * Unboxes Number or Date data, null becomes Double.NaN
+   */
+  private double[] toDoubleArray(Collection<?> data) {
+
+    double[] array = new double[data.size()];
+    int i = 0;
+    for (Object dataPoint : data) {
+      if (dataPoint == null) {
+        array[i++] = Double.NaN;
+      }
+      else if (dataPoint instanceof Date) {
+        array[i++] = ((Date) dataPoint).getTime();
+      }
+      else {
+        array[i++] = ((Number) dataPoint).doubleValue();
+      }
+    }
+    return array;
+  }
+
   private void calculateMinMax() {
 
     // xData
-    double[] xMinMax = findMinMax(xData, xAxisType);
-    xMin = xMinMax[0];
-    xMax = xMinMax[1];
-    // System.out.println(xMin);
-    // System.out.println(xMax);
+    double[] xMinMax = null;
+    if (xDataArray != null) {
+      xMinMax = findMinMax(xDataArray);
+    }
+    else if (xDateArray != null) {
+      xMinMax = findMinMax(xDateArray);
+    }
+    else {
+      xMinMax = findMinMax(xData, xAxisType);
+    }
+    // System.out.println(xMinMax[0]);
+    // System.out.println(xMinMax[1]);
+
+    // the renderer binary searches sorted arrays for the visible points
+    if (xDataArray != null) {
+      isXSorted = isAscending(xDataArray, xDataArray.length);
+    }
+    else if (xDateArray != null) {
+      isXSorted = isAscending(xDateArray, xDateArray.length);
+    }
+    else {
+      isXSorted = false;
+    }
 
     // yData
     double[] yMinMax = null;
-    if (errorBars == null) {
+    if (yDataArray != null && errorBars == null) {
+      yMinMax = findMinMax(yDataArray);
+    }
+    else if (yDataArray != null && errorBarsArray != null) {
+      yMinMax = findMinMaxWithErrorBars(yDataArray, errorBarsArray);
+    }
+    else if (errorBars == null) {
       yMinMax = findMinMax(yData, yAxisType);
     }
     else {
       yMinMax = findMinMaxWithErrorBars(yData, errorBars);
     }
-    yMin = yMinMax[0];
-    yMax = yMinMax[1];
-    // System.out.println(yMin);
-    // System.out.println(yMax);
+    // System.out.println(yMinMax[0]);
+    // System.out.println(yMinMax[1]);
+
+    setExtrema(xMinMax[0], xMinMax[1], yMinMax[0], yMinMax[1]);
+  }
+
+  private void setExtrema(double xMin, double xMax, double yMin, double yMax) {
+
+    if (xMin != this.xMin || xMax != this.xMax || yMin != this.yMin || yMax != this.yMax) {
+      this.xMin = xMin;
+      this.xMax = xMax;
+      this.yMin = yMin;
+      this.yMax = yMax;
+      extremaModCount++;
+    }
+  }
+
+  /**
+   * A read-only List view over a double[] so that getXData() and getYData() keep working for array backed series. Values are only boxed when accessed through the view.
+   */
+  private static class DoubleArrayList extends AbstractList<Double> implements RandomAccess {
+
+    private final double[] data;
+
+    DoubleArrayList(double[] data) {
+
+      this.data = data;
+    }
+
+    @Override
+    public Double get(int index) {
+
+      double value = data[index];
+      return Double.isNaN(value) ? null : value;
+    }
+
+    @Override
+    public int size() {
+
+      return data.length;
+    }
+  }
+
+  /**
+   * A read-only List view over epoch millis exposing them as Dates.
+   */
+  private static class DateArrayList extends AbstractList<Date> implements RandomAccess {
+
+    private final long[] data;
+
+    DateArrayList(long[] data) {
+
+      this.data = data;
+    }
+
+    @Override
+    public Date get(int index) {
+
+      return new Date(data[index]);
+    }
+
+    @Override
+    public int size() {
+
+      return data.length;
+    }
+  }
+
+  /**
+   * A read-only List view over the X values of a SeriesDataSource, as Dates for a Date series
+   */
+  private static class DataSourceXList extends AbstractList<Object> implements RandomAccess {
+
+    private final SeriesDataSource dataSource;
+
+    DataSourceXList(SeriesDataSource dataSource) {
+
+      this.dataSource = dataSource;
+    }
+
+    @Override
+    public Object get(int index) {
+
+      double x = dataSource.getX(index);
+      return dataSource.isDateSeries() ? new Date((long) x) : (Object) x;
+    }
+
+    @Override
+    public int size() {
+
+      return dataSource.size();
+    }
+  }
+
+  /**
+   * A read-only List view over the Y values or error bars of a SeriesDataSource, like DoubleArrayList
+   */
+  private static class DataSourceYList extends AbstractList<Double> implements RandomAccess {
+
+    private final SeriesDataSource dataSource;
+    private final boolean isErrorBars;
+
+    DataSourceYList(SeriesDataSource dataSource, boolean isErrorBars) {
+
+      this.dataSource = dataSource;
+      this.isErrorBars = isErrorBars;
+    }
+
+    @Override
+    public Double get(int index) {
+
+      double value = isErrorBars ? dataSource.getErrorBar(index) : dataSource.getY(index);
+      return Double.isNaN(value) ? null : value;
+    }
+
+    @Override
+    public int size() {
+
+      return dataSource.size();
+    }
   }
 }
@@ -0,0 +1,205 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart;
+
+import java.util.Collection;
+import java.util.Date;
+
+/**
+ * The X values, Y values and error bars of a series for the exporters, read in place from its ring buffers, primitive arrays or SeriesDataSource, or else copied once
+ * from its collections
+ * 
+ * @author timmolter
+ */
+class SeriesColumns {
+
+  private final String name;
+
+  /** the number of points */
+  private final int length;
+
+  private double[] xData;
+  private long[] xDates;
+  private Object[] xObjects;
+  private double[] yData;
+  private double[] errorBars;
+
+  /** the X values, Y values and error bars of collections of Integer, Long, Short or Byte values, which are exact as longs but not all as doubles */
+  private final long[][] integerColumns = new long[3][];
+
+  /** the index of the first point in the arrays, the following points wrap around at the end of the arrays */
+  private int start = 0;
+
+  private SeriesDataSource dataSource;
+
+  /**
+   * Constructor
+   * 
+   * @param series
+   */
+  SeriesColumns(Series series) {
+
+    name = series.getName();
+    length = series.getPointCount();
+
+    if (series.getYBuffer() != null) {
+      xData = series.getXBuffer();
+      xDates = series.getXDateBuffer();
+      yData = series.getYBuffer();
+      errorBars = series.getErrorBarsBuffer();
+      start = series.getBufferStart();
+    }
+    else if (series.getDataSource() != null) {
+      dataSource = series.getDataSource();
+    }
+    else if (series.getYDataArray() != null) {
+      xData = series.getXDataArray();
+      xDates = series.getXDateArray();
+      yData = series.getYDataArray();
+      errorBars = series.getErrorBarsArray();
+    }
+    else {
+      Collection<?> xCollection = series.getXData();
+      Object firstX = xCollection.isEmpty() ? null : xCollection.iterator().next();
+      if (firstX instanceof Number) {
+        xData = toDoubleArray(xCollection);
+        integerColumns[0] = toLongArray(xCollection);
+      }
+      else if (firstX instanceof Date) {
+        xDates = new long[length];
+        int i = 0;
+        for (Object x : xCollection) {
+          xDates[i++] = ((Date) x).getTime();
+        }
+      }
+      else {
+        xObjects = xCollection.toArray();
+      }
+      yData = toDoubleArray(series.getYData());
+      errorBars = series.getErrorBars() == null ? null : toDoubleArray(series.getErrorBars());
+      integerColumns[1] = toLongArray(series.getYData());
+      integerColumns[2] = series.getErrorBars() == null ? null : toLongArray(series.getErrorBars());
+    }
+  }
+
+  /**
+   * @return the values as longs, or null unless all of them are Integer, Long, Short or Byte values
+   */
+  private static long[] toLongArray(Collection<?> collection) {
+
+    long[] array = new long[collection.size()];
+    int i = 0;
+    for (Object value : collection) {
+      if (!(value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte)) {
+        return null;
+      }
+      array[i++] = ((Number) value).longValue();
+    }
+    return array;
+  }
+
+  /**
+   * Unboxes Number data, null becomes Double.NaN
+   */
+  private static double[] toDoubleArray(Collection<?> collection) {
+
+    double[] array = new double[collection.size()];
+    int i = 0;
+    for (Object value : collection) {
+      array[i++] = value == null ? Double.NaN : ((Number) value).doubleValue();
+    }
+    return array;
+  }
+
+  String getName() {
+
+    return name;
+  }
+
+  int getLength() {
+
+    return length;
+  }
+
+  boolean isNumberSeries() {
+
+    return xData != null || (dataSource != null && !dataSource.isDateSeries());
+  }
+
+  boolean isDateSeries() {
+
+    return xDates != null || (dataSource != null && dataSource.isDateSeries());
+  }
+
+  boolean hasErrorBars() {
+
+    return errorBars != null || (dataSource != null && dataSource.hasErrorBars());
+  }
+
+  /**
+   * @return the X value of a Number series
+   */
+  double getX(int i) {
+
+    return dataSource != null ? dataSource.getX(i) : xData[getIndex(i)];
+  }
+
+  /**
+   * @return the X value of a Date series as epoch milliseconds
+   */
+  long getXDate(int i) {
+
+    return dataSource != null ? (long) dataSource.getX(i) : xDates[getIndex(i)];
+  }
+
+  /**
+   * @return the X value of a series that is neither a Number nor a Date series
+   */
+  Object getXObject(int i) {
+
+    return xObjects[i];
+  }
+
+  double getY(int i) {
+
+    return dataSource != null ? dataSource.getY(i) : yData[getIndex(i)];
+  }
+
+  double getErrorBar(int i) {
+
+    return dataSource != null ? dataSource.getErrorBar(i) : errorBars[getIndex(i)];
+  }
+
+  /**
+   * @param column 0 for the X values, 1 for the Y values and 2 for the error bars
+   * @return true if the values of the column are read as longs by getInteger(..)
+   */
+  boolean isIntegerColumn(int column) {
+
+    return integerColumns[column] != null;
+  }
+
+  long getInteger(int column, int i) {
+
+    return integerColumns[column][i];
+  }
+
+  private int getIndex(int i) {
+
+    int index = start + i;
+    return index < yData.length ? index : index - yData.length;
+  }
+}
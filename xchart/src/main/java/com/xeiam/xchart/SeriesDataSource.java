@@ -0,0 +1,79 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart;
+
+/**
+ * Provides the data of a Series on demand instead of as Collections or arrays, so that a Series can be backed by e.g. a memory mapped file or a time series
+ * store. The renderer pulls only the points of the visible X range of a source with sorted X values, in chunks through read(..), so data larger than the heap
+ * can be charted, paying I/O only for what is drawn.
+ * <p>
+ * A Date series gives its X values as epoch milliseconds. Y values may be Double.NaN for gaps. The data must not change while the Series is on a Chart.
+ * 
+ * @author timmolter
+ */
+public interface SeriesDataSource {
+
+  /**
+   * @return the number of points
+   */
+  int size();
+
+  /**
+   * @return true if the X values are epoch milliseconds of a Date axis, false for a Number axis
+   */
+  boolean isDateSeries();
+
+  /**
+   * @return true if the series has error bars
+   */
+  boolean hasErrorBars();
+
+  /**
+   * @return true if the X values are in ascending order, which lets the renderer find the visible points by binary search
+   */
+  boolean isXSorted();
+
+  double getXMin();
+
+  double getXMax();
+
+  /**
+   * @return the minimum of the Y values, accounting for error bars
+   */
+  double getYMin();
+
+  /**
+   * @return the maximum of the Y values, accounting for error bars
+   */
+  double getYMax();
+
+  double getX(int index);
+
+  double getY(int index);
+
+  double getErrorBar(int index);
+
+  /**
+   * Reads a range of points
+   * 
+   * @param fromIndex the index of the first point
+   * @param toIndex the index after the last point
+   * @param xData receives the X values from index 0
+   * @param yData receives the Y values from index 0
+   * @param errorBars receives the error bars from index 0, null if they are not needed
+   */
+  void read(int fromIndex, int toIndex, double[] xData, double[] yData, double[] errorBars);
+}
@@ -129,6 +129,10 @@ public class StyleManager {
   // Error Bars ///////////////////////////////
   private Color errorBarsColor;
 
+  // Rendering ///////////////////////////////
+  private boolean isPlotDecimationEnabled;
+  private boolean isScatterDensityEnabled;
+
   // Formatting ////////////////////////////////
   private String datePattern;
   private Locale locale;
@@ -136,6 +140,9 @@ public class StyleManager {
   private String normalDecimalPattern;
   private String scientificDecimalPattern;
 
+  /** incremented by every setter, so that cached layouts can tell when the style changed */
+  private int revision = 0;
+
   /**
    * Constructor
    */
@@ -206,6 +213,10 @@ public class StyleManager {
     // Error Bars ///////////////////////////////
     errorBarsColor = theme.getErrorBarsColor();
 
+    // Rendering ///////////////////////////////
+    isPlotDecimationEnabled = false;
+    isScatterDensityEnabled = false;
+
     // Formatting ////////////////////////////////
     datePattern = null; // if not null, this override pattern will be used
     locale = Locale.getDefault();
@@ -221,6 +232,7 @@ public class StyleManager {
    */
   protected void setTheme(Theme theme) {
 
+    revision++;
     this.theme = theme;
     setAllStyles();
   }
@@ -239,6 +251,7 @@ public class StyleManager {
    */
   public void setChartType(ChartType chartType) {
 
+    revision++;
     this.chartType = chartType;
   }
 
@@ -254,6 +267,7 @@ public class StyleManager {
    */
   public void setChartBackgroundColor(Color color) {
 
+    revision++;
     this.chartBackgroundColor = color;
   }
 
@@ -269,6 +283,7 @@ public class StyleManager {
    */
   public void setChartFontColor(Color color) {
 
+    revision++;
     this.chartFontColor = color;
   }
 
@@ -284,6 +299,7 @@ public class StyleManager {
    */
   public void setChartPadding(int chartPadding) {
 
+    revision++;
     this.chartPadding = chartPadding;
   }
 
@@ -301,6 +317,7 @@ public class StyleManager {
    */
   public void setChartTitleFont(Font chartTitleFont) {
 
+    revision++;
     this.chartTitleFont = chartTitleFont;
   }
 
@@ -316,6 +333,7 @@ public class StyleManager {
    */
   public void setChartTitleVisible(boolean isChartTitleVisible) {
 
+    revision++;
     this.isChartTitleVisible = isChartTitleVisible;
   }
 
@@ -331,6 +349,7 @@ public class StyleManager {
    */
   public void setChartTitleBoxVisible(boolean isChartTitleBoxVisible) {
 
+    revision++;
     this.isChartTitleBoxVisible = isChartTitleBoxVisible;
   }
 
@@ -346,6 +365,7 @@ public class StyleManager {
    */
   public void setChartTitleBoxBackgroundColor(Color chartTitleBoxBackgroundColor) {
 
+    revision++;
     this.chartTitleBoxBackgroundColor = chartTitleBoxBackgroundColor;
   }
 
@@ -361,6 +381,7 @@ public class StyleManager {
    */
   public void setChartTitleBoxBorderColor(Color chartTitleBoxBorderColor) {
 
+    revision++;
     this.chartTitleBoxBorderColor = chartTitleBoxBorderColor;
   }
 
@@ -376,6 +397,7 @@ public class StyleManager {
    */
   public void setChartTitlePadding(int chartTitlePadding) {
 
+    revision++;
     this.chartTitlePadding = chartTitlePadding;
   }
 
@@ -393,6 +415,7 @@ public class StyleManager {
    */
   public void setLegendBackgroundColor(Color color) {
 
+    revision++;
     this.legendBackgroundColor = color;
   }
 
@@ -413,6 +436,7 @@ public class StyleManager {
 
   public void setLegendBorderColor(Color legendBorderColor) {
 
+    revision++;
     this.legendBorderColor = legendBorderColor;
   }
 
@@ -423,6 +447,7 @@ public class StyleManager {
    */
   public void setLegendFont(Font font) {
 
+    revision++;
     this.legendFont = font;
   }
 
@@ -438,6 +463,7 @@ public class StyleManager {
    */
   public void setLegendVisible(boolean isLegendVisible) {
 
+    revision++;
     this.isLegendVisible = isLegendVisible;
   }
 
@@ -453,6 +479,7 @@ public class StyleManager {
    */
   public void setLegendPadding(int legendPadding) {
 
+    revision++;
     this.legendPadding = legendPadding;
   }
 
@@ -468,6 +495,7 @@ public class StyleManager {
    */
   public void setLegendSeriesLineLength(int legendSeriesLineLength) {
 
+    revision++;
     if (legendSeriesLineLength < 0) {
       this.legendSeriesLineLength = 0;
     }
@@ -488,6 +516,7 @@ public class StyleManager {
    */
   public void setLegendPosition(LegendPosition legendPosition) {
 
+    revision++;
     this.legendPosition = legendPosition;
   }
 
@@ -505,6 +534,7 @@ public class StyleManager {
    */
   public void setXAxisTitleVisible(boolean xAxisTitleVisible) {
 
+    revision++;
     this.xAxisTitleVisible = xAxisTitleVisible;
   }
 
@@ -520,6 +550,7 @@ public class StyleManager {
    */
   public void setYAxisTitleVisible(boolean yAxisTitleVisible) {
 
+    revision++;
     this.yAxisTitleVisible = yAxisTitleVisible;
   }
 
@@ -535,6 +566,7 @@ public class StyleManager {
    */
   public void setAxisTitlesVisible(boolean isVisible) {
 
+    revision++;
     this.xAxisTitleVisible = isVisible;
     this.yAxisTitleVisible = isVisible;
   }
@@ -546,6 +578,7 @@ public class StyleManager {
    */
   public void setAxisTitleFont(Font axisTitleFont) {
 
+    revision++;
     this.axisTitleFont = axisTitleFont;
   }
 
@@ -562,6 +595,7 @@ public class StyleManager {
 
   public void setXAxisTicksVisible(boolean xAxisTicksVisible) {
 
+    revision++;
     this.xAxisTicksVisible = xAxisTicksVisible;
   }
 
@@ -578,6 +612,7 @@ public class StyleManager {
 
   public void setYAxisTicksVisible(boolean yAxisTicksVisible) {
 
+    revision++;
     this.yAxisTicksVisible = yAxisTicksVisible;
   }
 
@@ -593,6 +628,7 @@ public class StyleManager {
    */
   public void setAxisTicksVisible(boolean isVisible) {
 
+    revision++;
     this.xAxisTicksVisible = isVisible;
     this.yAxisTicksVisible = isVisible;
   }
@@ -604,6 +640,7 @@ public class StyleManager {
    */
   public void setAxisTickLabelsFont(Font axisTicksFont) {
 
+    revision++;
     this.axisTickLabelsFont = axisTicksFont;
   }
 
@@ -619,6 +656,7 @@ public class StyleManager {
    */
   public void setAxisTickMarkLength(int axisTickMarkLength) {
 
+    revision++;
     this.axisTickMarkLength = axisTickMarkLength;
   }
 
@@ -634,6 +672,7 @@ public class StyleManager {
    */
   public void setAxisTickPadding(int axisTickPadding) {
 
+    revision++;
     this.axisTickPadding = axisTickPadding;
   }
 
@@ -649,6 +688,7 @@ public class StyleManager {
    */
   public void setAxisTickMarksColor(Color axisTickColor) {
 
+    revision++;
     this.axisTickMarksColor = axisTickColor;
   }
 
@@ -664,6 +704,7 @@ public class StyleManager {
    */
   public void setAxisTickMarksStroke(Stroke axisTickMarksStroke) {
 
+    revision++;
     this.axisTickMarksStroke = axisTickMarksStroke;
   }
 
@@ -679,6 +720,7 @@ public class StyleManager {
    */
   public void setAxisTickLabelsColor(Color axisTickLabelsColor) {
 
+    revision++;
     this.axisTickLabelsColor = axisTickLabelsColor;
   }
 
@@ -694,6 +736,7 @@ public class StyleManager {
    */
   public void setAxisTicksLineVisible(boolean isAxisTicksLineVisible) {
 
+    revision++;
     this.isAxisTicksLineVisible = isAxisTicksLineVisible;
   }
 
@@ -709,6 +752,7 @@ public class StyleManager {
    */
   public void setAxisTicksMarksVisible(boolean isAxisTicksMarksVisible) {
 
+    revision++;
     this.isAxisTicksMarksVisible = isAxisTicksMarksVisible;
   }
 
@@ -724,6 +768,7 @@ public class StyleManager {
    */
   public void setPlotPadding(int plotPadding) {
 
+    revision++;
     this.plotPadding = plotPadding;
   }
 
@@ -739,6 +784,7 @@ public class StyleManager {
    */
   public void setAxisTitlePadding(int axisTitlePadding) {
 
+    revision++;
     this.axisTitlePadding = axisTitlePadding;
   }
 
@@ -754,6 +800,7 @@ public class StyleManager {
    */
   public void setXAxisTickMarkSpacingHint(int xAxisTickMarkSpacingHint) {
 
+    revision++;
     this.xAxisTickMarkSpacingHint = xAxisTickMarkSpacingHint;
   }
 
@@ -769,6 +816,7 @@ public class StyleManager {
    */
   public void setYAxisTickMarkSpacingHint(int yAxisTickMarkSpacingHint) {
 
+    revision++;
     this.yAxisTickMarkSpacingHint = yAxisTickMarkSpacingHint;
   }
 
@@ -784,6 +832,7 @@ public class StyleManager {
    */
   public void setXAxisLogarithmic(boolean isXAxisLogarithmic) {
 
+    revision++;
     this.isXAxisLogarithmic = isXAxisLogarithmic;
   }
 
@@ -799,6 +848,7 @@ public class StyleManager {
    */
   public void setYAxisLogarithmic(boolean isYAxisLogarithmic) {
 
+    revision++;
     this.isYAxisLogarithmic = isYAxisLogarithmic;
   }
 
@@ -809,6 +859,7 @@ public class StyleManager {
 
   public void setXAxisMin(double xAxisMin) {
 
+    revision++;
     this.xAxisMin = xAxisMin;
   }
 
@@ -819,6 +870,7 @@ public class StyleManager {
 
   public void setXAxisMax(double xAxisMax) {
 
+    revision++;
     this.xAxisMax = xAxisMax;
   }
 
@@ -829,6 +881,7 @@ public class StyleManager {
 
   public void setYAxisMin(double yAxisMin) {
 
+    revision++;
     this.yAxisMin = yAxisMin;
   }
 
@@ -839,6 +892,7 @@ public class StyleManager {
 
   public void setYAxisMax(double yAxisMax) {
 
+    revision++;
     this.yAxisMax = yAxisMax;
   }
 
@@ -856,6 +910,7 @@ public class StyleManager {
    */
   public void setPlotGridLinesVisible(boolean isPlotGridLinesVisible) {
 
+    revision++;
     this.isPlotGridLinesVisible = isPlotGridLinesVisible;
   }
 
@@ -871,6 +926,7 @@ public class StyleManager {
    */
   public void setPlotBackgroundColor(Color plotBackgroundColor) {
 
+    revision++;
     this.plotBackgroundColor = plotBackgroundColor;
   }
 
@@ -886,6 +942,7 @@ public class StyleManager {
    */
   public void setPlotBorderColor(Color plotBorderColor) {
 
+    revision++;
     this.plotBorderColor = plotBorderColor;
   }
 
@@ -901,6 +958,7 @@ public class StyleManager {
    */
   public void setPlotBorderVisible(boolean isPlotBorderVisible) {
 
+    revision++;
     this.isPlotBorderVisible = isPlotBorderVisible;
   }
 
@@ -916,6 +974,7 @@ public class StyleManager {
    */
   public void setPlotTicksMarksVisible(boolean isPlotTicksMarksVisible) {
 
+    revision++;
     this.isPlotTicksMarksVisible = isPlotTicksMarksVisible;
   }
 
@@ -931,6 +990,7 @@ public class StyleManager {
    */
   public void setPlotGridLinesColor(Color plotGridLinesColor) {
 
+    revision++;
     this.plotGridLinesColor = plotGridLinesColor;
   }
 
@@ -946,6 +1006,7 @@ public class StyleManager {
    */
   public void setPlotGridLinesStroke(Stroke plotGridLinesStroke) {
 
+    revision++;
     this.plotGridLinesStroke = plotGridLinesStroke;
   }
 
@@ -963,6 +1024,7 @@ public class StyleManager {
    */
   public void setErrorBarsColor(Color errorBarsColor) {
 
+    revision++;
     this.errorBarsColor = errorBarsColor;
   }
 
@@ -971,6 +1033,42 @@ public class StyleManager {
     return errorBarsColor;
   }
 
+  // Rendering ///////////////////////////////
+
+  /**
+   * Enables min/max decimation for Line and Area charts. Each pixel column of the plot is reduced to its first, min, max and last points before the lines are drawn, so
+   * the chart looks the same but only draws a number of segments proportional to the plot width. Markers and error bars are still painted for every point.
+   * 
+   * @param isPlotDecimationEnabled
+   */
+  public void setPlotDecimationEnabled(boolean isPlotDecimationEnabled) {
+
+    revision++;
+    this.isPlotDecimationEnabled = isPlotDecimationEnabled;
+  }
+
+  public boolean isPlotDecimationEnabled() {
+
+    return isPlotDecimationEnabled;
+  }
+
+  /**
+   * Enables density rendering for Scatter charts. Instead of painting a marker for every point, the points of each series are counted per pixel and painted as a
+   * single image, shading each pixel from transparent to the series' marker color by its count. Error bars are not painted in this mode.
+   * 
+   * @param isScatterDensityEnabled
+   */
+  public void setScatterDensityEnabled(boolean isScatterDensityEnabled) {
+
+    revision++;
+    this.isScatterDensityEnabled = isScatterDensityEnabled;
+  }
+
+  public boolean isScatterDensityEnabled() {
+
+    return isScatterDensityEnabled;
+  }
+
   // Formatting ////////////////////////////////
 
   /**
@@ -980,6 +1078,7 @@ public class StyleManager {
    */
   public void setDatePattern(String datePattern) {
 
+    revision++;
     this.datePattern = datePattern;
   }
 
@@ -995,6 +1094,7 @@ public class StyleManager {
    */
   public void setLocale(Locale locale) {
 
+    revision++;
     this.locale = locale;
   }
 
@@ -1010,6 +1110,7 @@ public class StyleManager {
    */
   public void setTimezone(TimeZone timezone) {
 
+    revision++;
     this.timezone = timezone;
   }
 
@@ -1025,6 +1126,7 @@ public class StyleManager {
    */
   public void setNormalDecimalPattern(String normalDecimalPattern) {
 
+    revision++;
     this.normalDecimalPattern = normalDecimalPattern;
   }
 
@@ -1040,6 +1142,7 @@ public class StyleManager {
    */
   public void setScientificDecimalPattern(String scientificDecimalPattern) {
 
+    revision++;
     this.scientificDecimalPattern = scientificDecimalPattern;
   }
 
@@ -1047,4 +1150,12 @@ public class StyleManager {
 
     return scientificDecimalPattern;
   }
+
+  /**
+   * @return a counter that is incremented whenever a style is set
+   */
+  public int getRevision() {
+
+    return revision;
+  }
 }
@@ -0,0 +1,230 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedList;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import com.xeiam.xchart.internal.BufferedImagePool;
+
+/**
+ * Saves a Chart as a PNG at a high resolution, such as a poster at 600 DPI, without ever holding the whole image in memory. The image is split into tiles of
+ * full-width rows, which are painted in parallel on an ExecutorService, each with the same layout translated to its rows, and streamed into the PNG encoder in
+ * order. At most maxTilesInFlight tiles exist at a time, so the memory used is bounded by the tile size rather than the image size.
+ * <p>
+ * Painting scales with the number of threads, while the compression runs on the calling thread, overlapped with the painting. The Chart must not be changed or
+ * painted elsewhere while it is saved.
+ * 
+ * @author timmolter
+ */
+public class TiledEncoder {
+
+  /** the default height of a tile in pixels */
+  public static final int DEFAULT_TILE_HEIGHT = 256;
+
+  private final ExecutorService executorService;
+
+  private final int maxTilesInFlight;
+
+  private int tileHeight = DEFAULT_TILE_HEIGHT;
+
+  /**
+   * Constructor
+   * 
+   * @param executorService the executor to paint the tiles on, it is not shut down by this TiledEncoder
+   * @param maxTilesInFlight the maximum number of tiles painted or waiting to be encoded at the same time, at least the number of threads of the executor to keep
+   *          them all busy
+   */
+  public TiledEncoder(ExecutorService executorService, int maxTilesInFlight) {
+
+    if (maxTilesInFlight < 1) {
+      throw new IllegalArgumentException("Max tiles in flight must be at least 1!!!");
+    }
+    this.executorService = executorService;
+    this.maxTilesInFlight = maxTilesInFlight;
+  }
+
+  /**
+   * Set the height of the tiles in pixels. Taller tiles paint the parts of the chart spanning several tiles fewer times, but use more memory. The default is 256.
+   * 
+   * @param tileHeight
+   * @return this TiledEncoder
+   */
+  public TiledEncoder setTileHeight(int tileHeight) {
+
+    if (tileHeight < 1) {
+      throw new IllegalArgumentException("Tile height must be at least 1!!!");
+    }
+    this.tileHeight = tileHeight;
+    return this;
+  }
+
+  /**
+   * Save a Chart as a PNG file with a custom DPI, see BitmapEncoder.savePNGWithDPI(..)
+   * 
+   * @param chart
+   * @param fileName
+   * @param DPI
+   * @throws IOException
+   * @throws InterruptedException if the calling thread is interrupted while waiting for a tile
+   */
+  public void savePNGWithDPI(Chart chart, String fileName, int DPI) throws IOException, InterruptedException {
+
+    PNGEncoder pngEncoder = new PNGEncoder();
+    OutputStream out = new FileOutputStream(fileName);
+    try {
+      savePNGWithDPI(chart, out, DPI, pngEncoder);
+    } finally {
+      out.close();
+      pngEncoder.end();
+    }
+  }
+
+  /**
+   * Write a Chart as PNG with a custom DPI to an OutputStream, using the given PNGEncoder, whose DPI is set. Palettes are not used, as tiled images are never
+   * complete. The stream is flushed but not closed.
+   * 
+   * @param chart
+   * @param out
+   * @param DPI
+   * @param pngEncoder
+   * @throws IOException
+   * @throws InterruptedException if the calling thread is interrupted while waiting for a tile
+   */
+  public void savePNGWithDPI(Chart chart, OutputStream out, int DPI, PNGEncoder pngEncoder) throws IOException, InterruptedException {
+
+    if (DPI < 1) {
+      throw new IllegalArgumentException("DPI must be at least 1!!!");
+    }
+    double scaleFactor = DPI / 72.0;
+    int width = (int) (chart.getWidth() * scaleFactor);
+    int height = (int) (chart.getHeight() * scaleFactor);
+
+    // a tiny paint first computes everything that is computed lazily, such as downsampled series, before the tiles read it concurrently
+    BufferedImage warmUpImage = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+    Graphics2D warmUpGraphics = warmUpImage.createGraphics();
+    warmUpGraphics.scale(scaleFactor, scaleFactor);
+    chart.paint(warmUpGraphics);
+
+    Tiles tiles = new Tiles(chart, scaleFactor, width);
+    int tileCount = (height + tileHeight - 1) / tileHeight;
+    LinkedList<Future<BufferedImage>> futures = new LinkedList<Future<BufferedImage>>();
+    int submittedCount = 0;
+
+    pngEncoder.setDPI(DPI);
+    pngEncoder.start(out, width, height, false);
+    try {
+      for (int tileIndex = 0; tileIndex < tileCount; tileIndex++) {
+        while (submittedCount < tileCount && submittedCount - tileIndex < maxTilesInFlight) {
+          futures.add(executorService.submit(tiles.getTask(submittedCount++)));
+        }
+        BufferedImage tileImage = getTile(futures.removeFirst());
+        try {
+          pngEncoder.writeRows(tileImage, 0, Math.min(tileHeight, height - tileIndex * tileHeight));
+        } finally {
+          tiles.release(tileImage);
+        }
+      }
+      pngEncoder.finish();
+    } finally {
+      // after a failure, the tiles still painting are not needed anymore
+      for (Future<BufferedImage> future : futures) {
+        future.cancel(true);
+      }
+    }
+  }
+
+  private static BufferedImage getTile(Future<BufferedImage> future) throws InterruptedException {
+
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new RuntimeException(cause);
+    }
+  }
+
+  /**
+   * The tile images and the copies of the chart that paint them, one per tile painted at the same time, as a Chart can only paint on one thread at a time
+   */
+  private class Tiles {
+
+    private final Chart chart;
+    private final double scaleFactor;
+    private final int width;
+
+    private final BufferedImagePool bufferedImagePool = new BufferedImagePool(maxTilesInFlight);
+    private final BlockingQueue<Chart> idleCharts = new LinkedBlockingQueue<Chart>();
+
+    Tiles(Chart chart, double scaleFactor, int width) {
+
+      this.chart = chart;
+      this.scaleFactor = scaleFactor;
+      this.width = width;
+    }
+
+    Callable<BufferedImage> getTask(final int tileIndex) {
+
+      return new Callable<BufferedImage>() {
+
+        @Override
+        public BufferedImage call() {
+
+          Chart tileChart = idleCharts.poll();
+          if (tileChart == null) {
+            tileChart = new Chart(chart);
+          }
+          // a tile painted before is cleared by the pool, so a translucent background does not show the rows of that tile
+          BufferedImage tileImage = bufferedImagePool.acquire(width, tileHeight);
+          try {
+            // the image bounds clip the chart to the rows of the tile
+            Graphics2D g = tileImage.createGraphics();
+            g.translate(0, -tileIndex * tileHeight);
+            g.scale(scaleFactor, scaleFactor);
+            tileChart.paint(g);
+          } catch (RuntimeException e) {
+            bufferedImagePool.release(tileImage);
+            throw e;
+          } finally {
+            idleCharts.offer(tileChart);
+          }
+          return tileImage;
+        }
+      };
+    }
+
+    void release(BufferedImage tileImage) {
+
+      bufferedImagePool.release(tileImage);
+    }
+  }
+}
@@ -0,0 +1,149 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart.internal;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A thread-safe pool of TYPE_INT_RGB BufferedImages per size, so that rendering many charts of the same size does not allocate a new raster for each one. When
+ * the pool is full, the idle images of the size that was least recently used are evicted first.
+ * 
+ * @author timmolter
+ */
+public class BufferedImagePool {
+
+  /** the maximum number of idle images kept, over all sizes */
+  private final int maxIdleCount;
+
+  /** the idle images per size, in access order */
+  private final Map<Long, ArrayDeque<BufferedImage>> idleImages = new LinkedHashMap<Long, ArrayDeque<BufferedImage>>(16, 0.75f, true);
+
+  private int idleCount = 0;
+
+  /**
+   * Constructor
+   * 
+   * @param maxIdleCount the maximum number of idle images kept, over all sizes
+   */
+  public BufferedImagePool(int maxIdleCount) {
+
+    if (maxIdleCount < 0) {
+      throw new IllegalArgumentException("Max idle count cannot be negative!!!");
+    }
+    this.maxIdleCount = maxIdleCount;
+  }
+
+  /**
+   * Takes an idle image of the given size from the pool, or creates a new one if there is none. A pooled image is cleared to opaque black, as a new one is, so
+   * that nothing painted on it before shows through a translucent background.
+   * 
+   * @param width
+   * @param height
+   * @return
+   */
+  public BufferedImage acquire(int width, int height) {
+
+    BufferedImage bufferedImage = null;
+    synchronized (idleImages) {
+      ArrayDeque<BufferedImage> images = idleImages.get(getKey(width, height));
+      if (images != null && !images.isEmpty()) {
+        idleCount--;
+        bufferedImage = images.pollLast();
+      }
+    }
+    if (bufferedImage == null) {
+      return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    }
+
+    Graphics2D g = bufferedImage.createGraphics();
+    try {
+      g.setComposite(AlphaComposite.Src);
+      g.setColor(Color.BLACK);
+      g.fillRect(0, 0, width, height);
+    } finally {
+      g.dispose();
+    }
+    return bufferedImage;
+  }
+
+  /**
+   * Returns an image to the pool, evicting an idle image of the least recently used size if the pool is full
+   * 
+   * @param bufferedImage an image acquired from this pool, which the caller no longer uses
+   */
+  public void release(BufferedImage bufferedImage) {
+
+    if (bufferedImage.getType() != BufferedImage.TYPE_INT_RGB) {
+      return;
+    }
+    synchronized (idleImages) {
+      if (maxIdleCount == 0) {
+        return;
+      }
+      if (idleCount >= maxIdleCount) {
+        evictLeastRecentlyUsed();
+      }
+      Long key = getKey(bufferedImage.getWidth(), bufferedImage.getHeight());
+      ArrayDeque<BufferedImage> images = idleImages.get(key);
+      if (images == null) {
+        images = new ArrayDeque<BufferedImage>();
+        idleImages.put(key, images);
+      }
+      images.addLast(bufferedImage);
+      idleCount++;
+    }
+  }
+
+  private void evictLeastRecentlyUsed() {
+
+    Iterator<ArrayDeque<BufferedImage>> iterator = idleImages.values().iterator();
+    while (iterator.hasNext()) {
+      ArrayDeque<BufferedImage> images = iterator.next();
+      if (!images.isEmpty()) {
+        images.pollFirst();
+        idleCount--;
+      }
+      if (images.isEmpty()) {
+        iterator.remove();
+      }
+      if (idleCount < maxIdleCount) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * @return the number of idle images in the pool
+   */
+  public int getIdleCount() {
+
+    synchronized (idleImages) {
+      return idleCount;
+    }
+  }
+
+  private static Long getKey(int width, int height) {
+
+    return ((long) width << 32) | (height & 0xFFFFFFFFL);
+  }
+}
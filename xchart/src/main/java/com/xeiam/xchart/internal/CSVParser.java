@@ -0,0 +1,387 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart.internal;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Reads the X, Y and error bar data of a series from a CSV file, either with a column per value, or with a line per value. The bytes are read through a
+ * buffered FileChannel and numbers are parsed straight into growable double[] columns, without a String per value, so a file is read in a single pass.
+ * <p>
+ * The X values may be dates in a SimpleDateFormat pattern, which are stored as epoch milliseconds. With a column per value, a first line that is not all numbers
+ * is a header and skipped, with a line per value, a first value per line that is not a number is a label and skipped. An empty value is NaN, except at the end of a
+ * line, where it is left by a trailing comma as CSVExporter writes.
+ * 
+ * @author timmolter
+ */
+public class CSVParser {
+
+  /** the maximum number of values read: X, Y and error bars */
+  public static final int MAX_VALUE_COUNT = 3;
+
+  private static final int READ_BUFFER_SIZE = 1 << 16;
+
+  private static final int INITIAL_COLUMN_LENGTH = 1024;
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  /** the powers of ten a double holds exactly */
+  private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20,
+      1e21, 1e22 };
+
+  /** the largest mantissa a double holds exactly, 2^53 */
+  private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+  /** the number of significant digits that always fit in a long */
+  private static final int MAX_DIGITS = 18;
+
+  private final boolean isLinePerValue;
+
+  /** parses the X values if they are dates, null if they are numbers */
+  private final SimpleDateFormat dateFormat;
+
+  // the values read so far
+  private final double[][] columns = new double[MAX_VALUE_COUNT][];
+  private final int[] columnLengths = new int[MAX_VALUE_COUNT];
+
+  /** the value of the field last parsed */
+  private double fieldValue;
+
+  // the position in the file
+  private int lineNumber;
+  private int dataLineCount;
+  private int fieldIndex;
+  private boolean hasLineValues;
+  private boolean hasLineLabel;
+  private boolean isSkippingLine;
+
+  /**
+   * Constructor
+   * 
+   * @param isLinePerValue true for a line per X, Y and error bars, false for a column per X, Y and error bars
+   * @param datePattern the SimpleDateFormat pattern of the X values, or null if they are numbers
+   */
+  public CSVParser(boolean isLinePerValue, String datePattern) {
+
+    this.isLinePerValue = isLinePerValue;
+    if (datePattern != null) {
+      dateFormat = new SimpleDateFormat(datePattern);
+      dateFormat.setLenient(false);
+    }
+    else {
+      dateFormat = null;
+    }
+  }
+
+  /**
+   * Reads a CSV file
+   * 
+   * @param csvFile
+   * @return the X, Y and, if present, error bar values, dates as epoch milliseconds
+   * @throws IOException
+   * @throws IllegalArgumentException if a value is not a number or date
+   */
+  public double[][] parse(File csvFile) throws IOException {
+
+    for (int i = 0; i < MAX_VALUE_COUNT; i++) {
+      columns[i] = null;
+      columnLengths[i] = 0;
+    }
+    lineNumber = 1;
+    dataLineCount = 0;
+    startLine();
+
+    FileInputStream in = new FileInputStream(csvFile);
+    try {
+      FileChannel channel = in.getChannel();
+      ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+      boolean isEndOfFile = false;
+      while (!isEndOfFile) {
+        isEndOfFile = channel.read(buffer) < 0;
+        byte[] bytes = buffer.array();
+        int limit = buffer.position();
+
+        // the values are parsed where they are in the buffer
+        int fieldStart = 0;
+        for (int i = 0; i < limit; i++) {
+          byte b = bytes[i];
+          if (b == ',') {
+            if (!isSkippingLine) {
+              endField(bytes, fieldStart, i, false);
+            }
+            fieldStart = i + 1;
+          }
+          else if (b == '\n') {
+            endLine(bytes, fieldStart, i);
+            fieldStart = i + 1;
+          }
+        }
+
+        if (isEndOfFile) {
+          endLine(bytes, fieldStart, limit);
+        }
+        else if (fieldStart == 0 && limit == bytes.length) {
+          // a value longer than the buffer
+          ByteBuffer largerBuffer = ByteBuffer.allocate(bytes.length * 2);
+          buffer.flip();
+          largerBuffer.put(buffer);
+          buffer = largerBuffer;
+        }
+        else {
+          // keeps the start of the value the buffer ends in
+          buffer.position(fieldStart);
+          buffer.limit(limit);
+          buffer.compact();
+        }
+      }
+    } finally {
+      in.close();
+    }
+
+    int columnCount = 0;
+    while (columnCount < MAX_VALUE_COUNT && columns[columnCount] != null) {
+      columnCount++;
+    }
+    double[][] values = new double[columnCount][];
+    for (int i = 0; i < columnCount; i++) {
+      values[i] = columns[i].length == columnLengths[i] ? columns[i] : Arrays.copyOf(columns[i], columnLengths[i]);
+      columns[i] = null;
+    }
+    return values;
+  }
+
+  private void startLine() {
+
+    fieldIndex = 0;
+    hasLineValues = false;
+    hasLineLabel = false;
+    isSkippingLine = false;
+  }
+
+  private void endLine(byte[] bytes, int start, int end) {
+
+    if (!isSkippingLine) {
+      endField(bytes, start, end, true);
+      if (hasLineValues) {
+        dataLineCount++;
+      }
+    }
+    lineNumber++;
+    startLine();
+  }
+
+  private void endField(byte[] bytes, int start, int end, boolean isLastField) {
+
+    // surrounding white space, \r and quotes
+    while (start < end && (bytes[start] == ' ' || bytes[start] == '\t')) {
+      start++;
+    }
+    while (end > start && (bytes[end - 1] == ' ' || bytes[end - 1] == '\t' || bytes[end - 1] == '\r')) {
+      end--;
+    }
+    if (end - start >= 2 && bytes[start] == '"' && bytes[end - 1] == '"') {
+      start++;
+      end--;
+    }
+
+    if (start == end) {
+      // the last value of a line is left empty by a trailing comma
+      if (!isLastField) {
+        addValue(Double.NaN);
+      }
+    }
+    else if (parseField(bytes, start, end)) {
+      addValue(fieldValue);
+    }
+    else if (isLinePerValue && fieldIndex == 0 && !hasLineLabel) {
+      hasLineLabel = true;
+    }
+    else if (!isLinePerValue && dataLineCount == 0) {
+      // a header, the values before it on its line are dropped
+      for (int i = 0; i < MAX_VALUE_COUNT; i++) {
+        columnLengths[i] = 0;
+      }
+      hasLineValues = false;
+      isSkippingLine = true;
+    }
+    else {
+      throw new IllegalArgumentException("Error parsing >" + new String(bytes, start, end - start, UTF_8) + "< in line " + lineNumber + "!!!");
+    }
+  }
+
+  private void addValue(double value) {
+
+    int column = isLinePerValue ? dataLineCount : fieldIndex;
+    fieldIndex++;
+    if (column >= MAX_VALUE_COUNT) {
+      if (isLinePerValue) {
+        throw new IllegalArgumentException("More than " + MAX_VALUE_COUNT + " lines of values in line " + lineNumber + "!!!");
+      }
+      // columns after the error bars are ignored
+      return;
+    }
+    hasLineValues = true;
+
+    double[] values = columns[column];
+    if (values == null) {
+      values = new double[INITIAL_COLUMN_LENGTH];
+      columns[column] = values;
+    }
+    else if (columnLengths[column] == values.length) {
+      values = Arrays.copyOf(values, values.length * 2);
+      columns[column] = values;
+    }
+    values[columnLengths[column]++] = value;
+  }
+
+  /**
+   * Parses a field into fieldValue
+   * 
+   * @return false if the field is not a number, or not a date where dates are expected
+   */
+  private boolean parseField(byte[] bytes, int start, int end) {
+
+    boolean isXValue = isLinePerValue ? dataLineCount == 0 : fieldIndex == 0;
+    if (isXValue && dateFormat != null) {
+      String text = new String(bytes, start, end - start, UTF_8);
+      ParsePosition parsePosition = new ParsePosition(0);
+      Date date = dateFormat.parse(text, parsePosition);
+      if (date == null || parsePosition.getIndex() != text.length()) {
+        return false;
+      }
+      fieldValue = date.getTime();
+      return true;
+    }
+    return parseNumber(bytes, start, end);
+  }
+
+  /**
+   * Parses a decimal number into fieldValue. Numbers whose significant digits fit exactly in a double, scaled by a power of ten a double holds exactly, are
+   * calculated directly, which is correctly rounded, the others are left to Double.parseDouble(..).
+   */
+  private boolean parseNumber(byte[] bytes, int start, int end) {
+
+    int i = start;
+    boolean isNegative = false;
+    if (bytes[i] == '-' || bytes[i] == '+') {
+      isNegative = bytes[i] == '-';
+      i++;
+    }
+
+    long mantissa = 0;
+    int digitCount = 0;
+    int significantDigitCount = 0;
+    int exponent = 0;
+    int pointIndex = -1;
+    for (; i < end; i++) {
+      int digit = bytes[i] - '0';
+      if (digit >= 0 && digit <= 9) {
+        digitCount++;
+        if (significantDigitCount < MAX_DIGITS) {
+          mantissa = mantissa * 10 + digit;
+          if (mantissa != 0) {
+            significantDigitCount++;
+          }
+          if (pointIndex >= 0) {
+            exponent--;
+          }
+        }
+        else {
+          // too many digits for a long, left to Double.parseDouble(..)
+          significantDigitCount++;
+        }
+      }
+      else if (bytes[i] == '.' && pointIndex < 0) {
+        pointIndex = i;
+      }
+      else {
+        break;
+      }
+    }
+    if (digitCount == 0) {
+      // as Double.toString(..) writes them
+      if (isText(bytes, i, end, "NaN")) {
+        fieldValue = Double.NaN;
+        return true;
+      }
+      if (isText(bytes, i, end, "Infinity")) {
+        fieldValue = isNegative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        return true;
+      }
+      return false;
+    }
+
+    if (i < end) {
+      if (bytes[i] != 'e' && bytes[i] != 'E') {
+        return false;
+      }
+      i++;
+      boolean isExponentNegative = false;
+      if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+        isExponentNegative = bytes[i] == '-';
+        i++;
+      }
+      if (i == end) {
+        return false;
+      }
+      int explicitExponent = 0;
+      for (; i < end; i++) {
+        int digit = bytes[i] - '0';
+        if (digit < 0 || digit > 9) {
+          return false;
+        }
+        if (explicitExponent < 100000) {
+          explicitExponent = explicitExponent * 10 + digit;
+        }
+      }
+      exponent += isExponentNegative ? -explicitExponent : explicitExponent;
+    }
+
+    if (significantDigitCount < MAX_DIGITS && mantissa <= MAX_EXACT_MANTISSA && exponent >= -22 && exponent <= 22) {
+      double value = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+      fieldValue = isNegative ? -value : value;
+    }
+    else if (mantissa == 0 && significantDigitCount == 0) {
+      fieldValue = isNegative ? -0.0 : 0.0;
+    }
+    else {
+      fieldValue = Double.parseDouble(new String(bytes, start, end - start, UTF_8));
+    }
+    return true;
+  }
+
+  private static boolean isText(byte[] bytes, int start, int end, String text) {
+
+    if (end - start != text.length()) {
+      return false;
+    }
+    for (int i = 0; i < text.length(); i++) {
+      if (bytes[start + i] != text.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,222 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+
+/**
+ * Writes CSV values to an OutputStream, formatting doubles and longs straight into a reusable byte buffer, which is written in large chunks. Numbers are written
+ * as Double.toString(..) and Long.toString(..) write them, and read back to the same value, but without a String per value.
+ * 
+ * @author timmolter
+ */
+public class CSVWriter {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  /** more than the longest number written, "-1.2345678901234567E-308" */
+  private static final int MAX_NUMBER_LENGTH = 32;
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  /** the powers of ten a double holds exactly */
+  private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18 };
+
+  private static final long[] LONG_POWERS_OF_TEN = { 1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L, 10000000000L,
+      100000000000L, 1000000000000L, 10000000000000L, 100000000000000L, 1000000000000000L, 10000000000000000L, 100000000000000000L, 1000000000000000000L };
+
+  /** up to 15 significant digits, at most one decimal reads back as a given double, so it is the one Double.toString(..) writes */
+  private static final double MAX_UNIQUE_MANTISSA = 1e15;
+
+  private final OutputStream out;
+
+  private final byte[] buffer = new byte[BUFFER_SIZE];
+  private int position = 0;
+
+  private final byte[] lineSeparator;
+
+  /** formats the numbers the fast paths do not */
+  private final StringBuilder numberBuilder = new StringBuilder(MAX_NUMBER_LENGTH);
+
+  /**
+   * Constructor
+   * 
+   * @param out the stream to write to, it is not closed by this CSVWriter
+   */
+  public CSVWriter(OutputStream out) {
+
+    this.out = out;
+    this.lineSeparator = System.getProperty("line.separator").getBytes(UTF_8);
+  }
+
+  public void writeDouble(double value) throws IOException {
+
+    reserve(MAX_NUMBER_LENGTH);
+    double magnitude = Math.abs(value);
+    // in the range Double.toString(..) writes without an exponent
+    if (magnitude >= 1e-3 && magnitude < 1e7) {
+      // the most fraction digits within 15 significant digits, at least 8 below 1e7
+      int fractionDigitCount = 8;
+      while (fractionDigitCount + 1 < LONG_POWERS_OF_TEN.length && magnitude * POWERS_OF_TEN[fractionDigitCount + 1] < MAX_UNIQUE_MANTISSA) {
+        fractionDigitCount++;
+      }
+      long mantissa = (long) (magnitude * POWERS_OF_TEN[fractionDigitCount] + 0.5);
+      if (mantissa / POWERS_OF_TEN[fractionDigitCount] == magnitude) {
+        // the fewest fraction digits that read back as the value
+        while (fractionDigitCount > 0 && mantissa % 10 == 0) {
+          mantissa /= 10;
+          fractionDigitCount--;
+        }
+        if (value < 0) {
+          buffer[position++] = '-';
+        }
+        writeDecimal(mantissa, fractionDigitCount);
+        return;
+      }
+    }
+    else if (magnitude == 0.0) {
+      if (Double.doubleToRawLongBits(value) != 0L) {
+        buffer[position++] = '-';
+      }
+      writeDecimal(0L, 0);
+      return;
+    }
+
+    numberBuilder.setLength(0);
+    numberBuilder.append(value);
+    writeNumberBuilder();
+  }
+
+  public void writeLong(long value) throws IOException {
+
+    reserve(MAX_NUMBER_LENGTH);
+    if (value == Long.MIN_VALUE) {
+      numberBuilder.setLength(0);
+      numberBuilder.append(value);
+      writeNumberBuilder();
+      return;
+    }
+    if (value < 0) {
+      buffer[position++] = '-';
+      value = -value;
+    }
+    writeDigits(value, getDigitCount(value));
+  }
+
+  /**
+   * Writes a text value, quoted if it contains a comma, a quote or a line break
+   */
+  public void writeText(String text) throws IOException {
+
+    boolean isQuoted = false;
+    for (int i = 0; i < text.length() && !isQuoted; i++) {
+      char c = text.charAt(i);
+      isQuoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+    }
+    byte[] bytes = (isQuoted ? '"' + text.replace("\"", "\"\"") + '"' : text).getBytes(UTF_8);
+    if (bytes.length > buffer.length - position) {
+      flushBuffer();
+      if (bytes.length > buffer.length) {
+        out.write(bytes);
+        return;
+      }
+    }
+    System.arraycopy(bytes, 0, buffer, position, bytes.length);
+    position += bytes.length;
+  }
+
+  public void writeComma() throws IOException {
+
+    reserve(1);
+    buffer[position++] = ',';
+  }
+
+  public void writeLineSeparator() throws IOException {
+
+    reserve(lineSeparator.length);
+    for (int i = 0; i < lineSeparator.length; i++) {
+      buffer[position++] = lineSeparator[i];
+    }
+  }
+
+  /**
+   * Writes the buffered values to the stream and flushes it
+   */
+  public void flush() throws IOException {
+
+    flushBuffer();
+    out.flush();
+  }
+
+  private void reserve(int length) throws IOException {
+
+    if (position + length > buffer.length) {
+      flushBuffer();
+    }
+  }
+
+  private void flushBuffer() throws IOException {
+
+    out.write(buffer, 0, position);
+    position = 0;
+  }
+
+  private void writeNumberBuilder() {
+
+    for (int i = 0; i < numberBuilder.length(); i++) {
+      buffer[position++] = (byte) numberBuilder.charAt(i);
+    }
+  }
+
+  /**
+   * Writes mantissa / 10^fractionDigitCount with at least one digit on either side of the point
+   */
+  private void writeDecimal(long mantissa, int fractionDigitCount) {
+
+    long integerPart = mantissa / LONG_POWERS_OF_TEN[fractionDigitCount];
+    writeDigits(integerPart, getDigitCount(integerPart));
+    buffer[position++] = '.';
+    if (fractionDigitCount == 0) {
+      buffer[position++] = '0';
+    }
+    else {
+      writeDigits(mantissa - integerPart * LONG_POWERS_OF_TEN[fractionDigitCount], fractionDigitCount);
+    }
+  }
+
+  /**
+   * Writes the digits of a non-negative value, padded with leading zeros to the digit count
+   */
+  private void writeDigits(long value, int digitCount) {
+
+    for (int i = position + digitCount - 1; i >= position; i--) {
+      buffer[i] = (byte) ('0' + value % 10);
+      value /= 10;
+    }
+    position += digitCount;
+  }
+
+  private static int getDigitCount(long value) {
+
+    int digitCount = 1;
+    while (digitCount < LONG_POWERS_OF_TEN.length && value >= LONG_POWERS_OF_TEN[digitCount]) {
+      digitCount++;
+    }
+    return digitCount;
+  }
+}
@@ -0,0 +1,338 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A level of detail pyramid over the points of a series with X values in ascending order, so that a zoomed out line can be painted from a few aggregates per pixel
+ * instead of all of its points. Level k holds the min and max Y value of each bucket of 2^k consecutive points, together with their X values, and the finest
+ * level also the first and last point of each bucket. The buckets of a level are merged pairwise into the buckets of the next level.
+ * <p>
+ * Points are added at the end and evicted from the front, a bucket is added to the pyramid once all of its points are added, so both are O(1) amortized. Buckets
+ * with evicted points and the bucket still being filled are not used, the points there are painted one by one. Gaps (Y values of Double.NaN) are ignored
+ * within a bucket, only a bucket of gaps paints as one.
+ * 
+ * @author timmolter
+ */
+public class LODPyramid {
+
+  /** the finest level, buckets of 16 points. Points that are not zoomed out further than that are painted one by one. */
+  public static final int MIN_LEVEL = 4;
+
+  /** the number of points a bucket is painted with: its first point, its min and max in the order of their X values, and its last point */
+  public static final int POINTS_PER_BUCKET = 4;
+
+  // the fields of a bucket
+  private static final int MIN_X = 0;
+  private static final int MIN_Y = 1;
+  private static final int MAX_X = 2;
+  private static final int MAX_Y = 3;
+  private static final int FIRST_X = 4;
+  private static final int FIRST_Y = 5;
+  private static final int LAST_X = 6;
+  private static final int LAST_Y = 7;
+
+  /** the levels from MIN_LEVEL up, a level is added when its first bucket is complete */
+  private final List<Level> levels = new ArrayList<Level>();
+
+  /** the number of points added so far, also the sequence number of the next point */
+  private long addedCount = 0;
+
+  /** the number of points evicted so far, also the sequence number of the point at index 0 */
+  private long evictedCount = 0;
+
+  /** the bucket of the finest level being filled */
+  private final double[] pendingBucket = new double[LAST_Y + 1];
+
+  /**
+   * Constructor
+   */
+  public LODPyramid() {
+
+    levels.add(new Level(LAST_Y + 1));
+    clearPendingBucket();
+  }
+
+  /**
+   * Adds a point at the end
+   * 
+   * @param x
+   * @param y the Y value, Double.NaN for a gap
+   */
+  public void add(double x, double y) {
+
+    long sequence = addedCount++;
+
+    if (!Double.isNaN(y)) {
+      double[] bucket = pendingBucket;
+      if (Double.isNaN(bucket[FIRST_Y])) {
+        bucket[FIRST_X] = x;
+        bucket[FIRST_Y] = y;
+        bucket[MIN_X] = x;
+        bucket[MIN_Y] = y;
+        bucket[MAX_X] = x;
+        bucket[MAX_Y] = y;
+      }
+      else if (y < bucket[MIN_Y]) {
+        bucket[MIN_X] = x;
+        bucket[MIN_Y] = y;
+      }
+      else if (y > bucket[MAX_Y]) {
+        bucket[MAX_X] = x;
+        bucket[MAX_Y] = y;
+      }
+      bucket[LAST_X] = x;
+      bucket[LAST_Y] = y;
+    }
+
+    int bucketSize = 1 << MIN_LEVEL;
+    if ((sequence & (bucketSize - 1)) == bucketSize - 1) {
+      addBucket(0, sequence >> MIN_LEVEL, pendingBucket, 0, null, 0);
+      clearPendingBucket();
+    }
+  }
+
+  /**
+   * Evicts the oldest points
+   * 
+   * @param count the number of points to evict
+   */
+  public void evict(int count) {
+
+    if (count < 0 || count > size()) {
+      throw new IllegalArgumentException("Cannot evict " + count + " of " + size() + " points!!!");
+    }
+    evictedCount += count;
+    for (int i = 0; i < levels.size(); i++) {
+      // the buckets ending before the first point
+      levels.get(i).removeBefore(evictedCount >> (MIN_LEVEL + i));
+    }
+  }
+
+  /**
+   * @return the number of points
+   */
+  public int size() {
+
+    return (int) (addedCount - evictedCount);
+  }
+
+  /**
+   * Picks the coarsest level that still has a bucket per pixel
+   * 
+   * @param pointCount the number of points painted
+   * @param pixelCount the width in pixels they are spread over
+   * @return the level, or -1 if the points are not zoomed out further than the finest level
+   */
+  public int getLevel(int pointCount, double pixelCount) {
+
+    int level = MIN_LEVEL - 1;
+    while (level + 1 < MIN_LEVEL + levels.size() && (pointCount >> (level + 1)) >= Math.max(1.0, pixelCount)) {
+      level++;
+    }
+    return level >= MIN_LEVEL ? level : -1;
+  }
+
+  /**
+   * @param level
+   * @param fromIndex the index of a point
+   * @return the first bucket of the level starting at or after the point that can be used
+   */
+  public long getFirstBucket(int level, int fromIndex) {
+
+    int bucketSize = 1 << level;
+    long firstBucket = (evictedCount + fromIndex + bucketSize - 1) >> level;
+    return Math.max(firstBucket, getBuckets(level).firstBucket);
+  }
+
+  /**
+   * @param level
+   * @param toIndex the index after a point
+   * @return the bucket of the level after the last one ending at or before the point that can be used
+   */
+  public long getEndBucket(int level, int toIndex) {
+
+    Level lodLevel = getBuckets(level);
+    return Math.min((evictedCount + toIndex) >> level, lodLevel.firstBucket + lodLevel.count);
+  }
+
+  /**
+   * @param level
+   * @param bucket
+   * @return the index of the first point of the bucket
+   */
+  public int getPointIndex(int level, long bucket) {
+
+    return (int) ((bucket << level) - evictedCount);
+  }
+
+  /**
+   * @param level
+   * @param bucket
+   * @param point 0 to POINTS_PER_BUCKET - 1
+   * @return the X value of a point the bucket is painted with
+   */
+  public double getX(int level, long bucket, int point) {
+
+    return getField(level, bucket, point, true);
+  }
+
+  /**
+   * @param level
+   * @param bucket
+   * @param point 0 to POINTS_PER_BUCKET - 1
+   * @return the Y value of a point the bucket is painted with, Double.NaN if the bucket only has gaps
+   */
+  public double getY(int level, long bucket, int point) {
+
+    return getField(level, bucket, point, false);
+  }
+
+  private double getField(int level, long bucket, int point, boolean isX) {
+
+    int levelIndex = level - MIN_LEVEL;
+    if (point == 0 || point == POINTS_PER_BUCKET - 1) {
+      // the first and last points are only kept in the finest level
+      Level finestLevel = levels.get(0);
+      if (point == 0) {
+        return finestLevel.get(bucket << levelIndex, isX ? FIRST_X : FIRST_Y);
+      }
+      return finestLevel.get(((bucket + 1) << levelIndex) - 1, isX ? LAST_X : LAST_Y);
+    }
+    Level lodLevel = levels.get(levelIndex);
+    boolean isMinFirst = !(lodLevel.get(bucket, MAX_X) < lodLevel.get(bucket, MIN_X));
+    boolean isMin = (point == 1) == isMinFirst;
+    return lodLevel.get(bucket, isMin ? (isX ? MIN_X : MIN_Y) : (isX ? MAX_X : MAX_Y));
+  }
+
+  private Level getBuckets(int level) {
+
+    if (level < MIN_LEVEL || level >= MIN_LEVEL + levels.size()) {
+      throw new IllegalArgumentException("No level " + level + "!!!");
+    }
+    return levels.get(level - MIN_LEVEL);
+  }
+
+  /**
+   * Adds a complete bucket to a level, and merges it with the bucket before it into the next level if they are siblings
+   * 
+   * @param values the min and max, and for the finest level the first and last point, of the bucket, or of the first child if there are two
+   * @param secondValues the min and max of the second child, or null
+   */
+  private void addBucket(int levelIndex, long bucket, double[] values, int offset, double[] secondValues, int secondOffset) {
+
+    Level level = levels.get(levelIndex);
+    int slot = level.add(bucket);
+    double[] data = level.data;
+    System.arraycopy(values, offset, data, slot, level.stride);
+    if (secondValues != null) {
+      if (secondValues[secondOffset + MIN_Y] < data[slot + MIN_Y] || Double.isNaN(data[slot + MIN_Y])) {
+        data[slot + MIN_X] = secondValues[secondOffset + MIN_X];
+        data[slot + MIN_Y] = secondValues[secondOffset + MIN_Y];
+      }
+      if (secondValues[secondOffset + MAX_Y] > data[slot + MAX_Y] || Double.isNaN(data[slot + MAX_Y])) {
+        data[slot + MAX_X] = secondValues[secondOffset + MAX_X];
+        data[slot + MAX_Y] = secondValues[secondOffset + MAX_Y];
+      }
+    }
+
+    if ((bucket & 1) == 1 && level.contains(bucket - 1)) {
+      if (levelIndex + 1 == levels.size()) {
+        levels.add(new Level(MAX_Y + 1));
+      }
+      addBucket(levelIndex + 1, bucket >> 1, level.data, level.getSlot(bucket - 1), level.data, level.getSlot(bucket));
+    }
+  }
+
+  private void clearPendingBucket() {
+
+    for (int i = 0; i < pendingBucket.length; i++) {
+      pendingBucket[i] = Double.NaN;
+    }
+  }
+
+  /**
+   * The consecutive buckets of a level, in a growable array with a stride of the number of fields per bucket
+   */
+  private static class Level {
+
+    private final int stride;
+
+    private double[] data;
+
+    /** the bucket at index start */
+    private long firstBucket = 0;
+    private int start = 0;
+    private int count = 0;
+
+    Level(int stride) {
+
+      this.stride = stride;
+      this.data = new double[stride * 16];
+    }
+
+    boolean contains(long bucket) {
+
+      return bucket >= firstBucket && bucket < firstBucket + count;
+    }
+
+    int getSlot(long bucket) {
+
+      return (start + (int) (bucket - firstBucket)) * stride;
+    }
+
+    double get(long bucket, int field) {
+
+      return data[getSlot(bucket) + field];
+    }
+
+    /**
+     * @return the slot of a new bucket at the end, a bucket that does not follow the last one starts the level over
+     */
+    int add(long bucket) {
+
+      if (count == 0 || bucket != firstBucket + count) {
+        firstBucket = bucket;
+        start = 0;
+        count = 0;
+      }
+      if ((start + count + 1) * stride > data.length) {
+        double[] newData = start >= count ? data : new double[data.length * 2];
+        System.arraycopy(data, start * stride, newData, 0, count * stride);
+        data = newData;
+        start = 0;
+      }
+      count++;
+      return getSlot(bucket);
+    }
+
+    /**
+     * Removes the buckets before the given one
+     */
+    void removeBefore(long bucket) {
+
+      int removedCount = (int) Math.max(0, Math.min(count, bucket - firstBucket));
+      firstBucket += removedCount;
+      start += removedCount;
+      count -= removedCount;
+      if (count == 0) {
+        start = 0;
+      }
+    }
+  }
+}
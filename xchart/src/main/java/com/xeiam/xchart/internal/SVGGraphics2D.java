@@ -0,0 +1,1329 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart.internal;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.Image;
+import java.awt.Paint;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.font.TextLayout;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.PathIterator;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.awt.image.ColorModel;
+import java.awt.image.ImageObserver;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.RenderableImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.text.AttributedCharacterIterator;
+import java.util.Map;
+
+import com.xeiam.xchart.PNGEncoder;
+
+/**
+ * A Graphics2D that streams what is painted on it as SVG elements to a Writer, instead of building a document in memory. Consecutive lines drawn with the same
+ * color and stroke are joined into a single path element, so a series of a million points becomes one compact path. Shapes filled with the same color along such
+ * a line, such as its markers, are collected into one path element written after it. Text drawn with drawString becomes
+ * text elements, text drawn through a TextLayout becomes filled glyph outlines, and images are embedded as PNG. Clipping and XOR mode are not exported.
+ * <p>
+ * Painting never throws an IOException, the first one is kept and thrown by finish() instead.
+ * 
+ * @author timmolter
+ */
+public class SVGGraphics2D extends Graphics2D {
+
+  /** the output and the path element that is still open, shared by a SVGGraphics2D and the ones created from it */
+  private final Document document;
+
+  private Color color = Color.BLACK;
+  private Color background = Color.WHITE;
+  private Stroke stroke = new BasicStroke();
+  private Font font = new Font(Font.SANS_SERIF, Font.PLAIN, 12);
+  private Composite composite = AlphaComposite.SrcOver;
+  private AffineTransform transform = new AffineTransform();
+  private Shape clip = null;
+  private final RenderingHints renderingHints = new RenderingHints(null);
+
+  /** the stroke attributes for the current color, stroke, transform and hints, null if one of them changed */
+  private String strokeAttributes = null;
+
+  /** used to measure text */
+  private Graphics2D scratchGraphics = null;
+
+  /**
+   * Constructor, writes the start of the SVG document
+   * 
+   * @param writer
+   * @param width
+   * @param height
+   */
+  public SVGGraphics2D(Writer writer, int width, int height) {
+
+    document = new Document(writer, width, height);
+    document.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+    document.write("<svg xmlns=\"http://www.w3.org/2000/svg\" xmlns:xlink=\"http://www.w3.org/1999/xlink\" version=\"1.1\" width=\"" + width + "\" height=\"" + height
+        + "\" viewBox=\"0 0 " + width + " " + height + "\">\n");
+  }
+
+  private SVGGraphics2D(SVGGraphics2D parent) {
+
+    document = parent.document;
+    color = parent.color;
+    background = parent.background;
+    stroke = parent.stroke;
+    font = parent.font;
+    composite = parent.composite;
+    transform = new AffineTransform(parent.transform);
+    clip = parent.clip;
+    renderingHints.putAll(parent.renderingHints);
+  }
+
+  /**
+   * Writes the end of the SVG document and flushes the Writer, which is not closed
+   * 
+   * @throws IOException the first exception thrown by the Writer while painting
+   */
+  public void finish() throws IOException {
+
+    document.closePath();
+    document.write("</svg>\n");
+    document.flush();
+    if (document.pngEncoder != null) {
+      document.pngEncoder.end();
+      document.pngEncoder = null;
+    }
+    if (document.exception != null) {
+      throw document.exception;
+    }
+  }
+
+  // Shapes /////////////////////////////////////////////////
+
+  @Override
+  public void draw(Shape shape) {
+
+    if (!(stroke instanceof BasicStroke)) {
+      fill(stroke.createStrokedShape(shape));
+      return;
+    }
+    if (strokeAttributes == null) {
+      strokeAttributes = getStrokeAttributes();
+    }
+
+    if (shape instanceof Line2D) {
+      // join consecutive lines of the same style into one path
+      Line2D line = (Line2D) shape;
+      double[] points = { line.getX1(), line.getY1(), line.getX2(), line.getY2() };
+      transform.transform(points, 0, points, 0, 2);
+      // with fills collected along the path, a line that does not continue it starts a new one, so that it is painted over them
+      if (!document.isPathOpen(strokeAttributes) || (document.hasDeferredFill() && !document.isPathAt(points[0], points[1]))) {
+        document.closePath();
+        document.write("<path");
+        document.write(strokeAttributes);
+        document.write(" d=\"M");
+        document.writePoint(points[0], points[1]);
+      }
+      else if (!document.isPathAt(points[0], points[1])) {
+        document.write('M');
+        document.writePoint(points[0], points[1]);
+      }
+      document.write('L');
+      document.writePoint(points[2], points[3]);
+      document.openPath(strokeAttributes, points[2], points[3]);
+      return;
+    }
+
+    document.closePath();
+    document.write("<path");
+    document.write(strokeAttributes);
+    document.write(" d=\"");
+    document.writePathData(shape.getPathIterator(transform));
+    document.write("\"/>\n");
+  }
+
+  @Override
+  public void fill(Shape shape) {
+
+    PathIterator pathIterator = shape.getPathIterator(transform);
+    String fillAttributes = getFillAttributes(pathIterator.getWindingRule());
+
+    // shapes filled along an open line, such as markers, go into a path of their own, so that the line stays one path, even-odd fills would cancel each other out
+    if (pathIterator.getWindingRule() == PathIterator.WIND_NON_ZERO && document.startDeferredFill(fillAttributes)) {
+      document.writePathData(pathIterator);
+      document.endDeferredFill();
+      return;
+    }
+
+    document.closePath();
+    document.write("<path");
+    document.write(fillAttributes);
+    document.write(" d=\"");
+    document.writePathData(pathIterator);
+    document.write("\"/>\n");
+  }
+
+  private String getFillAttributes(int windingRule) {
+
+    StringBuilder sb = new StringBuilder();
+    sb.append(" fill=\"").append(toHex(color)).append('"');
+    if (color.getAlpha() != 255) {
+      sb.append(" fill-opacity=\"").append(formatNumber(color.getAlpha() / 255.0)).append('"');
+    }
+    if (windingRule == PathIterator.WIND_EVEN_ODD) {
+      sb.append(" fill-rule=\"evenodd\"");
+    }
+    if (!RenderingHints.VALUE_ANTIALIAS_ON.equals(renderingHints.get(RenderingHints.KEY_ANTIALIASING))) {
+      sb.append(" shape-rendering=\"crispEdges\"");
+    }
+    return sb.toString();
+  }
+
+  private String getStrokeAttributes() {
+
+    BasicStroke basicStroke = (BasicStroke) stroke;
+    StringBuilder sb = new StringBuilder();
+    sb.append(" fill=\"none\" stroke=\"").append(toHex(color)).append('"');
+    if (color.getAlpha() != 255) {
+      sb.append(" stroke-opacity=\"").append(formatNumber(color.getAlpha() / 255.0)).append('"');
+    }
+    // strokes scale with the transform
+    double scale = Math.sqrt(Math.abs(transform.getDeterminant()));
+    sb.append(" stroke-width=\"").append(formatNumber(basicStroke.getLineWidth() * scale)).append('"');
+    switch (basicStroke.getEndCap()) {
+    case BasicStroke.CAP_BUTT:
+      sb.append(" stroke-linecap=\"butt\"");
+      break;
+    case BasicStroke.CAP_ROUND:
+      sb.append(" stroke-linecap=\"round\"");
+      break;
+    default:
+      sb.append(" stroke-linecap=\"square\"");
+      break;
+    }
+    switch (basicStroke.getLineJoin()) {
+    case BasicStroke.JOIN_BEVEL:
+      sb.append(" stroke-linejoin=\"bevel\"");
+      break;
+    case BasicStroke.JOIN_ROUND:
+      sb.append(" stroke-linejoin=\"round\"");
+      break;
+    default:
+      sb.append(" stroke-miterlimit=\"").append(formatNumber(basicStroke.getMiterLimit())).append('"');
+      break;
+    }
+    float[] dashArray = basicStroke.getDashArray();
+    if (dashArray != null && dashArray.length > 0) {
+      sb.append(" stroke-dasharray=\"");
+      for (int i = 0; i < dashArray.length; i++) {
+        if (i > 0) {
+          sb.append(',');
+        }
+        sb.append(formatNumber(dashArray[i] * scale));
+      }
+      sb.append('"');
+      if (basicStroke.getDashPhase() != 0) {
+        sb.append(" stroke-dashoffset=\"").append(formatNumber(basicStroke.getDashPhase() * scale)).append('"');
+      }
+    }
+    if (!RenderingHints.VALUE_ANTIALIAS_ON.equals(renderingHints.get(RenderingHints.KEY_ANTIALIASING))) {
+      sb.append(" shape-rendering=\"crispEdges\"");
+    }
+    return sb.toString();
+  }
+
+  private void writePaintAttribute(String name, Color paintColor) {
+
+    document.write(" " + name + "=\"" + toHex(paintColor) + "\"");
+    if (paintColor.getAlpha() != 255) {
+      document.write(" " + name + "-opacity=\"" + formatNumber(paintColor.getAlpha() / 255.0) + "\"");
+    }
+  }
+
+  private void writeTransformAttribute(AffineTransform at) {
+
+    if (!at.isIdentity()) {
+      document.write(" transform=\"matrix(" + formatNumber(at.getScaleX(), 6) + " " + formatNumber(at.getShearY(), 6) + " " + formatNumber(at.getShearX(), 6) + " "
+          + formatNumber(at.getScaleY(), 6) + " " + formatNumber(at.getTranslateX(), 6) + " " + formatNumber(at.getTranslateY(), 6) + ")\"");
+    }
+  }
+
+  @Override
+  public void drawLine(int x1, int y1, int x2, int y2) {
+
+    draw(new Line2D.Double(x1, y1, x2, y2));
+  }
+
+  @Override
+  public void fillRect(int x, int y, int width, int height) {
+
+    fill(new Rectangle(x, y, width, height));
+  }
+
+  @Override
+  public void clearRect(int x, int y, int width, int height) {
+
+    Color oldColor = color;
+    setColor(background);
+    fillRect(x, y, width, height);
+    setColor(oldColor);
+  }
+
+  @Override
+  public void drawRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+
+    draw(new RoundRectangle2D.Double(x, y, width, height, arcWidth, arcHeight));
+  }
+
+  @Override
+  public void fillRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+
+    fill(new RoundRectangle2D.Double(x, y, width, height, arcWidth, arcHeight));
+  }
+
+  @Override
+  public void drawOval(int x, int y, int width, int height) {
+
+    draw(new Ellipse2D.Double(x, y, width, height));
+  }
+
+  @Override
+  public void fillOval(int x, int y, int width, int height) {
+
+    fill(new Ellipse2D.Double(x, y, width, height));
+  }
+
+  @Override
+  public void drawArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+
+    draw(new Arc2D.Double(x, y, width, height, startAngle, arcAngle, Arc2D.OPEN));
+  }
+
+  @Override
+  public void fillArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+
+    fill(new Arc2D.Double(x, y, width, height, startAngle, arcAngle, Arc2D.PIE));
+  }
+
+  @Override
+  public void drawPolyline(int[] xPoints, int[] yPoints, int nPoints) {
+
+    for (int i = 1; i < nPoints; i++) {
+      drawLine(xPoints[i - 1], yPoints[i - 1], xPoints[i], yPoints[i]);
+    }
+  }
+
+  @Override
+  public void drawPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+
+    draw(new java.awt.Polygon(xPoints, yPoints, nPoints));
+  }
+
+  @Override
+  public void fillPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+
+    fill(new java.awt.Polygon(xPoints, yPoints, nPoints));
+  }
+
+  @Override
+  public void copyArea(int x, int y, int width, int height, int dx, int dy) {
+
+    // there is nothing to copy from in a vector document
+  }
+
+  @Override
+  public boolean hit(Rectangle rect, Shape shape, boolean onStroke) {
+
+    if (onStroke) {
+      shape = stroke.createStrokedShape(shape);
+    }
+    return transform.createTransformedShape(shape).intersects(rect);
+  }
+
+  // Text /////////////////////////////////////////////////
+
+  @Override
+  public void drawString(String str, float x, float y) {
+
+    if (str == null || str.length() == 0) {
+      return;
+    }
+    document.closePath();
+    document.write("<text");
+    AffineTransform at = new AffineTransform(transform);
+    at.translate(x, y);
+    if (at.getType() == AffineTransform.TYPE_IDENTITY || at.getType() == AffineTransform.TYPE_TRANSLATION) {
+      document.write(" x=\"" + formatNumber(at.getTranslateX()) + "\" y=\"" + formatNumber(at.getTranslateY()) + "\"");
+    }
+    else {
+      writeTransformAttribute(at);
+    }
+    document.write(" font-family=\"" + escape(getFontFamily(font)) + "\" font-size=\"" + formatNumber(font.getSize2D()) + "\"");
+    if (font.isBold()) {
+      document.write(" font-weight=\"bold\"");
+    }
+    if (font.isItalic()) {
+      document.write(" font-style=\"italic\"");
+    }
+    writePaintAttribute("fill", color);
+    document.write(" xml:space=\"preserve\">");
+    document.write(escape(str));
+    document.write("</text>\n");
+  }
+
+  @Override
+  public void drawString(String str, int x, int y) {
+
+    drawString(str, (float) x, (float) y);
+  }
+
+  @Override
+  public void drawString(AttributedCharacterIterator iterator, float x, float y) {
+
+    new TextLayout(iterator, getFontRenderContext()).draw(this, x, y);
+  }
+
+  @Override
+  public void drawString(AttributedCharacterIterator iterator, int x, int y) {
+
+    drawString(iterator, (float) x, (float) y);
+  }
+
+  @Override
+  public void drawGlyphVector(GlyphVector glyphVector, float x, float y) {
+
+    fill(glyphVector.getOutline(x, y));
+  }
+
+  private static String getFontFamily(Font font) {
+
+    String family = font.getFamily();
+    if (Font.DIALOG.equals(family) || Font.SANS_SERIF.equals(family)) {
+      return "sans-serif";
+    }
+    else if (Font.DIALOG_INPUT.equals(family) || Font.MONOSPACED.equals(family)) {
+      return "monospace";
+    }
+    else if (Font.SERIF.equals(family)) {
+      return "serif";
+    }
+    return "'" + family + "', sans-serif";
+  }
+
+  @Override
+  public FontRenderContext getFontRenderContext() {
+
+    boolean isAntiAliased = RenderingHints.VALUE_TEXT_ANTIALIAS_ON.equals(renderingHints.get(RenderingHints.KEY_TEXT_ANTIALIASING));
+    boolean usesFractionalMetrics = RenderingHints.VALUE_FRACTIONALMETRICS_ON.equals(renderingHints.get(RenderingHints.KEY_FRACTIONALMETRICS));
+    return new FontRenderContext(new AffineTransform(), isAntiAliased, usesFractionalMetrics);
+  }
+
+  @Override
+  public FontMetrics getFontMetrics(Font f) {
+
+    if (scratchGraphics == null) {
+      scratchGraphics = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB).createGraphics();
+    }
+    scratchGraphics.setRenderingHints(renderingHints);
+    return scratchGraphics.getFontMetrics(f);
+  }
+
+  // Images /////////////////////////////////////////////////
+
+  @Override
+  public void drawRenderedImage(RenderedImage image, AffineTransform xform) {
+
+    BufferedImage bufferedImage;
+    if (image instanceof BufferedImage) {
+      bufferedImage = (BufferedImage) image;
+    }
+    else {
+      ColorModel colorModel = image.getColorModel();
+      bufferedImage = new BufferedImage(colorModel, image.copyData(null), colorModel.isAlphaPremultiplied(), null);
+    }
+
+    AffineTransform at = new AffineTransform(transform);
+    if (xform != null) {
+      at.concatenate(xform);
+    }
+    document.closePath();
+    document.write("<image width=\"" + bufferedImage.getWidth() + "\" height=\"" + bufferedImage.getHeight() + "\"");
+    writeTransformAttribute(at);
+    document.write(" xlink:href=\"data:image/png;base64,");
+    document.writePNG(bufferedImage);
+    document.write("\"/>\n");
+  }
+
+  @Override
+  public boolean drawImage(Image image, AffineTransform xform, ImageObserver observer) {
+
+    BufferedImage bufferedImage = toBufferedImage(image, observer);
+    if (bufferedImage == null) {
+      return false;
+    }
+    drawRenderedImage(bufferedImage, xform);
+    return true;
+  }
+
+  @Override
+  public void drawImage(BufferedImage image, BufferedImageOp op, int x, int y) {
+
+    BufferedImage filtered = op == null ? image : op.filter(image, null);
+    drawRenderedImage(filtered, AffineTransform.getTranslateInstance(x, y));
+  }
+
+  @Override
+  public boolean drawImage(Image image, int x, int y, ImageObserver observer) {
+
+    return drawImage(image, AffineTransform.getTranslateInstance(x, y), observer);
+  }
+
+  @Override
+  public boolean drawImage(Image image, int x, int y, Color bgcolor, ImageObserver observer) {
+
+    return drawImage(image, x, y, -1, -1, bgcolor, observer);
+  }
+
+  @Override
+  public boolean drawImage(Image image, int x, int y, int width, int height, ImageObserver observer) {
+
+    return drawImage(image, x, y, width, height, null, observer);
+  }
+
+  @Override
+  public boolean drawImage(Image image, int x, int y, int width, int height, Color bgcolor, ImageObserver observer) {
+
+    int imageWidth = image.getWidth(observer);
+    int imageHeight = image.getHeight(observer);
+    if (imageWidth <= 0 || imageHeight <= 0) {
+      return false;
+    }
+    if (width < 0) {
+      width = imageWidth;
+      height = imageHeight;
+    }
+    return drawImage(image, x, y, x + width, y + height, 0, 0, imageWidth, imageHeight, bgcolor, observer);
+  }
+
+  @Override
+  public boolean drawImage(Image image, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2, ImageObserver observer) {
+
+    return drawImage(image, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, null, observer);
+  }
+
+  @Override
+  public boolean drawImage(Image image, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2, Color bgcolor, ImageObserver observer) {
+
+    BufferedImage bufferedImage = toBufferedImage(image, observer);
+    if (bufferedImage == null || sx2 <= sx1 || sy2 <= sy1) {
+      return false;
+    }
+    if (bgcolor != null) {
+      Color oldColor = color;
+      setColor(bgcolor);
+      fill(new Rectangle(Math.min(dx1, dx2), Math.min(dy1, dy2), Math.abs(dx2 - dx1), Math.abs(dy2 - dy1)));
+      setColor(oldColor);
+    }
+    BufferedImage subimage = bufferedImage.getSubimage(sx1, sy1, Math.min(sx2, bufferedImage.getWidth()) - sx1, Math.min(sy2, bufferedImage.getHeight()) - sy1);
+    AffineTransform xform = AffineTransform.getTranslateInstance(dx1, dy1);
+    xform.scale((dx2 - dx1) / (double) (sx2 - sx1), (dy2 - dy1) / (double) (sy2 - sy1));
+    drawRenderedImage(subimage, xform);
+    return true;
+  }
+
+  @Override
+  public void drawRenderableImage(RenderableImage image, AffineTransform xform) {
+
+    drawRenderedImage(image.createDefaultRendering(), xform);
+  }
+
+  private static BufferedImage toBufferedImage(Image image, ImageObserver observer) {
+
+    if (image instanceof BufferedImage) {
+      return (BufferedImage) image;
+    }
+    int width = image.getWidth(observer);
+    int height = image.getHeight(observer);
+    if (width <= 0 || height <= 0) {
+      return null;
+    }
+    BufferedImage bufferedImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g = bufferedImage.createGraphics();
+    g.drawImage(image, 0, 0, observer);
+    g.dispose();
+    return bufferedImage;
+  }
+
+  // State /////////////////////////////////////////////////
+
+  @Override
+  public Graphics create() {
+
+    return new SVGGraphics2D(this);
+  }
+
+  @Override
+  public void dispose() {
+
+    if (scratchGraphics != null) {
+      scratchGraphics.dispose();
+      scratchGraphics = null;
+    }
+  }
+
+  @Override
+  public GraphicsConfiguration getDeviceConfiguration() {
+
+    return new SVGGraphicsConfiguration(document.width, document.height);
+  }
+
+  @Override
+  public Color getColor() {
+
+    return color;
+  }
+
+  @Override
+  public void setColor(Color color) {
+
+    if (color != null && !color.equals(this.color)) {
+      this.color = color;
+      strokeAttributes = null;
+    }
+  }
+
+  @Override
+  public Paint getPaint() {
+
+    return color;
+  }
+
+  @Override
+  public void setPaint(Paint paint) {
+
+    // only plain colors are exported
+    if (paint instanceof Color) {
+      setColor((Color) paint);
+    }
+  }
+
+  @Override
+  public Color getBackground() {
+
+    return background;
+  }
+
+  @Override
+  public void setBackground(Color color) {
+
+    background = color;
+  }
+
+  @Override
+  public Stroke getStroke() {
+
+    return stroke;
+  }
+
+  @Override
+  public void setStroke(Stroke stroke) {
+
+    if (stroke != null && stroke != this.stroke) {
+      this.stroke = stroke;
+      strokeAttributes = null;
+    }
+  }
+
+  @Override
+  public Font getFont() {
+
+    return font;
+  }
+
+  @Override
+  public void setFont(Font font) {
+
+    if (font != null) {
+      this.font = font;
+    }
+  }
+
+  @Override
+  public Composite getComposite() {
+
+    return composite;
+  }
+
+  @Override
+  public void setComposite(Composite composite) {
+
+    this.composite = composite;
+  }
+
+  @Override
+  public void setPaintMode() {
+
+  }
+
+  @Override
+  public void setXORMode(Color color) {
+
+    // not supported in SVG
+  }
+
+  @Override
+  public Object getRenderingHint(RenderingHints.Key hintKey) {
+
+    return renderingHints.get(hintKey);
+  }
+
+  @Override
+  public void setRenderingHint(RenderingHints.Key hintKey, Object hintValue) {
+
+    renderingHints.put(hintKey, hintValue);
+    strokeAttributes = null;
+  }
+
+  @Override
+  public RenderingHints getRenderingHints() {
+
+    return (RenderingHints) renderingHints.clone();
+  }
+
+  @Override
+  public void setRenderingHints(Map<?, ?> hints) {
+
+    renderingHints.clear();
+    renderingHints.putAll(hints);
+    strokeAttributes = null;
+  }
+
+  @Override
+  public void addRenderingHints(Map<?, ?> hints) {
+
+    renderingHints.putAll(hints);
+    strokeAttributes = null;
+  }
+
+  @Override
+  public AffineTransform getTransform() {
+
+    return new AffineTransform(transform);
+  }
+
+  @Override
+  public void setTransform(AffineTransform transform) {
+
+    this.transform = new AffineTransform(transform);
+    strokeAttributes = null;
+  }
+
+  @Override
+  public void transform(AffineTransform at) {
+
+    transform.concatenate(at);
+    strokeAttributes = null;
+  }
+
+  @Override
+  public void translate(int x, int y) {
+
+    transform.translate(x, y);
+  }
+
+  @Override
+  public void translate(double tx, double ty) {
+
+    transform.translate(tx, ty);
+  }
+
+  @Override
+  public void rotate(double theta) {
+
+    transform.rotate(theta);
+  }
+
+  @Override
+  public void rotate(double theta, double x, double y) {
+
+    transform.rotate(theta, x, y);
+  }
+
+  @Override
+  public void scale(double sx, double sy) {
+
+    transform.scale(sx, sy);
+    strokeAttributes = null;
+  }
+
+  @Override
+  public void shear(double shx, double shy) {
+
+    transform.shear(shx, shy);
+    strokeAttributes = null;
+  }
+
+  // Clip, kept for the callers but not exported /////////////////////////////////////////////////
+
+  @Override
+  public Shape getClip() {
+
+    if (clip == null) {
+      return null;
+    }
+    try {
+      return transform.createInverse().createTransformedShape(clip);
+    } catch (NoninvertibleTransformException e) {
+      return null;
+    }
+  }
+
+  @Override
+  public Rectangle getClipBounds() {
+
+    Shape userClip = getClip();
+    return userClip == null ? null : userClip.getBounds();
+  }
+
+  @Override
+  public void setClip(Shape shape) {
+
+    clip = shape == null ? null : transform.createTransformedShape(shape);
+  }
+
+  @Override
+  public void setClip(int x, int y, int width, int height) {
+
+    setClip(new Rectangle(x, y, width, height));
+  }
+
+  @Override
+  public void clip(Shape shape) {
+
+    Shape deviceShape = transform.createTransformedShape(shape);
+    if (clip == null) {
+      clip = deviceShape;
+    }
+    else {
+      java.awt.geom.Area area = new java.awt.geom.Area(clip);
+      area.intersect(new java.awt.geom.Area(deviceShape));
+      clip = area;
+    }
+  }
+
+  @Override
+  public void clipRect(int x, int y, int width, int height) {
+
+    clip(new Rectangle(x, y, width, height));
+  }
+
+  // Formatting /////////////////////////////////////////////////
+
+  private static String toHex(Color color) {
+
+    String hex = Integer.toHexString(color.getRGB() & 0xFFFFFF);
+    return "#000000".substring(0, 7 - hex.length()) + hex;
+  }
+
+  private static String formatNumber(double value) {
+
+    return formatNumber(value, 2);
+  }
+
+  private static String formatNumber(double value, int decimals) {
+
+    StringBuilder sb = new StringBuilder();
+    appendNumber(sb, value, decimals);
+    return sb.toString();
+  }
+
+  /**
+   * Appends a number rounded to the given number of decimals, without trailing zeros
+   */
+  private static void appendNumber(Appendable appendable, double value, int decimals) {
+
+    try {
+      if (Double.isNaN(value) || Double.isInfinite(value)) {
+        appendable.append('0');
+        return;
+      }
+      long scale = 1;
+      for (int i = 0; i < decimals; i++) {
+        scale *= 10;
+      }
+      long scaled = Math.round(value * scale);
+      if (scaled < 0) {
+        appendable.append('-');
+        scaled = -scaled;
+      }
+      appendable.append(Long.toString(scaled / scale));
+      long fraction = scaled % scale;
+      if (fraction != 0) {
+        appendable.append('.');
+        for (long digit = scale / 10; digit > 0 && fraction != 0; digit /= 10) {
+          appendable.append((char) ('0' + fraction / digit));
+          fraction %= digit;
+        }
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static String escape(String text) {
+
+    StringBuilder sb = new StringBuilder(text.length());
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      switch (c) {
+      case '<':
+        sb.append("&lt;");
+        break;
+      case '>':
+        sb.append("&gt;");
+        break;
+      case '&':
+        sb.append("&amp;");
+        break;
+      case '"':
+        sb.append("&quot;");
+        break;
+      default:
+        if (c < 0x20 && c != '\t' && c != '\n' && c != '\r') {
+          sb.append(' ');
+        }
+        else {
+          sb.append(c);
+        }
+        break;
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * The Writer and the path element that is still open, which lines can be appended to
+   */
+  private static class Document {
+
+    /** the length of the collected fills after which the open path is closed and they are written, which bounds the memory they take */
+    private static final int MAX_DEFERRED_FILL_LENGTH = 1 << 20;
+
+    private final Writer writer;
+    private final int width;
+    private final int height;
+
+    private IOException exception = null;
+
+    /** the stroke attributes of the open path, null if there is none */
+    private String pathStrokeAttributes = null;
+    private double pathX;
+    private double pathY;
+
+    /** the attributes of the fills collected while the path is open, null if there are none */
+    private String deferredFillAttributes = null;
+    private final StringBuilder deferredFillData = new StringBuilder();
+
+    /** receives what is written instead of the Writer while a collected fill is written, null otherwise */
+    private StringBuilder buffer = null;
+
+    private PNGEncoder pngEncoder = null;
+
+    /** holds the digits of a number while it is written */
+    private final char[] digits = new char[24];
+
+    Document(Writer writer, int width, int height) {
+
+      this.writer = writer;
+      this.width = width;
+      this.height = height;
+    }
+
+    /**
+     * @return true if a path with these stroke attributes is open, so that lines can be added to it
+     */
+    boolean isPathOpen(String strokeAttributes) {
+
+      // equal rather than the same, as the attributes are built again after the color was set for a marker
+      return strokeAttributes.equals(pathStrokeAttributes);
+    }
+
+    /**
+     * @return true if the open path ends at the given point
+     */
+    boolean isPathAt(double x, double y) {
+
+      return pathX == x && pathY == y;
+    }
+
+    void openPath(String strokeAttributes, double x, double y) {
+
+      pathStrokeAttributes = strokeAttributes;
+      pathX = x;
+      pathY = y;
+    }
+
+    /**
+     * Closes the open path and writes the fills collected along it after it
+     */
+    void closePath() {
+
+      if (pathStrokeAttributes != null) {
+        pathStrokeAttributes = null;
+        write("\"/>\n");
+      }
+      if (deferredFillAttributes != null) {
+        write("<path");
+        write(deferredFillAttributes);
+        write(" d=\"");
+        write(deferredFillData);
+        write("\"/>\n");
+        deferredFillAttributes = null;
+        deferredFillData.setLength(0);
+      }
+    }
+
+    /**
+     * Starts collecting the path data of a fill, if a path is open and the fill has the same attributes as the ones collected so far
+     * 
+     * @return true if the path data written until endDeferredFill() is collected
+     */
+    boolean startDeferredFill(String fillAttributes) {
+
+      if (pathStrokeAttributes == null || deferredFillData.length() > MAX_DEFERRED_FILL_LENGTH
+          || (deferredFillAttributes != null && !deferredFillAttributes.equals(fillAttributes))) {
+        return false;
+      }
+      deferredFillAttributes = fillAttributes;
+      buffer = deferredFillData;
+      return true;
+    }
+
+    void endDeferredFill() {
+
+      buffer = null;
+    }
+
+    boolean hasDeferredFill() {
+
+      return deferredFillAttributes != null;
+    }
+
+    void writePathData(PathIterator pathIterator) {
+
+      double[] coords = new double[6];
+      while (!pathIterator.isDone()) {
+        switch (pathIterator.currentSegment(coords)) {
+        case PathIterator.SEG_MOVETO:
+          write('M');
+          writePoint(coords[0], coords[1]);
+          break;
+        case PathIterator.SEG_LINETO:
+          write('L');
+          writePoint(coords[0], coords[1]);
+          break;
+        case PathIterator.SEG_QUADTO:
+          write('Q');
+          writePoint(coords[0], coords[1]);
+          write(' ');
+          writePoint(coords[2], coords[3]);
+          break;
+        case PathIterator.SEG_CUBICTO:
+          write('C');
+          writePoint(coords[0], coords[1]);
+          write(' ');
+          writePoint(coords[2], coords[3]);
+          write(' ');
+          writePoint(coords[4], coords[5]);
+          break;
+        default:
+          write('Z');
+          break;
+        }
+        pathIterator.next();
+      }
+    }
+
+    void writePoint(double x, double y) {
+
+      writeNumber(x);
+      write(' ');
+      writeNumber(y);
+    }
+
+    /**
+     * Writes a number rounded to hundredths, without allocating
+     */
+    private void writeNumber(double value) {
+
+      if (Double.isNaN(value) || Double.isInfinite(value)) {
+        value = 0;
+      }
+      long hundredths = Math.round(value * 100);
+      int position = digits.length;
+      boolean isNegative = hundredths < 0;
+      if (isNegative) {
+        hundredths = -hundredths;
+      }
+      int fraction = (int) (hundredths % 100);
+      if (fraction != 0) {
+        if (fraction % 10 != 0) {
+          digits[--position] = (char) ('0' + fraction % 10);
+        }
+        digits[--position] = (char) ('0' + fraction / 10);
+        digits[--position] = '.';
+      }
+      long whole = hundredths / 100;
+      do {
+        digits[--position] = (char) ('0' + whole % 10);
+        whole /= 10;
+      } while (whole > 0);
+      if (isNegative) {
+        digits[--position] = '-';
+      }
+      if (buffer != null) {
+        buffer.append(digits, position, digits.length - position);
+      }
+      else if (exception == null) {
+        try {
+          writer.write(digits, position, digits.length - position);
+        } catch (IOException e) {
+          exception = e;
+        }
+      }
+    }
+
+    /**
+     * Writes an image as base64 encoded PNG
+     */
+    void writePNG(BufferedImage bufferedImage) {
+
+      if (exception != null) {
+        return;
+      }
+      if (pngEncoder == null) {
+        pngEncoder = new PNGEncoder();
+      }
+      Base64OutputStream out = new Base64OutputStream(writer);
+      try {
+        pngEncoder.encode(bufferedImage, out);
+        out.close();
+      } catch (IOException e) {
+        exception = e;
+      }
+    }
+
+    void write(CharSequence text) {
+
+      if (buffer != null) {
+        buffer.append(text);
+      }
+      else if (exception == null) {
+        try {
+          writer.append(text);
+        } catch (IOException e) {
+          exception = e;
+        }
+      }
+    }
+
+    void write(char c) {
+
+      if (buffer != null) {
+        buffer.append(c);
+      }
+      else if (exception == null) {
+        try {
+          writer.write(c);
+        } catch (IOException e) {
+          exception = e;
+        }
+      }
+    }
+
+    void flush() {
+
+      if (exception == null) {
+        try {
+          writer.flush();
+        } catch (IOException e) {
+          exception = e;
+        }
+      }
+    }
+  }
+
+  /**
+   * Base64 encodes the bytes written to it into a Writer, close() writes the padding but does not close the Writer
+   */
+  private static class Base64OutputStream extends OutputStream {
+
+    private static final char[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+
+    private final Writer writer;
+    private final char[] buffer = new char[4096];
+    private int bufferCount = 0;
+    private int bits = 0;
+    private int bitCount = 0;
+
+    Base64OutputStream(Writer writer) {
+
+      this.writer = writer;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+
+      bits = (bits << 8) | (b & 0xFF);
+      bitCount += 8;
+      if (bitCount == 24) {
+        append(ALPHABET[(bits >>> 18) & 0x3F]);
+        append(ALPHABET[(bits >>> 12) & 0x3F]);
+        append(ALPHABET[(bits >>> 6) & 0x3F]);
+        append(ALPHABET[bits & 0x3F]);
+        bits = 0;
+        bitCount = 0;
+      }
+    }
+
+    private void append(char c) throws IOException {
+
+      if (bufferCount == buffer.length) {
+        writer.write(buffer, 0, bufferCount);
+        bufferCount = 0;
+      }
+      buffer[bufferCount++] = c;
+    }
+
+    @Override
+    public void close() throws IOException {
+
+      if (bitCount == 8) {
+        append(ALPHABET[(bits >>> 2) & 0x3F]);
+        append(ALPHABET[(bits << 4) & 0x3F]);
+        append('=');
+        append('=');
+      }
+      else if (bitCount == 16) {
+        append(ALPHABET[(bits >>> 10) & 0x3F]);
+        append(ALPHABET[(bits >>> 4) & 0x3F]);
+        append(ALPHABET[(bits << 2) & 0x3F]);
+        append('=');
+      }
+      bits = 0;
+      bitCount = 0;
+      writer.write(buffer, 0, bufferCount);
+      bufferCount = 0;
+    }
+  }
+
+  /**
+   * Reports a printer, which tells painters such as the MarkerRenderer that the output is not a raster
+   */
+  private static class SVGGraphicsConfiguration extends GraphicsConfiguration {
+
+    private final int width;
+    private final int height;
+
+    SVGGraphicsConfiguration(int width, int height) {
+
+      this.width = width;
+      this.height = height;
+    }
+
+    @Override
+    public GraphicsDevice getDevice() {
+
+      return new GraphicsDevice() {
+
+        @Override
+        public int getType() {
+
+          return GraphicsDevice.TYPE_PRINTER;
+        }
+
+        @Override
+        public String getIDstring() {
+
+          return "SVG";
+        }
+
+        @Override
+        public GraphicsConfiguration[] getConfigurations() {
+
+          return new GraphicsConfiguration[] { SVGGraphicsConfiguration.this };
+        }
+
+        @Override
+        public GraphicsConfiguration getDefaultConfiguration() {
+
+          return SVGGraphicsConfiguration.this;
+        }
+      };
+    }
+
+    @Override
+    public ColorModel getColorModel() {
+
+      return ColorModel.getRGBdefault();
+    }
+
+    @Override
+    public ColorModel getColorModel(int transparency) {
+
+      return ColorModel.getRGBdefault();
+    }
+
+    @Override
+    public AffineTransform getDefaultTransform() {
+
+      return new AffineTransform();
+    }
+
+    @Override
+    public AffineTransform getNormalizingTransform() {
+
+      return new AffineTransform();
+    }
+
+    @Override
+    public Rectangle getBounds() {
+
+      return new Rectangle(0, 0, width, height);
+    }
+  }
+}
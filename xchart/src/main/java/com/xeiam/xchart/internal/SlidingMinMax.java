@@ -0,0 +1,179 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart.internal;
+
+/**
+ * Keeps track of the min and max of a window of values where new values are added at the end and old values are evicted from the front. Each value is kept in a
+ * monotonic deque for the min and one for the max, so adding and evicting are O(1) amortized. NaN values count as values of the window but are ignored for the
+ * min and max.
+ * 
+ * @author timmolter
+ */
+public class SlidingMinMax {
+
+  private final Deque minDeque = new Deque();
+  private final Deque maxDeque = new Deque();
+
+  /** the number of values added so far, also the sequence number of the next value */
+  private long addedCount = 0;
+
+  /** the number of values evicted so far, also the sequence number of the oldest value in the window */
+  private long evictedCount = 0;
+
+  /**
+   * Adds a value
+   * 
+   * @param value
+   */
+  public void add(double value) {
+
+    add(value, value);
+  }
+
+  /**
+   * Adds a value with separate lower and upper bounds, e.g. a value with error bars
+   * 
+   * @param lower the value counting for the min
+   * @param upper the value counting for the max
+   */
+  public void add(double lower, double upper) {
+
+    long sequence = addedCount++;
+
+    if (!Double.isNaN(lower)) {
+      while (!minDeque.isEmpty() && minDeque.lastValue() >= lower) {
+        minDeque.removeLast();
+      }
+      minDeque.addLast(sequence, lower);
+    }
+    if (!Double.isNaN(upper)) {
+      while (!maxDeque.isEmpty() && maxDeque.lastValue() <= upper) {
+        maxDeque.removeLast();
+      }
+      maxDeque.addLast(sequence, upper);
+    }
+  }
+
+  /**
+   * Evicts the oldest values
+   * 
+   * @param count the number of values to evict
+   */
+  public void evict(int count) {
+
+    if (count < 0 || count > size()) {
+      throw new IllegalArgumentException("Cannot evict " + count + " of " + size() + " values!!!");
+    }
+    evictedCount += count;
+    while (!minDeque.isEmpty() && minDeque.firstSequence() < evictedCount) {
+      minDeque.removeFirst();
+    }
+    while (!maxDeque.isEmpty() && maxDeque.firstSequence() < evictedCount) {
+      maxDeque.removeFirst();
+    }
+  }
+
+  /**
+   * @return the number of values in the window
+   */
+  public int size() {
+
+    return (int) (addedCount - evictedCount);
+  }
+
+  /**
+   * @return the min of the window, or Double.MAX_VALUE if there is none
+   */
+  public double getMin() {
+
+    return minDeque.isEmpty() ? Double.MAX_VALUE : minDeque.firstValue();
+  }
+
+  /**
+   * @return the max of the window, or Double.MIN_VALUE if there is none
+   */
+  public double getMax() {
+
+    return maxDeque.isEmpty() ? Double.MIN_VALUE : maxDeque.firstValue();
+  }
+
+  /**
+   * A growable ring buffer of sequence number and value pairs
+   */
+  private static class Deque {
+
+    private long[] sequences = new long[16];
+    private double[] values = new double[16];
+    private int head = 0;
+    private int size = 0;
+
+    boolean isEmpty() {
+
+      return size == 0;
+    }
+
+    long firstSequence() {
+
+      return sequences[head];
+    }
+
+    double firstValue() {
+
+      return values[head];
+    }
+
+    double lastValue() {
+
+      return values[(head + size - 1) & (values.length - 1)];
+    }
+
+    void addLast(long sequence, double value) {
+
+      if (size == values.length) {
+        grow();
+      }
+      int index = (head + size) & (values.length - 1);
+      sequences[index] = sequence;
+      values[index] = value;
+      size++;
+    }
+
+    void removeFirst() {
+
+      head = (head + 1) & (values.length - 1);
+      size--;
+    }
+
+    void removeLast() {
+
+      size--;
+    }
+
+    private void grow() {
+
+      long[] newSequences = new long[sequences.length * 2];
+      double[] newValues = new double[values.length * 2];
+      for (int i = 0; i < size; i++) {
+        int index = (head + i) & (values.length - 1);
+        newSequences[i] = sequences[index];
+        newValues[i] = values[index];
+      }
+      sequences = newSequences;
+      values = newValues;
+      head = 0;
+    }
+  }
+}
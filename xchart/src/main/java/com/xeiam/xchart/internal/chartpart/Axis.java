@@ -16,8 +16,6 @@
 package com.xeiam.xchart.internal.chartpart;
 
 import java.awt.Graphics2D;
-import java.awt.font.FontRenderContext;
-import java.awt.font.TextLayout;
 import java.awt.geom.Rectangle2D;
 
 import com.xeiam.xchart.StyleManager.LegendPosition;
@@ -135,16 +133,15 @@ public class Axis implements ChartPart {
       // Axis title
       double titleHeight = 0.0;
       if (axisTitle.getText() != null && !axisTitle.getText().trim().equalsIgnoreCase("") && getChartPainter().getStyleManager().isXAxisTitleVisible()) {
-        TextLayout textLayout = new TextLayout(axisTitle.getText(), getChartPainter().getStyleManager().getAxisTitleFont(), new FontRenderContext(null, true, false));
-        Rectangle2D rectangle = textLayout.getBounds();
+        Rectangle2D rectangle = getChartPainter().getTextCache().getTextBounds(axisTitle.getText(), getChartPainter().getStyleManager().getAxisTitleFont(),
+            TextCache.DEFAULT_FONT_RENDER_CONTEXT);
         titleHeight = rectangle.getHeight() + getChartPainter().getStyleManager().getAxisTitlePadding();
       }
 
       // Axis tick labels
       double axisTickLabelsHeight = 0.0;
       if (getChartPainter().getStyleManager().isXAxisTicksVisible()) {
-        TextLayout textLayout = new TextLayout("0", getChartPainter().getStyleManager().getAxisTickLabelsFont(), new FontRenderContext(null, true, false));
-        Rectangle2D rectangle = textLayout.getBounds();
+        Rectangle2D rectangle = getChartPainter().getTextCache().getTextBounds("0", getChartPainter().getStyleManager().getAxisTickLabelsFont(), TextCache.DEFAULT_FONT_RENDER_CONTEXT);
         axisTickLabelsHeight = rectangle.getHeight() + getChartPainter().getStyleManager().getAxisTickPadding() + getChartPainter().getStyleManager().getAxisTickMarkLength();
       }
       return titleHeight + axisTickLabelsHeight;
@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.Map;
 
 import com.xeiam.xchart.Series;
+import com.xeiam.xchart.SeriesDataSource;
 import com.xeiam.xchart.internal.chartpart.Axis.AxisType;
 import com.xeiam.xchart.internal.style.SeriesColorMarkerLineStyleCycler;
 
@@ -119,6 +120,108 @@ public class AxisPair implements ChartPart {
       throw new IllegalArgumentException("errorbars and Y-Axis sizes are not the same!!!");
     }
 
+    return putSeries(seriesName, series);
+  }
+
+  /**
+   * Adds a Number series backed by primitive arrays. The arrays are used as is, without boxing or copying.
+   * 
+   * @param seriesName
+   * @param xData may be null, in which case the X-Axis data is generated as 1..n
+   * @param yData
+   * @param errorBars
+   * @return Series
+   */
+  public Series addSeries(String seriesName, double[] xData, double[] yData, double[] errorBars) {
+
+    checkArrays(seriesName, xData == null ? -1 : xData.length, yData, errorBars);
+
+    if (xData == null) { // generate xData
+      xData = new double[yData.length];
+      for (int i = 0; i < xData.length; i++) {
+        xData[i] = i + 1;
+      }
+    }
+    xAxis.setAxisType(AxisType.Number);
+    yAxis.setAxisType(AxisType.Number);
+    Series series = new Series(seriesName, xData, yData, errorBars, seriesColorMarkerLineStyleCycler.getNextSeriesColorMarkerLineStyle());
+
+    return putSeries(seriesName, series);
+  }
+
+  /**
+   * Adds a Date series backed by primitive arrays. The arrays are used as is, without boxing or copying.
+   * 
+   * @param seriesName
+   * @param xData the X-Axis data as epoch milliseconds
+   * @param yData
+   * @param errorBars
+   * @return Series
+   */
+  public Series addSeries(String seriesName, long[] xData, double[] yData, double[] errorBars) {
+
+    if (xData == null) {
+      throw new IllegalArgumentException("X-Axis data cannot be null!!!");
+    }
+    checkArrays(seriesName, xData.length, yData, errorBars);
+
+    xAxis.setAxisType(AxisType.Date);
+    yAxis.setAxisType(AxisType.Number);
+    Series series = new Series(seriesName, xData, yData, errorBars, seriesColorMarkerLineStyleCycler.getNextSeriesColorMarkerLineStyle());
+
+    return putSeries(seriesName, series);
+  }
+
+  /**
+   * Adds a series whose data is provided on demand by a SeriesDataSource. The points are not read here.
+   * 
+   * @param seriesName
+   * @param dataSource
+   * @return Series
+   */
+  public Series addSeries(String seriesName, SeriesDataSource dataSource) {
+
+    if (seriesName == null) {
+      throw new IllegalArgumentException("Series Name cannot be null!!!");
+    }
+    if (dataSource == null) {
+      throw new IllegalArgumentException("Series data source cannot be null!!!");
+    }
+    if (dataSource.size() == 0) {
+      throw new IllegalArgumentException("Y-Axis data cannot be empty!!!");
+    }
+
+    xAxis.setAxisType(dataSource.isDateSeries() ? AxisType.Date : AxisType.Number);
+    yAxis.setAxisType(AxisType.Number);
+    Series series = new Series(seriesName, dataSource, seriesColorMarkerLineStyleCycler.getNextSeriesColorMarkerLineStyle());
+
+    return putSeries(seriesName, series);
+  }
+
+  private void checkArrays(String seriesName, int xLength, double[] yData, double[] errorBars) {
+
+    if (seriesName == null) {
+      throw new IllegalArgumentException("Series Name cannot be null!!!");
+    }
+    if (yData == null) {
+      throw new IllegalArgumentException("Y-Axis data cannot be null!!!");
+    }
+    if (yData.length == 0) {
+      throw new IllegalArgumentException("Y-Axis data cannot be empty!!!");
+    }
+    if (xLength == 0) {
+      throw new IllegalArgumentException("X-Axis data cannot be empty!!!");
+    }
+    if (xLength > 0 && xLength != yData.length) {
+      throw new IllegalArgumentException("X and Y-Axis sizes are not the same!!!");
+    }
+    if (errorBars != null && errorBars.length != yData.length) {
+      throw new IllegalArgumentException("errorbars and Y-Axis sizes are not the same!!!");
+    }
+  }
+
+  private Series putSeries(String seriesName, Series series) {
+
     if (seriesMap.keySet().contains(seriesName)) {
       throw new IllegalArgumentException("Series name >" + seriesName + "< has already been used. Use unique names for each series!!!");
     }
@@ -128,6 +231,24 @@ public class AxisPair implements ChartPart {
     return series;
   }
 
+  /**
+   * copy the series, axis types and axis titles of another AxisPair, the Series themselves are shared
+   * 
+   * @param axisPair
+   */
+  void copyFrom(AxisPair axisPair) {
+
+    seriesMap.putAll(axisPair.seriesMap);
+    if (axisPair.xAxis.getAxisType() != null) {
+      xAxis.setAxisType(axisPair.xAxis.getAxisType());
+    }
+    if (axisPair.yAxis.getAxisType() != null) {
+      yAxis.setAxisType(axisPair.yAxis.getAxisType());
+    }
+    xAxis.getAxisTitle().setText(axisPair.xAxis.getAxisTitle().getText());
+    yAxis.getAxisTitle().setText(axisPair.yAxis.getAxisTitle().getText());
+  }
+
   @Override
   public void paint(Graphics2D g) {
 
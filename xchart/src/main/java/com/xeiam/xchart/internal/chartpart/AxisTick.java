@@ -41,6 +41,11 @@ public class AxisTick implements ChartPart {
 
   AxisTickCalculator gridStep = null;
 
+  /** the chart layout revision, working space and bar chart categories the gridStep was calculated for */
+  private int gridStepLayoutRevision;
+  private int gridStepWorkingSpace;
+  private CategoryIndex gridStepCategoryIndex;
+
   /**
    * Constructor
    * 
@@ -72,7 +77,17 @@ public class AxisTick implements ChartPart {
       // System.out.println("workingspace= " + workingSpace);
     }
 
+    // the bar chart categories depend on the series data rather than on the layout
+    CategoryIndex categoryIndex = null;
     if (axis.getDirection() == Axis.Direction.X && getChartPainter().getStyleManager().getChartType() == ChartType.Bar) {
+      categoryIndex = getChartPainter().getCategoryIndex();
+    }
+
+    if (gridStep != null && gridStepLayoutRevision == getChartPainter().getLayoutRevision() && gridStepWorkingSpace == workingSpace && gridStepCategoryIndex == categoryIndex) {
+
+      // nothing the tick locations and labels depend on has changed, reuse them
+    }
+    else if (axis.getDirection() == Axis.Direction.X && getChartPainter().getStyleManager().getChartType() == ChartType.Bar) {
 
       gridStep = new AxisTickBarChartCalculator(axis.getDirection(), workingSpace, axis.getMin(), axis.getMax(), getChartPainter());
 
@@ -97,6 +112,9 @@ public class AxisTick implements ChartPart {
       gridStep = new AxisTickDateCalculator(axis.getDirection(), workingSpace, axis.getMin(), axis.getMax(), getChartPainter().getStyleManager());
 
     }
+    gridStepLayoutRevision = getChartPainter().getLayoutRevision();
+    gridStepWorkingSpace = workingSpace;
+    gridStepCategoryIndex = categoryIndex;
 
     if (axis.getDirection() == Axis.Direction.Y && getChartPainter().getStyleManager().isYAxisTicksVisible()) {
 
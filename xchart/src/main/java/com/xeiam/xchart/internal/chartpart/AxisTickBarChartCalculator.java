@@ -15,12 +15,6 @@
  */
 package com.xeiam.xchart.internal.chartpart;
 
-import java.util.Date;
-import java.util.Iterator;
-import java.util.Set;
-import java.util.TreeSet;
-
-import com.xeiam.xchart.Series;
 import com.xeiam.xchart.internal.Utils;
 import com.xeiam.xchart.internal.chartpart.Axis.AxisType;
 import com.xeiam.xchart.internal.chartpart.Axis.Direction;
@@ -55,27 +49,8 @@ public class AxisTickBarChartCalculator extends AxisTickCalculator {
     // where the tick should begin in the working space in pixels
     int margin = Utils.getTickStartOffset(workingSpace, tickSpace); // in plot space double gridStep = getGridStepForDecimal(tickSpace);
 
-    // get all categories
-    Set<Object> categories = new TreeSet<Object>();
-    for (Series series : chartPainter.getAxisPair().getSeriesMap().values()) {
-
-      Iterator<?> xItr = series.getXData().iterator();
-      while (xItr.hasNext()) {
-        Object x = null;
-        if (chartPainter.getAxisPair().getXAxis().getAxisType() == AxisType.Number) {
-          x = xItr.next();
-        }
-        else if (chartPainter.getAxisPair().getXAxis().getAxisType() == AxisType.Date) {
-          x = (double) (((Date) xItr.next()).getTime());
-        }
-        else if (chartPainter.getAxisPair().getXAxis().getAxisType() == AxisType.String) {
-          x = xItr.next();
-        }
-        categories.add(x);
-      }
-    }
-
-    int numCategories = categories.size();
+    CategoryIndex categoryIndex = chartPainter.getCategoryIndex();
+    int numCategories = categoryIndex.size();
 
     int gridStep = (int) (tickSpace / (double) numCategories);
     int firstPosition = (int) (gridStep / 2.0);
@@ -90,8 +65,8 @@ public class AxisTickBarChartCalculator extends AxisTickCalculator {
     else if (chartPainter.getAxisPair().getXAxis().getAxisType() == AxisType.Date) {
       dateFormatter = new DateFormatter(chartPainter.getStyleManager());
     }
-    int counter = 0;
-    for (Object category : categories) {
+    for (int counter = 0; counter < numCategories; counter++) {
+      Object category = categoryIndex.getCategory(counter);
       if (chartPainter.getAxisPair().getXAxis().getAxisType() == AxisType.Number) {
         tickLabels.add(numberFormatter.formatNumber((Double) category));
       }
@@ -104,7 +79,7 @@ public class AxisTickBarChartCalculator extends AxisTickCalculator {
       else if (chartPainter.getAxisPair().getXAxis().getAxisType() == AxisType.String) {
         tickLabels.add(category.toString());
       }
-      int tickLabelPosition = margin + firstPosition + gridStep * counter++;
+      int tickLabelPosition = margin + firstPosition + gridStep * counter;
       tickLocations.add(tickLabelPosition);
     }
   }
@@ -74,8 +74,8 @@ public class AxisTickLabels implements ChartPart {
 
           FontRenderContext frc = g.getFontRenderContext();
           // TextLayout layout = new TextLayout(tickLabel, font, new FontRenderContext(null, true, false));
-          TextLayout layout = new TextLayout(tickLabel, getChartPainter().getStyleManager().getAxisTickLabelsFont(), frc);
-          Rectangle2D tickLabelBounds = layout.getBounds();
+          TextLayout layout = getChartPainter().getTextCache().getTextLayout(tickLabel, getChartPainter().getStyleManager().getAxisTickLabelsFont(), frc);
+          Rectangle2D tickLabelBounds = getChartPainter().getTextCache().getTextBounds(tickLabel, getChartPainter().getStyleManager().getAxisTickLabelsFont(), frc);
           layout.draw(g, (float) xOffset, (float) (yOffset + axisTick.getAxis().getPaintZone().getHeight() - tickLocation + tickLabelBounds.getHeight() / 2.0));
 
           if (tickLabelBounds.getWidth() > maxTickLabelWidth) {
@@ -104,8 +104,8 @@ public class AxisTickLabels implements ChartPart {
 
         if (tickLabel != null) { // some are null for logarithmic axes
           FontRenderContext frc = g.getFontRenderContext();
-          TextLayout layout = new TextLayout(tickLabel, getChartPainter().getStyleManager().getAxisTickLabelsFont(), frc);
-          Rectangle2D tickLabelBounds = layout.getBounds();
+          TextLayout layout = getChartPainter().getTextCache().getTextLayout(tickLabel, getChartPainter().getStyleManager().getAxisTickLabelsFont(), frc);
+          Rectangle2D tickLabelBounds = getChartPainter().getTextCache().getTextBounds(tickLabel, getChartPainter().getStyleManager().getAxisTickLabelsFont(), frc);
           layout.draw(g, (float) (xOffset + tickLocation - tickLabelBounds.getWidth() / 2.0), (float) yOffset);
 
           if (tickLabelBounds.getHeight() > maxTickLabelHeight) {
@@ -64,8 +64,7 @@ public class AxisTitle implements ChartPart {
       if (text != null && !text.trim().equalsIgnoreCase("") && getChartPainter().getStyleManager().isYAxisTitleVisible()) {
 
         FontRenderContext frc = g.getFontRenderContext();
-        TextLayout nonRotatedTextLayout = new TextLayout(text, getChartPainter().getStyleManager().getAxisTitleFont(), frc);
-        Rectangle2D nonRotatedRectangle = nonRotatedTextLayout.getBounds();
+        Rectangle2D nonRotatedRectangle = getChartPainter().getTextCache().getTextBounds(text, getChartPainter().getStyleManager().getAxisTitleFont(), frc);
 
         // ///////////////////////////////////////////////
 
@@ -96,8 +95,8 @@ public class AxisTitle implements ChartPart {
       if (text != null && !text.trim().equalsIgnoreCase("") && getChartPainter().getStyleManager().isXAxisTitleVisible()) {
 
         FontRenderContext frc = g.getFontRenderContext();
-        TextLayout textLayout = new TextLayout(text, getChartPainter().getStyleManager().getAxisTitleFont(), frc);
-        Rectangle2D rectangle = textLayout.getBounds();
+        TextLayout textLayout = getChartPainter().getTextCache().getTextLayout(text, getChartPainter().getStyleManager().getAxisTitleFont(), frc);
+        Rectangle2D rectangle = getChartPainter().getTextCache().getTextBounds(text, getChartPainter().getStyleManager().getAxisTitleFont(), frc);
         // System.out.println(rectangle);
 
         double xOffset = axis.getPaintZone().getX() + (axis.getPaintZone().getWidth() - rectangle.getWidth()) / 2.0;
@@ -0,0 +1,151 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart.internal.chartpart;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import com.xeiam.xchart.Series;
+
+/**
+ * The sorted categories of a bar chart, plus the Y value of every series per category, so that painting the bars and their tick labels is a walk over arrays
+ * 
+ * @author timmolter
+ */
+class CategoryIndex {
+
+  /** the categories in ascending order. Numbers and Dates are held as Doubles, Strings as themselves */
+  private final Object[] categories;
+
+  /** the Y value of each series per category ordinal, NaN where the series has no value for the category */
+  private final Map<Series, double[]> seriesValues = new IdentityHashMap<Series, double[]>();
+
+  /**
+   * Constructor
+   * 
+   * @param seriesCollection
+   */
+  CategoryIndex(Collection<Series> seriesCollection) {
+
+    // collect the distinct categories, then sort them once
+    Set<Object> distinctCategories = new HashSet<Object>();
+    for (Series series : seriesCollection) {
+      if (series.getXDataArray() != null) {
+        for (double x : series.getXDataArray()) {
+          distinctCategories.add(x);
+        }
+      }
+      else if (series.getXDateArray() != null) {
+        for (long x : series.getXDateArray()) {
+          distinctCategories.add((double) x);
+        }
+      }
+      else {
+        for (Object x : series.getXData()) {
+          distinctCategories.add(toCategory(x));
+        }
+      }
+    }
+    categories = distinctCategories.toArray();
+    Arrays.sort(categories);
+
+    Map<Object, Integer> ordinals = new HashMap<Object, Integer>(categories.length * 2);
+    for (int i = 0; i < categories.length; i++) {
+      ordinals.put(categories[i], i);
+    }
+
+    for (Series series : seriesCollection) {
+      double[] values = new double[categories.length];
+      Arrays.fill(values, Double.NaN);
+
+      double[] xDataArray = series.getXDataArray();
+      long[] xDateArray = series.getXDateArray();
+      double[] yDataArray = series.getYDataArray();
+      Iterator<?> xItr = xDataArray == null && xDateArray == null ? series.getXData().iterator() : null;
+      Iterator<? extends Number> yItr = yDataArray == null ? series.getYData().iterator() : null;
+      int size = series.getYData().size();
+      for (int i = 0; i < size; i++) {
+        Object category;
+        if (xDataArray != null) {
+          category = xDataArray[i];
+        }
+        else if (xDateArray != null) {
+          category = (double) xDateArray[i];
+        }
+        else {
+          category = toCategory(xItr.next());
+        }
+        double y;
+        if (yDataArray != null) {
+          y = yDataArray[i];
+        }
+        else {
+          Number yValue = yItr.next();
+          y = yValue == null ? Double.NaN : yValue.doubleValue();
+        }
+        values[ordinals.get(category)] = y;
+      }
+      seriesValues.put(series, values);
+    }
+  }
+
+  /**
+   * Numbers and Dates are indexed as Doubles, so that they sort and compare the same regardless of their boxed type
+   */
+  private static Object toCategory(Object x) {
+
+    if (x instanceof Number) {
+      return ((Number) x).doubleValue();
+    }
+    else if (x instanceof Date) {
+      return (double) ((Date) x).getTime();
+    }
+    return x;
+  }
+
+  /**
+   * @return the number of distinct categories
+   */
+  int size() {
+
+    return categories.length;
+  }
+
+  /**
+   * @param ordinal
+   * @return the category at the given position, a Double for Number and Date X data
+   */
+  Object getCategory(int ordinal) {
+
+    return categories[ordinal];
+  }
+
+  /**
+   * @param series
+   * @return the Y value of the series per category ordinal, NaN where the series has no value for the category
+   */
+  double[] getValues(Series series) {
+
+    return seriesValues.get(series);
+  }
+}
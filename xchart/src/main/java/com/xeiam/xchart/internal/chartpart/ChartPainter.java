@@ -19,9 +19,15 @@ import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.Shape;
 import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
 import com.xeiam.xchart.Series;
 import com.xeiam.xchart.StyleManager;
+import com.xeiam.xchart.internal.markers.MarkerRenderer;
 
 /**
  * @author timmolter
@@ -39,6 +45,23 @@ public class ChartPainter {
   private Plot plot;
   private ChartTitle chartTitle;
 
+  private final MarkerRenderer markerRenderer = new MarkerRenderer();
+
+  private final TextCache textCache = new TextCache();
+
+  /** the series and their extrema mod counts at the time the axis min and max were last calculated */
+  private final Map<Series, Integer> seriesExtremaModCounts = new IdentityHashMap<Series, Integer>();
+
+  /** the bar chart categories, and the series and their data mod counts at the time it was built */
+  private CategoryIndex categoryIndex = null;
+  private final Map<Series, Integer> categoryIndexDataModCounts = new IdentityHashMap<Series, Integer>();
+
+  /** everything the layout of the chart parts depends on, at the time of the last paint */
+  private List<Object> layoutKey = null;
+
+  /** incremented whenever the layout key changes, so that chart parts can reuse their layout as long as it stays the same */
+  private int layoutRevision = 0;
+
   /**
    * Constructor
    * 
@@ -58,6 +81,27 @@ public class ChartPainter {
     chartTitle = new ChartTitle(this);
   }
 
+  /**
+   * Constructor - a ChartPainter sharing the style and series of another ChartPainter, with chart parts of its own, so that both can paint at the same time as
+   * long as neither is changed
+   * 
+   * @param chartPainter
+   */
+  public ChartPainter(ChartPainter chartPainter) {
+
+    this.width = chartPainter.width;
+    this.height = chartPainter.height;
+
+    styleManager = chartPainter.styleManager;
+
+    chartLegend = new Legend(this);
+    axisPair = new AxisPair(this);
+    axisPair.copyFrom(chartPainter.axisPair);
+    plot = new Plot(this);
+    chartTitle = new ChartTitle(this);
+    chartTitle.copyFrom(chartPainter.chartTitle);
+  }
+
   /**
    * @param g
    * @param width
@@ -75,19 +119,23 @@ public class ChartPainter {
    */
   public void paint(Graphics2D g) {
 
-    // calc axis min and max
-    axisPair.getXAxis().resetMinMax();
-    axisPair.getYAxis().resetMinMax();
-
-    for (Series series : getAxisPair().getSeriesMap().values()) {
-      // add min/max to axis
-      // System.out.println(series.getxMin());
-      // System.out.println(series.getxMax());
-      // System.out.println(series.getyMin());
-      // System.out.println(series.getyMax());
-      // System.out.println("****");
-      axisPair.getXAxis().addMinMax(series.getXMin(), series.getXMax());
-      axisPair.getYAxis().addMinMax(series.getYMin(), series.getYMax());
+    // calc axis min and max, only if a series was added or the extrema of a series changed
+    if (isAxisMinMaxStale()) {
+      axisPair.getXAxis().resetMinMax();
+      axisPair.getYAxis().resetMinMax();
+      seriesExtremaModCounts.clear();
+
+      for (Series series : getAxisPair().getSeriesMap().values()) {
+        // add min/max to axis
+        // System.out.println(series.getxMin());
+        // System.out.println(series.getxMax());
+        // System.out.println(series.getyMin());
+        // System.out.println(series.getyMax());
+        // System.out.println("****");
+        axisPair.getXAxis().addMinMax(series.getXMin(), series.getXMax());
+        axisPair.getYAxis().addMinMax(series.getYMin(), series.getYMax());
+        seriesExtremaModCounts.put(series, series.getExtremaModCount());
+      }
     }
 
     // Sanity checks
@@ -102,6 +150,12 @@ public class ChartPainter {
       throw new IllegalArgumentException("Series data (accounting for error bars too) cannot be less or equal to zero for a logarithmic Y-Axis!!!");
     }
 
+    List<Object> newLayoutKey = getLayoutKey();
+    if (!newLayoutKey.equals(layoutKey)) {
+      layoutKey = newLayoutKey;
+      layoutRevision++;
+    }
+
     g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON); // global rendering hint
     g.setColor(styleManager.getChartBackgroundColor());
     Shape rect = new Rectangle2D.Double(0, 0, width, height);
@@ -115,6 +169,35 @@ public class ChartPainter {
     g.dispose();
   }
 
+  /**
+   * @return true if the series or their extrema changed since the axis min and max were last calculated
+   */
+  private boolean isAxisMinMaxStale() {
+
+    Map<String, Series> seriesMap = getAxisPair().getSeriesMap();
+    if (seriesMap.isEmpty() || seriesMap.size() != seriesExtremaModCounts.size()) {
+      return true;
+    }
+    for (Series series : seriesMap.values()) {
+      Integer extremaModCount = seriesExtremaModCounts.get(series);
+      if (extremaModCount == null || extremaModCount != series.getExtremaModCount()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return the chart size, style revision, titles, series names and axis ranges, which together determine the layout of the chart parts
+   */
+  private List<Object> getLayoutKey() {
+
+    Axis xAxis = axisPair.getXAxis();
+    Axis yAxis = axisPair.getYAxis();
+    return Arrays.<Object> asList(width, height, styleManager.getRevision(), chartTitle.getText(), xAxis.getAxisTitle().getText(), yAxis.getAxisTitle().getText(),
+        new ArrayList<String>(axisPair.getSeriesMap().keySet()), xAxis.getAxisType(), xAxis.getMin(), xAxis.getMax(), yAxis.getAxisType(), yAxis.getMin(), yAxis.getMax());
+  }
+
   /**
    * for internal usage
    * 
@@ -155,6 +238,52 @@ public class ChartPainter {
     return plot;
   }
 
+  /**
+   * for internal usage
+   * 
+   * @return the MarkerRenderer caching the Marker images of this Chart
+   */
+  public MarkerRenderer getMarkerRenderer() {
+
+    return markerRenderer;
+  }
+
+  TextCache getTextCache() {
+
+    return textCache;
+  }
+
+  /**
+   * @return the bar chart category index, rebuilt only if a series was added or the data of a series changed
+   */
+  CategoryIndex getCategoryIndex() {
+
+    Map<String, Series> seriesMap = getAxisPair().getSeriesMap();
+    boolean isStale = categoryIndex == null || seriesMap.size() != categoryIndexDataModCounts.size();
+    if (!isStale) {
+      for (Series series : seriesMap.values()) {
+        Integer dataModCount = categoryIndexDataModCounts.get(series);
+        if (dataModCount == null || dataModCount != series.getDataModCount()) {
+          isStale = true;
+          break;
+        }
+      }
+    }
+    if (isStale) {
+      categoryIndex = new CategoryIndex(seriesMap.values());
+      categoryIndexDataModCounts.clear();
+      for (Series series : seriesMap.values()) {
+        categoryIndexDataModCounts.put(series, series.getDataModCount());
+      }
+    }
+    return categoryIndex;
+  }
+
+  int getLayoutRevision() {
+
+    return layoutRevision;
+  }
+
   public int getWidth() {
 
     return width;
@@ -62,6 +62,21 @@ public class ChartTitle implements ChartPart {
     this.text = text;
   }
 
+  public String getText() {
+
+    return text;
+  }
+
+  /**
+   * copy the text of another chart title, without changing the title visibility as setText(..) does
+   * 
+   * @param chartTitle
+   */
+  void copyFrom(ChartTitle chartTitle) {
+
+    this.text = chartTitle.text;
+  }
+
   /**
    * get the height of the chart title including the chart padding
    * 
@@ -71,8 +86,7 @@ public class ChartTitle implements ChartPart {
 
     if (chartPainter.getStyleManager().isChartTitleVisible()) {
 
-      TextLayout textLayout = new TextLayout(text, chartPainter.getStyleManager().getChartTitleFont(), new FontRenderContext(null, true, false));
-      Rectangle2D rectangle = textLayout.getBounds();
+      Rectangle2D rectangle = chartPainter.getTextCache().getTextBounds(text, chartPainter.getStyleManager().getChartTitleFont(), TextCache.DEFAULT_FONT_RENDER_CONTEXT);
       int titleHeight = (int) ((chartPainter.getStyleManager().isChartTitleVisible() ? rectangle.getHeight() : 0));
       return chartPainter.getStyleManager().getChartPadding() + 2 * chartPainter.getStyleManager().getChartTitlePadding() + titleHeight;
     }
@@ -90,8 +104,8 @@ public class ChartTitle implements ChartPart {
 
       // create rectangle first for sizing
       FontRenderContext frc = g.getFontRenderContext();
-      TextLayout textLayout = new TextLayout(text, chartPainter.getStyleManager().getChartTitleFont(), frc);
-      Rectangle2D rectangle = textLayout.getBounds();
+      TextLayout textLayout = chartPainter.getTextCache().getTextLayout(text, chartPainter.getStyleManager().getChartTitleFont(), frc);
+      Rectangle2D rectangle = chartPainter.getTextCache().getTextBounds(text, chartPainter.getStyleManager().getChartTitleFont(), frc);
 
       int xOffset = (int) chartPainter.getPlot().getBounds().getX();
       int yOffset = chartPainter.getStyleManager().getChartPadding();
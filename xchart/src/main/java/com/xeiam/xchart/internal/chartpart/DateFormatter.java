@@ -16,8 +16,14 @@
 package com.xeiam.xchart.internal.chartpart;
 
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.TimeZone;
 import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
 
@@ -36,7 +42,35 @@ public class DateFormatter {
   public static final long MONTH_SCALE = TimeUnit.DAYS.toMillis(1L) * 31;
   public static final long YEAR_SCALE = TimeUnit.DAYS.toMillis(1L) * 365;
 
-  private Map<Long, int[]> validTickStepsMap;
+  private static final Map<Long, int[]> validTickStepsMap;
+
+  static {
+
+    Map<Long, int[]> map = new TreeMap<Long, int[]>();
+    map.put(MILLIS_SCALE, new int[] { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000 });
+    map.put(SEC_SCALE, new int[] { 1, 2, 5, 10, 15, 20, 30, 60 });
+    map.put(MIN_SCALE, new int[] { 1, 2, 3, 5, 10, 15, 20, 30, 60 });
+    map.put(HOUR_SCALE, new int[] { 1, 2, 4, 6, 12, 24 });
+    map.put(DAY_SCALE, new int[] { 1, 2, 3, 5, 10, 15, 31 });
+    map.put(MONTH_SCALE, new int[] { 1, 2, 3, 4, 6, 12 });
+    map.put(YEAR_SCALE, new int[] { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000 });
+    validTickStepsMap = Collections.unmodifiableMap(map);
+  }
+
+  private static final int MAX_CACHE_SIZE = 64;
+
+  /**
+   * the compiled formats per pattern, locale and time zone. SimpleDateFormat is not thread-safe, so each thread gets its own cache, which keeps concurrent
+   * renders from sharing a format.
+   */
+  private static final ThreadLocal<Map<List<Object>, SimpleDateFormat>> SIMPLE_DATE_FORMATS = new ThreadLocal<Map<List<Object>, SimpleDateFormat>>() {
+
+    @Override
+    protected Map<List<Object>, SimpleDateFormat> initialValue() {
+
+      return new HashMap<List<Object>, SimpleDateFormat>();
+    }
+  };
 
   private final StyleManager styleManager;
 
@@ -46,15 +80,6 @@ public class DateFormatter {
   public DateFormatter(StyleManager styleManager) {
 
     this.styleManager = styleManager;
-
-    validTickStepsMap = new TreeMap<Long, int[]>();
-    validTickStepsMap.put(MILLIS_SCALE, new int[] { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000 });
-    validTickStepsMap.put(SEC_SCALE, new int[] { 1, 2, 5, 10, 15, 20, 30, 60 });
-    validTickStepsMap.put(MIN_SCALE, new int[] { 1, 2, 3, 5, 10, 15, 20, 30, 60 });
-    validTickStepsMap.put(HOUR_SCALE, new int[] { 1, 2, 4, 6, 12, 24 });
-    validTickStepsMap.put(DAY_SCALE, new int[] { 1, 2, 3, 5, 10, 15, 31 });
-    validTickStepsMap.put(MONTH_SCALE, new int[] { 1, 2, 3, 4, 6, 12 });
-    validTickStepsMap.put(YEAR_SCALE, new int[] { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000 });
   }
 
   /**
@@ -115,13 +140,37 @@ public class DateFormatter {
       datePattern = styleManager.getDatePattern();
     }
 
-    SimpleDateFormat simpleDateformat = new SimpleDateFormat(datePattern, styleManager.getLocale());
-    simpleDateformat.setTimeZone(styleManager.getTimezone());
-    simpleDateformat.applyPattern(datePattern);
+    SimpleDateFormat simpleDateformat = getSimpleDateFormat(datePattern, styleManager.getLocale(), styleManager.getTimezone());
 
     return simpleDateformat.format(value);
   }
 
+  /**
+   * Get the calling thread's SimpleDateFormat for the given pattern, locale and time zone, creating it on first use
+   * 
+   * @param pattern
+   * @param locale
+   * @param timeZone
+   * @return
+   */
+  private static SimpleDateFormat getSimpleDateFormat(String pattern, Locale locale, TimeZone timeZone) {
+
+    Map<List<Object>, SimpleDateFormat> simpleDateFormats = SIMPLE_DATE_FORMATS.get();
+    List<Object> key = Arrays.<Object> asList(pattern, locale, timeZone);
+    SimpleDateFormat simpleDateFormat = simpleDateFormats.get(key);
+    if (simpleDateFormat == null) {
+      if (simpleDateFormats.size() >= MAX_CACHE_SIZE) {
+        simpleDateFormats.clear();
+      }
+      // TimeZone is mutable, so hold on to a copy of it
+      TimeZone timeZoneCopy = (TimeZone) timeZone.clone();
+      simpleDateFormat = new SimpleDateFormat(pattern, locale);
+      simpleDateFormat.setTimeZone(timeZoneCopy);
+      simpleDateFormats.put(Arrays.<Object> asList(pattern, locale, timeZoneCopy), simpleDateFormat);
+    }
+    return simpleDateFormat;
+  }
+
   Map<Long, int[]> getValidTickStepsMap() {
 
     return validTickStepsMap;
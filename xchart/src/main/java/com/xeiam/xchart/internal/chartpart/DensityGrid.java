@@ -0,0 +1,116 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart.internal.chartpart;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+/**
+ * Counts the points of a series per pixel of the plot and paints the counts as a single image. The color ramp goes from a faint to the full given
+ * color, on a logarithmic scale of the count, so single points stay visible next to dense clusters.
+ * 
+ * @author timmolter
+ */
+class DensityGrid {
+
+  /** the alpha of pixels containing a single point, out of 255 */
+  private static final int MIN_ALPHA = 48;
+
+  private final int left;
+  private final int top;
+  private final int width;
+  private final int height;
+
+  private final int[] counts;
+
+  private int maxCount = 0;
+
+  /**
+   * Constructor
+   * 
+   * @param bounds the bounds of the plot
+   */
+  DensityGrid(Rectangle2D bounds) {
+
+    left = (int) Math.floor(bounds.getX());
+    top = (int) Math.floor(bounds.getY());
+    width = Math.max(1, (int) Math.ceil(bounds.getX() + bounds.getWidth()) - left);
+    height = Math.max(1, (int) Math.ceil(bounds.getY() + bounds.getHeight()) - top);
+    counts = new int[width * height];
+  }
+
+  /**
+   * Adds a point, points outside of the plot are ignored
+   * 
+   * @param xOffset
+   * @param yOffset
+   */
+  void add(double xOffset, double yOffset) {
+
+    double column = Math.floor(xOffset) - left;
+    double row = Math.floor(yOffset) - top;
+    if (!(column >= 0 && column < width && row >= 0 && row < height)) {
+      return; // also catches NaN
+    }
+    int index = (int) row * width + (int) column;
+    int count = ++counts[index];
+    if (count > maxCount) {
+      maxCount = count;
+    }
+  }
+
+  /**
+   * Paints the counted points
+   * 
+   * @param g
+   * @param color the color of the densest pixels
+   */
+  void paint(Graphics2D g, Color color) {
+
+    if (maxCount == 0) {
+      return;
+    }
+
+    // premultiplied colors for each alpha level
+    int[] ramp = new int[256];
+    int red = color.getRed();
+    int green = color.getGreen();
+    int blue = color.getBlue();
+    for (int alpha = 0; alpha < ramp.length; alpha++) {
+      int a = alpha * color.getAlpha() / 255;
+      ramp[alpha] = (a << 24) | ((red * a / 255) << 16) | ((green * a / 255) << 8) | (blue * a / 255);
+    }
+
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+    int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    double logMaxCount = Math.log(maxCount);
+    for (int i = 0; i < counts.length; i++) {
+      int count = counts[i];
+      if (count > 0) {
+        int alpha = MIN_ALPHA;
+        if (logMaxCount > 0.0) {
+          alpha += (int) ((255 - MIN_ALPHA) * Math.log(count) / logMaxCount);
+        }
+        pixels[i] = ramp[alpha];
+      }
+    }
+
+    g.drawImage(image, left, top, null);
+  }
+}
@@ -16,13 +16,16 @@
 package com.xeiam.xchart.internal.chartpart;
 
 import java.awt.BasicStroke;
+import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics2D;
 import java.awt.Shape;
+import java.awt.font.FontRenderContext;
 import java.awt.geom.Line2D;
 import java.awt.geom.Rectangle2D;
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -49,6 +52,10 @@ public class Legend implements ChartPart {
    */
   private Rectangle2D bounds;
 
+  /** the size hints per font and font render context, valid for the chart layout revision they were calculated for */
+  private final Map<Map.Entry<Font, FontRenderContext>, double[]> sizeHints = new HashMap<Map.Entry<Font, FontRenderContext>, double[]>();
+  private int sizeHintsLayoutRevision;
+
   /**
    * Constructor
    * 
@@ -71,6 +78,21 @@ public class Legend implements ChartPart {
       return new double[] { 0, 0 };
     }
 
+    if (sizeHintsLayoutRevision != chartPainter.getLayoutRevision()) {
+      sizeHints.clear();
+      sizeHintsLayoutRevision = chartPainter.getLayoutRevision();
+    }
+    Map.Entry<Font, FontRenderContext> sizeHintKey = new AbstractMap.SimpleEntry<Font, FontRenderContext>(g.getFont(), g.getFontRenderContext());
+    double[] sizeHint = sizeHints.get(sizeHintKey);
+    if (sizeHint == null) {
+      sizeHint = calculateSizeHint(g);
+      sizeHints.put(sizeHintKey, sizeHint);
+    }
+    return sizeHint;
+  }
+
+  private double[] calculateSizeHint(Graphics2D g) {
+
     StyleManager styleManager = getChartPainter().getStyleManager();
     FontMetrics fontMetrics = g.getFontMetrics(chartPainter.getStyleManager().getLegendFont());
     boolean isBar = styleManager.getChartType() == ChartType.Bar;
@@ -116,10 +138,10 @@ public class Legend implements ChartPart {
 
   private List<Map.Entry<String, Rectangle2D>> getSeriesBounds(Series series, Graphics2D g) {
 
-    String lines[] = series.getName().split("\\n");
+    String lines[] = chartPainter.getTextCache().getLines(series.getName());
     List<Map.Entry<String, Rectangle2D>> stringBounds = new ArrayList<Map.Entry<String, Rectangle2D>>(lines.length);
     for (String line : lines) {
-      Rectangle2D bounds = g.getFontMetrics().getStringBounds(line, g);
+      Rectangle2D bounds = chartPainter.getTextCache().getStringBounds(line, g.getFont(), g.getFontRenderContext());
       stringBounds.add(new AbstractMap.SimpleEntry<String, Rectangle2D>(line, bounds));
     }
     return stringBounds;
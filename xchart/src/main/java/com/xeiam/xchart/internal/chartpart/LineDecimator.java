@@ -0,0 +1,129 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart.internal.chartpart;
+
+/**
+ * Reduces consecutive points that fall into the same pixel column to the column's first, min, max and last points and passes them on to another LineSink. The
+ * resulting line looks the same as the full line but has at most four points per pixel column.
+ * 
+ * @author timmolter
+ */
+class LineDecimator implements LineSink {
+
+  private final LineSink sink;
+
+  private boolean hasColumn = false;
+  private long column;
+
+  /** number of points in the current column minus one, i.e. the index of the last point */
+  private int lastIndex;
+
+  private double firstX;
+  private double firstY;
+  private double minX;
+  private double minY;
+  private int minIndex;
+  private double maxX;
+  private double maxY;
+  private int maxIndex;
+  private double lastX;
+  private double lastY;
+
+  /**
+   * Constructor
+   * 
+   * @param sink the LineSink receiving the decimated points
+   */
+  LineDecimator(LineSink sink) {
+
+    this.sink = sink;
+  }
+
+  @Override
+  public void lineTo(double x, double y) {
+
+    // Math.floor(x), without the call it is not always compiled away from
+    long pointColumn = (long) x;
+    if (x < pointColumn) {
+      pointColumn--;
+    }
+
+    if (hasColumn && pointColumn == column) {
+      lastIndex++;
+      if (y < minY) {
+        minX = x;
+        minY = y;
+        minIndex = lastIndex;
+      }
+      if (y > maxY) {
+        maxX = x;
+        maxY = y;
+        maxIndex = lastIndex;
+      }
+      lastX = x;
+      lastY = y;
+      return;
+    }
+
+    flush();
+
+    hasColumn = true;
+    column = pointColumn;
+    lastIndex = 0;
+    firstX = minX = maxX = lastX = x;
+    firstY = minY = maxY = lastY = y;
+    minIndex = maxIndex = 0;
+  }
+
+  @Override
+  public void lineBreak() {
+
+    flush();
+    sink.lineBreak();
+  }
+
+  /**
+   * Passes the current column on, keeping the min and max in the order they occurred
+   */
+  private void flush() {
+
+    if (!hasColumn) {
+      return;
+    }
+
+    sink.lineTo(firstX, firstY);
+    if (minIndex < maxIndex) {
+      emitInner(minX, minY, minIndex);
+      emitInner(maxX, maxY, maxIndex);
+    }
+    else {
+      emitInner(maxX, maxY, maxIndex);
+      emitInner(minX, minY, minIndex);
+    }
+    if (lastIndex > 0) {
+      sink.lineTo(lastX, lastY);
+    }
+    hasColumn = false;
+  }
+
+  private void emitInner(double x, double y, int index) {
+
+    // the first and last points are always emitted
+    if (index > 0 && index < lastIndex) {
+      sink.lineTo(x, y);
+    }
+  }
+}
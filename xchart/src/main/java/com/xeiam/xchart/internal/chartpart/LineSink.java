@@ -0,0 +1,37 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart.internal.chartpart;
+
+/**
+ * Receives the points of a series' line in plot space, i.e. pixels
+ * 
+ * @author timmolter
+ */
+interface LineSink {
+
+  /**
+   * Continues the line to the given point
+   * 
+   * @param x
+   * @param y
+   */
+  void lineTo(double x, double y);
+
+  /**
+   * Ends the current line, i.e. at a gap in the data or at the end of the series
+   */
+  void lineBreak();
+}
@@ -17,6 +17,11 @@ package com.xeiam.xchart.internal.chartpart;
 
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 import com.xeiam.xchart.StyleManager;
 
@@ -25,6 +30,21 @@ import com.xeiam.xchart.StyleManager;
  */
 public class NumberFormatter {
 
+  private static final int MAX_CACHE_SIZE = 64;
+
+  /**
+   * the compiled formats per pattern and locale. DecimalFormat is not thread-safe, so each thread gets its own cache, which keeps concurrent renders from sharing a
+   * format.
+   */
+  private static final ThreadLocal<Map<List<Object>, DecimalFormat>> DECIMAL_FORMATS = new ThreadLocal<Map<List<Object>, DecimalFormat>>() {
+
+    @Override
+    protected Map<List<Object>, DecimalFormat> initialValue() {
+
+      return new HashMap<List<Object>, DecimalFormat>();
+    }
+  };
+
   private final StyleManager styleManager;
 
   /**
@@ -43,24 +63,43 @@ public class NumberFormatter {
    */
   public String formatNumber(double value) {
 
-    NumberFormat numberFormat = NumberFormat.getNumberInstance(styleManager.getLocale());
-
     double absoluteValue = Math.abs(value);
 
     if (absoluteValue < 10000.000001 && absoluteValue > .0009999999 || value == 0) {
 
-      DecimalFormat normalFormat = (DecimalFormat) numberFormat;
-      normalFormat.applyPattern(styleManager.getNormalDecimalPattern());
+      DecimalFormat normalFormat = getDecimalFormat(styleManager.getNormalDecimalPattern(), styleManager.getLocale());
       return normalFormat.format(value);
 
     }
     else {
 
-      DecimalFormat scientificFormat = (DecimalFormat) numberFormat;
-      scientificFormat.applyPattern(styleManager.getScientificDecimalPattern());
+      DecimalFormat scientificFormat = getDecimalFormat(styleManager.getScientificDecimalPattern(), styleManager.getLocale());
       return scientificFormat.format(value);
 
     }
 
   }
+
+  /**
+   * Get the calling thread's DecimalFormat for the given pattern and locale, creating it on first use
+   * 
+   * @param pattern
+   * @param locale
+   * @return
+   */
+  private static DecimalFormat getDecimalFormat(String pattern, Locale locale) {
+
+    Map<List<Object>, DecimalFormat> decimalFormats = DECIMAL_FORMATS.get();
+    List<Object> key = Arrays.<Object> asList(pattern, locale);
+    DecimalFormat decimalFormat = decimalFormats.get(key);
+    if (decimalFormat == null) {
+      if (decimalFormats.size() >= MAX_CACHE_SIZE) {
+        decimalFormats.clear();
+      }
+      decimalFormat = (DecimalFormat) NumberFormat.getNumberInstance(locale);
+      decimalFormat.applyPattern(pattern);
+      decimalFormats.put(key, decimalFormat);
+    }
+    return decimalFormat;
+  }
 }
@@ -18,10 +18,6 @@ package com.xeiam.xchart.internal.chartpart;
 import java.awt.Graphics2D;
 import java.awt.geom.Path2D;
 import java.awt.geom.Rectangle2D;
-import java.util.Collection;
-import java.util.Iterator;
-import java.util.Set;
-import java.util.TreeSet;
 
 import com.xeiam.xchart.Series;
 import com.xeiam.xchart.internal.Utils;
@@ -54,26 +50,14 @@ public class PlotContentBarChart extends PlotContent {
     int yTickSpace = Utils.getTickSpace((int) bounds.getHeight());
     int yTopMargin = Utils.getTickStartOffset((int) bounds.getHeight(), yTickSpace);
 
-    // get all categories
-    Set<Object> categories = new TreeSet<Object>();
-    for (Series series : getChartPainter().getAxisPair().getSeriesMap().values()) {
-
-      Iterator<?> xItr = series.getXData().iterator();
-      while (xItr.hasNext()) {
-        categories.add(xItr.next());
-      }
-    }
-    int numBars = categories.size();
+    CategoryIndex categoryIndex = getChartPainter().getCategoryIndex();
+    int numBars = categoryIndex.size();
     int gridStep = (int) (xTickSpace / (double) numBars);
 
     // plot series
     int seriesCounter = 0;
     for (Series series : getChartPainter().getAxisPair().getSeriesMap().values()) {
 
-      // data points
-      Collection<?> xData = series.getXData();
-
-      Collection<? extends Number> yData = series.getYData();
       double yMin = getChartPainter().getAxisPair().getYAxis().getMin();
       double yMax = getChartPainter().getAxisPair().getYAxis().getMax();
 
@@ -117,15 +101,14 @@ public class PlotContentBarChart extends PlotContent {
       // System.out.println(yMin);
       // System.out.println(yMax);
 
-      Iterator<?> categoryItr = categories.iterator();
-      Iterator<? extends Number> yItr = yData.iterator();
+      // the Y value per category, NaN where this series has no bar
+      double[] values = categoryIndex.getValues(series);
 
-      int barCounter = 0;
-      while (categoryItr.hasNext()) {
+      for (int barCounter = 0; barCounter < numBars; barCounter++) {
 
-        if (xData.contains(categoryItr.next())) {
+        double y = values[barCounter];
+        if (!Double.isNaN(y)) {
 
-          double y = ((Number) yItr.next()).doubleValue();
           if (getChartPainter().getStyleManager().isYAxisLogarithmic()) {
             y = Math.log10(y);
           }
@@ -166,7 +149,7 @@ public class PlotContentBarChart extends PlotContent {
           // paint bar
           double barWidth = gridStep / getChartPainter().getAxisPair().getSeriesMap().size() / 1.1;
           double barMargin = gridStep * .05;
-          double xOffset = bounds.getX() + xLeftMargin + gridStep * barCounter++ + seriesCounter * barWidth + barMargin;
+          double xOffset = bounds.getX() + xLeftMargin + gridStep * barCounter + seriesCounter * barWidth + barMargin;
           g.setColor(series.getStrokeColor());
 
           Path2D.Double path = new Path2D.Double();
@@ -178,9 +161,6 @@ public class PlotContentBarChart extends PlotContent {
           g.fill(path);
 
         }
-        else {
-          barCounter++;
-        }
       }
       seriesCounter++;
     }
@@ -15,25 +15,35 @@
  */
 package com.xeiam.xchart.internal.chartpart;
 
+import java.awt.BasicStroke;
+import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Shape;
+import java.awt.Stroke;
 import java.awt.geom.Line2D;
 import java.awt.geom.Path2D;
 import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.Iterator;
 
 import com.xeiam.xchart.Series;
+import com.xeiam.xchart.SeriesDataSource;
+import com.xeiam.xchart.StyleManager;
 import com.xeiam.xchart.StyleManager.ChartType;
+import com.xeiam.xchart.internal.LODPyramid;
 import com.xeiam.xchart.internal.Utils;
-import com.xeiam.xchart.internal.chartpart.Axis.AxisType;
+import com.xeiam.xchart.internal.markers.MarkerRenderer;
 
 /**
  * @author timmolter
  */
 public class PlotContentLineChart extends PlotContent {
 
+  /** the number of points read, transformed and painted at a time */
+  private static final int CHUNK_SIZE = 4096;
+
   /**
    * Constructor
    * 
@@ -48,6 +58,7 @@ public class PlotContentLineChart extends PlotContent {
   public void paint(Graphics2D g) {
 
     Rectangle2D bounds = plot.getBounds();
+    StyleManager styleManager = getChartPainter().getStyleManager();
 
     // X-Axis
     int xTickSpace = Utils.getTickSpace((int) bounds.getWidth());
@@ -57,210 +68,763 @@ public class PlotContentLineChart extends PlotContent {
     int yTickSpace = Utils.getTickSpace((int) bounds.getHeight());
     int yTopMargin = Utils.getTickStartOffset((int) bounds.getHeight(), yTickSpace);
 
+    // data points
+    double xMin = getChartPainter().getAxisPair().getXAxis().getMin();
+    double xMax = getChartPainter().getAxisPair().getXAxis().getMax();
+
+    double yMin = getChartPainter().getAxisPair().getYAxis().getMin();
+    double yMax = getChartPainter().getAxisPair().getYAxis().getMax();
+
+    // override min and maxValue if specified
+    if (styleManager.getXAxisMin() != null) {
+      xMin = styleManager.getXAxisMin();
+    }
+    if (styleManager.getYAxisMin() != null) {
+      yMin = styleManager.getYAxisMin();
+    }
+    if (styleManager.getXAxisMax() != null) {
+      xMax = styleManager.getXAxisMax();
+    }
+    if (styleManager.getYAxisMax() != null) {
+      yMax = styleManager.getYAxisMax();
+    }
+
+    double visibleXMin = xMin;
+    double visibleXMax = xMax;
+
+    // logarithmic
+    if (styleManager.isXAxisLogarithmic()) {
+      xMin = Math.log10(xMin);
+      xMax = Math.log10(xMax);
+    }
+    if (styleManager.isYAxisLogarithmic()) {
+      yMin = Math.log10(yMin);
+      yMax = Math.log10(yMax);
+    }
+
+    PointTransform transform = new PointTransform(bounds, styleManager.isXAxisLogarithmic(), xMin, xMax, xLeftMargin, xTickSpace, styleManager.isYAxisLogarithmic(), yMin,
+        yMax, yTopMargin, yTickSpace);
+
+    ChartType chartType = styleManager.getChartType();
+    MarkerRenderer markerRenderer = getChartPainter().getMarkerRenderer();
+
     for (Series series : getChartPainter().getAxisPair().getSeriesMap().values()) {
 
-      // data points
-      Collection<?> xData = series.getXData();
-      double xMin = getChartPainter().getAxisPair().getXAxis().getMin();
-      double xMax = getChartPainter().getAxisPair().getXAxis().getMax();
+      // primitive data, if the series is backed by arrays or ring buffers
+      Collection<?> xData = null;
+      Collection<? extends Number> yData = null;
+      Collection<? extends Number> errorBars = null;
+      double[] xDataArray = null;
+      long[] xDateArray = null;
+      double[] yDataArray = null;
+      double[] errorBarsArray = null;
+      SeriesDataSource dataSource = null;
+      int start = 0; // the index of the first point, the following ones wrap around at the end of the arrays
+      int size = series.getPointCount();
+      if (series.getYBuffer() != null && series.getDownsampling() == 0) {
+        xDataArray = series.getXBuffer();
+        xDateArray = series.getXDateBuffer();
+        yDataArray = series.getYBuffer();
+        errorBarsArray = series.getErrorBarsBuffer();
+        start = series.getBufferStart();
+      }
+      else if (series.getDataSource() != null && series.getDownsampling() == 0) {
+        dataSource = series.getDataSource();
+      }
+      else {
+        xData = series.getXData();
+        yData = series.getYData();
+        errorBars = series.getErrorBars();
+        xDataArray = series.getXDataArray();
+        xDateArray = series.getXDateArray();
+        yDataArray = series.getYDataArray();
+        errorBarsArray = series.getErrorBarsArray();
+      }
+
+      // downsampled data replaces the series data, dates are already in epoch millis
+      if (series.getDownsampledYData() != null) {
+        xDataArray = series.getDownsampledXData();
+        xDateArray = null;
+        yDataArray = series.getDownsampledYData();
+        errorBarsArray = series.getDownsampledErrorBars();
+        start = 0;
+        size = yDataArray.length;
+      }
+      boolean hasErrorBars = errorBars != null || errorBarsArray != null || (dataSource != null && dataSource.hasErrorBars());
 
-      Collection<? extends Number> yData = series.getYData();
-      double yMin = getChartPainter().getAxisPair().getYAxis().getMin();
-      double yMax = getChartPainter().getAxisPair().getYAxis().getMax();
+      PointReader pointReader = new PointReader(xData, yData, errorBars, xDataArray, xDateArray, yDataArray, errorBarsArray, dataSource, start);
 
-      // override min and maxValue if specified
-      if (getChartPainter().getStyleManager().getXAxisMin() != null) {
-        xMin = getChartPainter().getStyleManager().getXAxisMin();
+      // with sorted X values only the visible points and one on either side, so the lines to them are painted
+      int first = 0; // the index of the first point painted
+      int last = size; // the index after the last point painted
+      if (series.isXSorted() && pointReader.isRandomAccess()) {
+        first = Math.max(0, pointReader.getFirstIndexAfter(size, visibleXMin, false) - 1);
+        last = Math.min(size, pointReader.getFirstIndexAfter(size, visibleXMax, true) + 1);
       }
-      if (getChartPainter().getStyleManager().getYAxisMin() != null) {
-        yMin = getChartPainter().getStyleManager().getYAxisMin();
+
+      // the line and area go through the optional decimation stage
+      boolean isLine = series.getStroke() != null && chartType != ChartType.Scatter;
+      boolean isArea = chartType == ChartType.Area;
+      double yBottomOfArea = bounds.getY() + bounds.getHeight() - yTopMargin + 1;
+      SeriesLinePainter linePainter = new SeriesLinePainter(g, series, isLine, isArea, yBottomOfArea);
+      LineSink lineSink = linePainter;
+      if (styleManager.isPlotDecimationEnabled()) {
+        lineSink = new LineDecimator(lineSink);
       }
-      if (getChartPainter().getStyleManager().getXAxisMax() != null) {
-        xMax = getChartPainter().getStyleManager().getXAxisMax();
+
+      // scatter points can be counted per pixel instead of painted one by one
+      DensityGrid densityGrid = null;
+      if (chartType == ChartType.Scatter && styleManager.isScatterDensityEnabled()) {
+        densityGrid = new DensityGrid(bounds);
       }
-      if (getChartPainter().getStyleManager().getYAxisMax() != null) {
-        yMax = getChartPainter().getStyleManager().getYAxisMax();
+
+      // zoomed out, whole buckets of the level of detail pyramid stand in for their points, the points before the first and after the last bucket are painted one by one
+      LODPyramid lodPyramid = null;
+      int lodLevel = -1;
+      long lodBucket = 0;
+      long lodEndBucket = 0;
+      if (series.getDownsampledYData() == null && (isLine || isArea) && series.getMarker() == null && !hasErrorBars && densityGrid == null && series.isXSorted()) {
+        lodPyramid = series.getLODPyramid();
+        if (lodPyramid != null && last - first > 1) {
+          // the points span more pixels than the plot is wide when it is zoomed in
+          double pointsXMin = series.getXMin();
+          double pointsXMax = series.getXMax();
+          if (series.isXSorted() && pointReader.isRandomAccess()) {
+            pointsXMin = pointReader.getX(first);
+            pointsXMax = pointReader.getX(last - 1);
+          }
+          if (styleManager.isXAxisLogarithmic()) {
+            pointsXMin = Math.log10(pointsXMin);
+            pointsXMax = Math.log10(pointsXMax);
+          }
+          double pixelCount = xMax > xMin ? (pointsXMax - pointsXMin) / (xMax - xMin) * xTickSpace : bounds.getWidth();
+          lodLevel = lodPyramid.getLevel(last - first, pixelCount);
+        }
+        if (lodLevel >= 0) {
+          lodBucket = lodPyramid.getFirstBucket(lodLevel, first);
+          lodEndBucket = lodPyramid.getEndBucket(lodLevel, last);
+        }
       }
 
-      // logarithmic
-      if (getChartPainter().getStyleManager().isXAxisLogarithmic()) {
-        xMin = Math.log10(xMin);
-        xMax = Math.log10(xMax);
+      SeriesPointPainter pointPainter =
+          new SeriesPointPainter(g, series, transform, lineSink, linePainter, densityGrid, isArea, hasErrorBars, markerRenderer, styleManager.getErrorBarsColor(),
+              errorBarStroke, Math.min(CHUNK_SIZE, last - first));
+      if (lodBucket < lodEndBucket) {
+        int lodHeadEnd = lodPyramid.getPointIndex(lodLevel, lodBucket); // the index of the first point of the first bucket
+        int lodTailStart = lodPyramid.getPointIndex(lodLevel, lodEndBucket); // the index after the last point of the last bucket
+        pointPainter.paint(pointReader, first, lodHeadEnd);
+        pointPainter.paint(lodPyramid, lodLevel, lodBucket, lodEndBucket);
+        pointPainter.paint(pointReader, lodTailStart, last);
       }
-      if (getChartPainter().getStyleManager().isYAxisLogarithmic()) {
-        yMin = Math.log10(yMin);
-        yMax = Math.log10(yMax);
+      else {
+        pointPainter.paint(pointReader, first, last);
       }
-      Collection<? extends Number> errorBars = series.getErrorBars();
 
-      double previousX = Integer.MIN_VALUE;
-      double previousY = Integer.MIN_VALUE;
+      // close any open path for area charts
+      lineSink.lineBreak();
 
-      Iterator<?> xItr = xData.iterator();
-      Iterator<? extends Number> yItr = yData.iterator();
-      Iterator<? extends Number> ebItr = null;
-      if (errorBars != null) {
-        ebItr = errorBars.iterator();
+      if (densityGrid != null) {
+        densityGrid.paint(g, series.getMarkerColor());
       }
+    }
+  }
+
+  /**
+   * Reads consecutive points of a series in chunks, from the arrays, ring buffers, data source or collections backing it, Dates as epoch millis
+   */
+  private static final class PointReader {
+
+    private final double[] xDataArray;
+    private final long[] xDateArray;
+    private final double[] yDataArray;
+    private final double[] errorBarsArray;
+    private final SeriesDataSource dataSource;
+
+    /** the index of the first point in the arrays, the following ones wrap around at the end of the arrays */
+    private final int start;
+
+    // for data only in collections
+    private final Iterator<?> xItr;
+    private final Iterator<? extends Number> yItr;
+    private final Iterator<? extends Number> ebItr;
+
+    /** the index of the next point of the iterators */
+    private int iteratorIndex = 0;
+
+    PointReader(Collection<?> xData, Collection<? extends Number> yData, Collection<? extends Number> errorBars, double[] xDataArray, long[] xDateArray,
+        double[] yDataArray, double[] errorBarsArray, SeriesDataSource dataSource, int start) {
+
+      this.xDataArray = xDataArray;
+      this.xDateArray = xDateArray;
+      this.yDataArray = yDataArray;
+      this.errorBarsArray = errorBarsArray;
+      this.dataSource = dataSource;
+      this.start = start;
+      xItr = xData != null && xDataArray == null && xDateArray == null ? xData.iterator() : null;
+      yItr = yData != null && yDataArray == null ? yData.iterator() : null;
+      ebItr = errorBars != null && errorBarsArray == null ? errorBars.iterator() : null;
+    }
 
-      Path2D.Double path = null;
+    /**
+     * @return true if the X values can be read at any index
+     */
+    boolean isRandomAccess() {
+
+      return dataSource != null || xDataArray != null || xDateArray != null;
+    }
+
+    /**
+     * Reads the points from one index up to another, the indices of the points read from collections must be ascending
+     * 
+     * @param errorBars receives the error bars, or null if they are not needed
+     */
+    void read(int fromIndex, int toIndex, double[] xValues, double[] yValues, double[] errorBars) {
+
+      if (dataSource != null) {
+        dataSource.read(fromIndex, toIndex, xValues, yValues, errorBars);
+        return;
+      }
 
-      while (xItr.hasNext()) {
+      int count = toIndex - fromIndex;
+      if (xItr != null || yItr != null || ebItr != null) {
+        // skips the points in between
+        for (; iteratorIndex < fromIndex; iteratorIndex++) {
+          if (xItr != null) {
+            xItr.next();
+          }
+          if (yItr != null) {
+            yItr.next();
+          }
+          if (ebItr != null) {
+            ebItr.next();
+          }
+        }
+        iteratorIndex += count;
+      }
 
-        double x = 0.0;
-        if (getChartPainter().getAxisPair().getXAxis().getAxisType() == AxisType.Number) {
-          x = ((Number) xItr.next()).doubleValue();
-          // System.out.println(x);
+      if (xDataArray != null) {
+        copy(xDataArray, fromIndex, xValues, count);
+      }
+      else if (xDateArray != null) {
+        int index = start + fromIndex;
+        for (int i = 0; i < count; i++, index++) {
+          xValues[i] = xDateArray[index < xDateArray.length ? index : index - xDateArray.length];
         }
-        if (getChartPainter().getAxisPair().getXAxis().getAxisType() == AxisType.Date) {
-          x = ((Date) xItr.next()).getTime();
-          // System.out.println(x);
+      }
+      else {
+        for (int i = 0; i < count; i++) {
+          Object x = xItr.next();
+          xValues[i] = x instanceof Date ? ((Date) x).getTime() : ((Number) x).doubleValue();
         }
+      }
 
-        if (getChartPainter().getStyleManager().isXAxisLogarithmic()) {
-          x = Math.log10(x);
+      if (yDataArray != null) {
+        copy(yDataArray, fromIndex, yValues, count);
+      }
+      else {
+        for (int i = 0; i < count; i++) {
+          Number y = yItr.next();
+          yValues[i] = y == null ? Double.NaN : y.doubleValue();
         }
+      }
 
-        Number next = yItr.next();
-        if (next == null) {
+      if (errorBars != null) {
+        if (errorBarsArray != null) {
+          copy(errorBarsArray, fromIndex, errorBars, count);
+        }
+        else {
+          for (int i = 0; i < count; i++) {
+            errorBars[i] = ebItr.next().doubleValue();
+          }
+        }
+      }
+    }
 
-          // for area charts
-          closePath(g, path, previousX, bounds, yTopMargin);
-          path = null;
+    /**
+     * Copies from the arrays, in two parts where a ring buffer wraps around
+     */
+    private void copy(double[] array, int fromIndex, double[] values, int count) {
 
-          previousX = Integer.MIN_VALUE;
-          previousY = Integer.MIN_VALUE;
-          continue;
-        }
+      int index = start + fromIndex;
+      if (index >= array.length) {
+        index -= array.length;
+      }
+      int firstPart = Math.min(count, array.length - index);
+      System.arraycopy(array, index, values, 0, firstPart);
+      System.arraycopy(array, 0, values, firstPart, count - firstPart);
+    }
 
-        double yOrig = next.doubleValue();
-        double y = 0.0;
-        double eb = 0.0;
+    /**
+     * @return the X value of the i-th point, if isRandomAccess()
+     */
+    double getX(int i) {
 
-        if (errorBars != null) {
-          eb = (Double) ebItr.next();
-        }
+      if (dataSource != null) {
+        return dataSource.getX(i);
+      }
+      int index = start + i;
+      if (xDataArray != null) {
+        return xDataArray[index < xDataArray.length ? index : index - xDataArray.length];
+      }
+      return xDateArray[index < xDateArray.length ? index : index - xDateArray.length];
+    }
 
-        // System.out.println(y);
-        if (getChartPainter().getStyleManager().isYAxisLogarithmic()) {
-          y = Math.log10(yOrig);
+    /**
+     * Binary searches sorted X values, if isRandomAccess()
+     * 
+     * @param isInclusive whether points at the value itself are before it
+     * @return the index of the first point after the value, the size if there is none
+     */
+    int getFirstIndexAfter(int size, double value, boolean isInclusive) {
+
+      int low = 0;
+      int high = size;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        double x = getX(middle);
+        if (x < value || (isInclusive && x == value)) {
+          low = middle + 1;
         }
         else {
-          y = yOrig;
+          high = middle;
         }
-        // System.out.println(y);
+      }
+      return low;
+    }
+  }
+
+  /**
+   * The transform of data values to pixel coordinates of the plot, precomputed once per paint. Whole chunks of values are transformed in simple loops over arrays,
+   * one per axis scale, which the JIT compiles to vector instructions where it can. The arithmetic is the same as that of the axis ticks, so that points and ticks
+   * line up exactly.
+   */
+  private static final class PointTransform {
+
+    private final boolean isXAxisLogarithmic;
+    private final boolean isYAxisLogarithmic;
+
+    // pixel = origin + (margin + (value - min) / range * tickSpace), or the center if all values are the same
+    private final double xOrigin;
+    private final double xMargin;
+    private final double xMin;
+    private final double xRange;
+    private final double xTickSpace;
+    private final boolean isXConstant;
+    private final double xCenter;
+
+    // pixel = origin + (height - (margin + (value - min) / range * tickSpace)), or the center if all values are the same
+    private final double yOrigin;
+    private final double yHeight;
+    private final double yMargin;
+    private final double yMin;
+    private final double yRange;
+    private final double yTickSpace;
+    private final boolean isYConstant;
+    private final double yCenter;
+
+    PointTransform(Rectangle2D bounds, boolean isXAxisLogarithmic, double xMin, double xMax, int xLeftMargin, int xTickSpace, boolean isYAxisLogarithmic, double yMin,
+        double yMax, int yTopMargin, int yTickSpace) {
+
+      this.isXAxisLogarithmic = isXAxisLogarithmic;
+      this.isYAxisLogarithmic = isYAxisLogarithmic;
+
+      xOrigin = bounds.getX();
+      xMargin = xLeftMargin;
+      this.xMin = xMin;
+      xRange = xMax - xMin;
+      this.xTickSpace = xTickSpace;
+      // a check if all x data are the exact same values
+      isXConstant = Math.abs(xMax - xMin) / 5 == 0.0;
+      xCenter = bounds.getX() + bounds.getWidth() / 2.0;
+
+      yOrigin = bounds.getY();
+      yHeight = bounds.getHeight();
+      yMargin = yTopMargin;
+      this.yMin = yMin;
+      yRange = yMax - yMin;
+      this.yTickSpace = yTickSpace;
+      // a check if all y data are the exact same values
+      isYConstant = Math.abs(yMax - yMin) / 5 == 0.0;
+      yCenter = bounds.getY() + bounds.getHeight() / 2.0;
+    }
 
-        double xTransform = xLeftMargin + ((x - xMin) / (xMax - xMin) * xTickSpace);
-        double yTransform = bounds.getHeight() - (yTopMargin + (y - yMin) / (yMax - yMin) * yTickSpace);
+    /**
+     * Transforms X values to pixel coordinates
+     */
+    void transformX(double[] values, double[] offsets, int count) {
 
-        // a check if all x data are the exact same values
-        if (Math.abs(xMax - xMin) / 5 == 0.0) {
-          xTransform = bounds.getWidth() / 2.0;
+      if (isXConstant) {
+        Arrays.fill(offsets, 0, count, xCenter);
+        return;
+      }
+      double[] input = values;
+      if (isXAxisLogarithmic) {
+        for (int i = 0; i < count; i++) {
+          offsets[i] = Math.log10(values[i]);
         }
+        input = offsets;
+      }
+      double origin = xOrigin;
+      double margin = xMargin;
+      double min = xMin;
+      double range = xRange;
+      double tickSpace = xTickSpace;
+      for (int i = 0; i < count; i++) {
+        offsets[i] = origin + (margin + (input[i] - min) / range * tickSpace);
+      }
+    }
 
-        // a check if all y data are the exact same values
-        if (Math.abs(yMax - yMin) / 5 == 0.0) {
-          yTransform = bounds.getHeight() / 2.0;
+    /**
+     * Transforms Y values to pixel coordinates
+     */
+    void transformY(double[] values, double[] offsets, int count) {
+
+      if (isYConstant) {
+        Arrays.fill(offsets, 0, count, yCenter);
+        return;
+      }
+      double[] input = values;
+      if (isYAxisLogarithmic) {
+        for (int i = 0; i < count; i++) {
+          offsets[i] = Math.log10(values[i]);
         }
+        input = offsets;
+      }
+      double origin = yOrigin;
+      double height = yHeight;
+      double margin = yMargin;
+      double min = yMin;
+      double range = yRange;
+      double tickSpace = yTickSpace;
+      for (int i = 0; i < count; i++) {
+        offsets[i] = origin + (height - (margin + (input[i] - min) / range * tickSpace));
+      }
+    }
 
-        double xOffset = bounds.getX() + xTransform;
-        double yOffset = bounds.getY() + yTransform;
-        // System.out.println(yOffset);
-        // System.out.println(yTransform);
+    /**
+     * @return the pixel coordinate of a single Y value, e.g. the end of an error bar
+     */
+    double transformY(double value) {
 
-        // paint line
-        if (series.getStroke() != null && getChartPainter().getStyleManager().getChartType() != ChartType.Scatter) {
+      double y = isYAxisLogarithmic ? Math.log10(value) : value;
+      return yOrigin + (yHeight - (yMargin + (y - yMin) / yRange * yTickSpace));
+    }
+  }
 
-          if (previousX != Integer.MIN_VALUE && previousY != Integer.MIN_VALUE) {
-            g.setColor(series.getStrokeColor());
-            g.setStroke(series.getStroke());
-            Shape line = new Line2D.Double(previousX, previousY, xOffset, yOffset);
-            g.draw(line);
-          }
+  /**
+   * Paints the points of a series a chunk at a time: reads them, transforms them to pixel coordinates and hands them to the line, density grid, markers and
+   * error bars. Each of those combinations has a loop of its own.
+   */
+  private static final class SeriesPointPainter {
+
+    private final Graphics2D g;
+    private final Series series;
+    private final PointTransform transform;
+    private final LineSink lineSink;
+    private final SeriesLinePainter linePainter;
+    private final DensityGrid densityGrid;
+    private final boolean isArea;
+    private final MarkerRenderer markerRenderer;
+    private final Color errorBarsColor;
+    private final Stroke errorBarStroke;
+
+    // the chunk of points
+    private final double[] xValues;
+    private final double[] yValues;
+    private final double[] errorBars;
+    private final double[] xOffsets;
+    private final double[] yOffsets;
+
+    private double previousX = Integer.MIN_VALUE;
+
+    SeriesPointPainter(Graphics2D g, Series series, PointTransform transform, LineSink lineSink, SeriesLinePainter linePainter, DensityGrid densityGrid,
+        boolean isArea, boolean hasErrorBars, MarkerRenderer markerRenderer, Color errorBarsColor, Stroke errorBarStroke, int chunkSize) {
+
+      this.g = g;
+      this.series = series;
+      this.transform = transform;
+      this.lineSink = lineSink;
+      this.linePainter = linePainter;
+      this.densityGrid = densityGrid;
+      this.isArea = isArea;
+      this.markerRenderer = markerRenderer;
+      this.errorBarsColor = errorBarsColor;
+      this.errorBarStroke = errorBarStroke;
+
+      int length = Math.max(chunkSize, LODPyramid.POINTS_PER_BUCKET);
+      xValues = new double[length];
+      yValues = new double[length];
+      errorBars = hasErrorBars ? new double[length] : null;
+      xOffsets = new double[length];
+      yOffsets = new double[length];
+    }
+
+    /**
+     * Paints the points from one index up to another
+     */
+    void paint(PointReader pointReader, int fromIndex, int toIndex) {
+
+      for (int chunkStart = fromIndex; chunkStart < toIndex; chunkStart += xValues.length) {
+        int chunkEnd = Math.min(toIndex, chunkStart + xValues.length);
+        pointReader.read(chunkStart, chunkEnd, xValues, yValues, errorBars);
+        paintChunk(chunkEnd - chunkStart);
+      }
+    }
+
+    /**
+     * Paints the buckets of a level of detail pyramid
+     */
+    void paint(LODPyramid lodPyramid, int level, long fromBucket, long toBucket) {
+
+      int count = 0;
+      for (long bucket = fromBucket; bucket < toBucket; bucket++) {
+        for (int point = 0; point < LODPyramid.POINTS_PER_BUCKET; point++) {
+          xValues[count] = lodPyramid.getX(level, bucket, point);
+          yValues[count] = lodPyramid.getY(level, bucket, point);
+          count++;
+        }
+        if (count + LODPyramid.POINTS_PER_BUCKET > xValues.length) {
+          paintChunk(count);
+          count = 0;
         }
+      }
+      paintChunk(count);
+    }
 
-        // paint area
-        if (getChartPainter().getStyleManager().getChartType() == ChartType.Area) {
+    private void paintChunk(int count) {
 
-          if (previousX != Integer.MIN_VALUE && previousY != Integer.MIN_VALUE) {
+      transform.transformX(xValues, xOffsets, count);
+      transform.transformY(yValues, yOffsets, count);
+
+      if (densityGrid != null) {
+        for (int i = 0; i < count; i++) {
+          if (!Double.isNaN(yValues[i])) {
+            densityGrid.add(xOffsets[i], yOffsets[i]);
+          }
+        }
+      }
+      else if (series.getMarker() == null && errorBars == null) {
+        for (int i = 0; i < count; i++) {
+          lineTo(i);
+        }
+      }
+      else {
+        for (int i = 0; i < count; i++) {
+          if (!lineTo(i)) {
+            continue;
+          }
 
-            g.setColor(series.getStrokeColor());
-            double yBottomOfArea = bounds.getY() + bounds.getHeight() - yTopMargin + 1;
+          // the line up to the point is painted under its marker and error bar
+          linePainter.strokeLine();
 
-            if (path == null) {
-              path = new Path2D.Double();
-              path.moveTo(previousX, yBottomOfArea);
-              path.lineTo(previousX, previousY);
-            }
-            path.lineTo(xOffset, yOffset);
+          // paint marker
+          if (series.getMarker() != null) {
+            markerRenderer.paint(g, series.getMarker(), series.getMarkerColor(), xOffsets[i], yOffsets[i]);
           }
-          if (xOffset < previousX) {
-            throw new RuntimeException("X-Data must be in ascending order for Area Charts!!!");
+
+          // paint errorbar
+          if (errorBars != null) {
+            paintErrorBar(xOffsets[i], yValues[i], errorBars[i]);
           }
         }
+      }
+    }
 
-        previousX = xOffset;
-        previousY = yOffset;
+    /**
+     * Continues the line and area to a point
+     * 
+     * @return false if the point is a gap
+     */
+    private boolean lineTo(int i) {
 
-        // paint marker
-        if (series.getMarker() != null) {
-          g.setColor(series.getMarkerColor());
-          series.getMarker().paint(g, xOffset, yOffset);
-        }
+      if (Double.isNaN(yValues[i])) {
+
+        // for area charts
+        lineSink.lineBreak();
+
+        previousX = Integer.MIN_VALUE;
+        return false;
+      }
+
+      double xOffset = xOffsets[i];
+      if (isArea && xOffset < previousX) {
+        throw new RuntimeException("X-Data must be in ascending order for Area Charts!!!");
+      }
+      lineSink.lineTo(xOffset, yOffsets[i]);
+
+      previousX = xOffset;
+      return true;
+    }
+
+    private void paintErrorBar(double xOffset, double y, double eb) {
+
+      g.setColor(errorBarsColor);
+      g.setStroke(errorBarStroke);
+
+      double topEBOffset = transform.transformY(y + eb);
+      double bottomEBOffset = transform.transformY(y - eb);
+
+      Shape line = new Line2D.Double(xOffset, topEBOffset, xOffset, bottomEBOffset);
+      g.draw(line);
+      line = new Line2D.Double(xOffset - 3, bottomEBOffset, xOffset + 3, bottomEBOffset);
+      g.draw(line);
+      line = new Line2D.Double(xOffset - 3, topEBOffset, xOffset + 3, topEBOffset);
+      g.draw(line);
+    }
+  }
 
-        // paint errorbar
-        if (errorBars != null) {
+  /**
+   * Paints the line and area of a series. Solid lines are drawn segment by segment with the color and stroke set once, dashed lines are collected
+   * into a single path and stroked at once, up to the next gap, marker or error bar, so that those are still painted over the line before them.
+   */
+  private static class SeriesLinePainter implements LineSink {
+
+    /** the maximum number of points in one stroked dashed path */
+    private static final int MAX_PATH_POINTS = 10000;
+
+    private final Graphics2D g;
+    private final Series series;
+    private final boolean isLine;
+    private final boolean isArea;
+    private final double yBottomOfArea;
+
+    private final BasicStroke seriesStroke;
+
+    /** the stroke for the line, for a dashed path split after MAX_PATH_POINTS with the dash phase at which the previous path ended */
+    private BasicStroke stroke;
+
+    /** whether the line segments are collected into one path and stroked at once */
+    private final boolean isBatched;
+
+    /** the segment reused for solid strokes */
+    private final Line2D.Double line = new Line2D.Double();
+
+    private double previousX = Integer.MIN_VALUE;
+    private double previousY = Integer.MIN_VALUE;
+    private Path2D.Double linePath = null;
+    private int linePathPoints = 0;
+    private double linePathLength = 0;
+    private Path2D.Double path = null;
+
+    SeriesLinePainter(Graphics2D g, Series series, boolean isLine, boolean isArea, double yBottomOfArea) {
 
-          g.setColor(getChartPainter().getStyleManager().getErrorBarsColor());
-          g.setStroke(errorBarStroke);
+      this.g = g;
+      this.series = series;
+      this.isLine = isLine;
+      this.isArea = isArea;
+      this.yBottomOfArea = yBottomOfArea;
 
-          double topValue = 0.0;
-          if (getChartPainter().getStyleManager().isYAxisLogarithmic()) {
-            topValue = yOrig + eb;
-            topValue = Math.log10(topValue);
+      // Solid segments are rendered by Java2D as filled parallelograms, which is much faster than stroking a long polyline, so only dashed
+      // strokes are batched. This also keeps the dash pattern continuous along the line instead of restarting it at every point.
+      seriesStroke = series.getStroke();
+      stroke = seriesStroke;
+      isBatched = seriesStroke != null && seriesStroke.getDashArray() != null;
+    }
+
+    @Override
+    public void lineTo(double xOffset, double yOffset) {
+
+      if (previousX != Integer.MIN_VALUE && previousY != Integer.MIN_VALUE) {
+
+        // line
+        if (isLine) {
+          if (isBatched) {
+            if (linePath == null) {
+              linePath = new Path2D.Double();
+              linePath.moveTo(previousX, previousY);
+              linePathPoints = 1;
+            }
+            linePath.lineTo(xOffset, yOffset);
+            linePathPoints++;
+            double dx = xOffset - previousX;
+            double dy = yOffset - previousY;
+            linePathLength += Math.sqrt(dx * dx + dy * dy);
+            if (linePathPoints >= MAX_PATH_POINTS) {
+              // the next path continues the dash pattern where this one ends
+              float dashPhase = getDashPhase(stroke.getDashPhase() + linePathLength);
+              strokeLine();
+              stroke =
+                  new BasicStroke(seriesStroke.getLineWidth(), seriesStroke.getEndCap(), seriesStroke.getLineJoin(), seriesStroke.getMiterLimit(), seriesStroke.getDashArray(), dashPhase);
+            }
           }
           else {
-            topValue = y + eb;
-          }
-          double topEBTransform = bounds.getHeight() - (yTopMargin + (topValue - yMin) / (yMax - yMin) * yTickSpace);
-          double topEBOffset = bounds.getY() + topEBTransform;
-
-          double bottomValue = 0.0;
-          if (getChartPainter().getStyleManager().isYAxisLogarithmic()) {
-            bottomValue = yOrig - eb;
-            // System.out.println(bottomValue);
-            bottomValue = Math.log10(bottomValue);
+            // markers and error bars change the color and stroke in between, so only set them again when needed
+            if (g.getColor() != series.getStrokeColor()) {
+              g.setColor(series.getStrokeColor());
+            }
+            if (g.getStroke() != stroke) {
+              g.setStroke(stroke);
+            }
+            line.setLine(previousX, previousY, xOffset, yOffset);
+            g.draw(line);
           }
-          else {
-            bottomValue = y - eb;
+        }
+
+        // area
+        if (isArea) {
+          if (path == null) {
+            path = new Path2D.Double();
+            path.moveTo(previousX, yBottomOfArea);
+            path.lineTo(previousX, previousY);
           }
-          double bottomEBTransform = bounds.getHeight() - (yTopMargin + (bottomValue - yMin) / (yMax - yMin) * yTickSpace);
-          double bottomEBOffset = bounds.getY() + bottomEBTransform;
-
-          Shape line = new Line2D.Double(xOffset, topEBOffset, xOffset, bottomEBOffset);
-          g.draw(line);
-          line = new Line2D.Double(xOffset - 3, bottomEBOffset, xOffset + 3, bottomEBOffset);
-          g.draw(line);
-          line = new Line2D.Double(xOffset - 3, topEBOffset, xOffset + 3, topEBOffset);
-          g.draw(line);
+          path.lineTo(xOffset, yOffset);
         }
       }
 
-      // close any open path for area charts
-      closePath(g, path, previousX, bounds, yTopMargin);
+      previousX = xOffset;
+      previousY = yOffset;
     }
-  }
 
-  /**
-   * Closes a path for area charts if one is available.
-   */
-  private void closePath(Graphics2D g, Path2D.Double path, double previousX, Rectangle2D bounds, double yTopMargin) {
+    @Override
+    public void lineBreak() {
 
-    if (path != null) {
-      double yBottomOfArea = bounds.getY() + bounds.getHeight() - yTopMargin + 1;
-      path.lineTo(previousX, yBottomOfArea);
-      path.closePath();
-      g.fill(path);
+      strokeLine();
+      closePath();
+      path = null;
+
+      previousX = Integer.MIN_VALUE;
+      previousY = Integer.MIN_VALUE;
+    }
+
+    /**
+     * Strokes the collected line path if one is available. The next path continues from the last point, with the dash pattern starting over as each segment of
+     * a series with markers does.
+     */
+    void strokeLine() {
+
+      if (linePath != null) {
+        g.setColor(series.getStrokeColor());
+        g.setStroke(stroke);
+        g.draw(linePath);
+        linePath = null;
+        linePathLength = 0;
+        stroke = seriesStroke;
+      }
+    }
+
+    /**
+     * @return the phase of the dash pattern after the given length, reduced to two pattern lengths, after which an odd number of dashes repeats as well
+     */
+    private float getDashPhase(double length) {
+
+      double patternLength = 0;
+      for (float dash : seriesStroke.getDashArray()) {
+        patternLength += dash;
+      }
+      return patternLength > 0 ? (float) (length % (2 * patternLength)) : seriesStroke.getDashPhase();
+    }
+
+    /**
+     * Closes a path for area charts if one is available.
+     */
+    private void closePath() {
+
+      if (path != null) {
+        path.lineTo(previousX, yBottomOfArea);
+        path.closePath();
+        g.setColor(series.getStrokeColor());
+        g.fill(path);
+      }
     }
   }
 
@@ -0,0 +1,163 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart.internal.chartpart;
+
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+import java.awt.font.TextLayout;
+import java.awt.geom.Rectangle2D;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches the TextLayouts and bounds of the texts painted by a chart, keyed by text, font and FontRenderContext, so that titles, tick labels and legend entries
+ * that stay the same are not measured again on every paint. The least recently used entries are dropped once the cache is full. The returned objects are shared
+ * and must not be modified.
+ * 
+ * @author timmolter
+ */
+class TextCache {
+
+  /** the FontRenderContext used for size hints before there is a Graphics2D */
+  static final FontRenderContext DEFAULT_FONT_RENDER_CONTEXT = new FontRenderContext(null, true, false);
+
+  private static final int MAX_ENTRIES = 512;
+
+  private final Map<Key, Measurement> measurementMap = new LinkedHashMap<Key, Measurement>(16, 0.75f, true) {
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Key, Measurement> eldest) {
+
+      return size() > MAX_ENTRIES;
+    }
+  };
+
+  private final Map<String, String[]> linesMap = new LinkedHashMap<String, String[]>(16, 0.75f, true) {
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, String[]> eldest) {
+
+      return size() > MAX_ENTRIES;
+    }
+  };
+
+  /**
+   * @param text
+   * @param font
+   * @param frc
+   * @return the TextLayout of the text
+   */
+  TextLayout getTextLayout(String text, Font font, FontRenderContext frc) {
+
+    Measurement measurement = getMeasurement(text, font, frc);
+    if (measurement.textLayout == null) {
+      measurement.textLayout = new TextLayout(text, font, frc);
+    }
+    return measurement.textLayout;
+  }
+
+  /**
+   * @param text
+   * @param font
+   * @param frc
+   * @return the bounds of the text's TextLayout
+   */
+  Rectangle2D getTextBounds(String text, Font font, FontRenderContext frc) {
+
+    Measurement measurement = getMeasurement(text, font, frc);
+    if (measurement.textBounds == null) {
+      measurement.textBounds = getTextLayout(text, font, frc).getBounds();
+    }
+    return measurement.textBounds;
+  }
+
+  /**
+   * @param text
+   * @param font
+   * @param frc
+   * @return the logical bounds of the text, as returned by FontMetrics.getStringBounds()
+   */
+  Rectangle2D getStringBounds(String text, Font font, FontRenderContext frc) {
+
+    Measurement measurement = getMeasurement(text, font, frc);
+    if (measurement.stringBounds == null) {
+      measurement.stringBounds = font.getStringBounds(text, frc);
+    }
+    return measurement.stringBounds;
+  }
+
+  /**
+   * @param text
+   * @return the lines of a text separated by line breaks
+   */
+  String[] getLines(String text) {
+
+    String[] lines = linesMap.get(text);
+    if (lines == null) {
+      lines = text.split("\\n");
+      linesMap.put(text, lines);
+    }
+    return lines;
+  }
+
+  private Measurement getMeasurement(String text, Font font, FontRenderContext frc) {
+
+    Key key = new Key(text, font, frc);
+    Measurement measurement = measurementMap.get(key);
+    if (measurement == null) {
+      measurement = new Measurement();
+      measurementMap.put(key, measurement);
+    }
+    return measurement;
+  }
+
+  private static class Measurement {
+
+    private TextLayout textLayout;
+    private Rectangle2D textBounds;
+    private Rectangle2D stringBounds;
+  }
+
+  private static class Key {
+
+    private final String text;
+    private final Font font;
+    private final FontRenderContext frc;
+
+    Key(String text, Font font, FontRenderContext frc) {
+
+      this.text = text;
+      this.font = font;
+      this.frc = frc;
+    }
+
+    @Override
+    public int hashCode() {
+
+      return 31 * (31 * text.hashCode() + font.hashCode()) + frc.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return text.equals(other.text) && font.equals(other.font) && frc.equals(other.frc);
+    }
+  }
+}
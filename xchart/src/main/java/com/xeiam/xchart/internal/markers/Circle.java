@@ -15,7 +15,6 @@
  */
 package com.xeiam.xchart.internal.markers;
 
-import java.awt.Graphics2D;
 import java.awt.Shape;
 import java.awt.geom.Ellipse2D;
 
@@ -25,12 +24,10 @@ import java.awt.geom.Ellipse2D;
 public class Circle extends Marker {
 
   @Override
-  public void paint(Graphics2D g, double xOffset, double yOffset) {
+  public Shape getShape(double xOffset, double yOffset) {
 
-    g.setStroke(stroke);
     Shape circle = new Ellipse2D.Double(xOffset - Marker.HALF_SIZE, yOffset - Marker.HALF_SIZE, Marker.SIZE, Marker.SIZE);
-    g.fill(circle);
-
+    return circle;
   }
 
 }
@@ -15,7 +15,7 @@
  */
 package com.xeiam.xchart.internal.markers;
 
-import java.awt.Graphics2D;
+import java.awt.Shape;
 import java.awt.geom.Path2D;
 
 /**
@@ -24,9 +24,7 @@ import java.awt.geom.Path2D;
 public class Diamond extends Marker {
 
   @Override
-  public void paint(Graphics2D g, double xOffset, double yOffset) {
-
-    g.setStroke(stroke);
+  public Shape getShape(double xOffset, double yOffset) {
 
     // Make a diamond
     double diamondHalfSize = Marker.HALF_SIZE * 1.3;
@@ -37,8 +35,7 @@ public class Diamond extends Marker {
     path.lineTo(xOffset + diamondHalfSize, yOffset);
     path.lineTo(xOffset, yOffset + diamondHalfSize);
     path.closePath();
-    g.fill(path);
-
+    return path;
   }
 
 }
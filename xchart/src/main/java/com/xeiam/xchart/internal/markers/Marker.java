@@ -17,6 +17,7 @@ package com.xeiam.xchart.internal.markers;
 
 import java.awt.BasicStroke;
 import java.awt.Graphics2D;
+import java.awt.Shape;
 
 /**
  * @author timmolter
@@ -29,5 +30,28 @@ public abstract class Marker {
 
   public static final double HALF_SIZE = SIZE / 2.0;
 
-  public abstract void paint(Graphics2D g, double xOffset, double yOffset);
+  public void paint(Graphics2D g, double xOffset, double yOffset) {
+
+    g.setStroke(stroke);
+    g.fill(getShape(xOffset, yOffset));
+  }
+
+  /**
+   * Gets the outline of the Marker centered at the given position
+   * 
+   * @param xOffset
+   * @param yOffset
+   * @return the Shape
+   */
+  public abstract Shape getShape(double xOffset, double yOffset);
+
+  /**
+   * Whether painting this Marker from a pre-rendered image is faster than filling its Shape
+   * 
+   * @return true by default
+   */
+  public boolean isStampable() {
+
+    return true;
+  }
 }
@@ -0,0 +1,198 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart.internal.markers;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Paints Markers by stamping pre-rendered images instead of filling a new Shape for every point. Each combination of Marker, color and
+ * anti-aliasing is rasterized once per sub-pixel position, so the result looks the same as filling the Shape directly. Whenever the Graphics2D
+ * is scaled, rotated, not composited with SRC_OVER or not a raster such as an SVG document, or the Marker is cheaper to fill than to stamp, the
+ * Marker is painted directly.
+ * 
+ * @author timmolter
+ */
+public class MarkerRenderer {
+
+  /** the number of sub-pixel positions per axis a sprite is rendered at */
+  private static final int SUBPIXEL_STEPS = 16;
+
+  /** the maximum number of cached Marker and color combinations */
+  private static final int MAX_CACHE_SIZE = 32;
+
+  private final Map<SpriteKey, Sprite> spriteMap = new HashMap<SpriteKey, Sprite>();
+
+  /**
+   * Paints a Marker centered at the given position
+   * 
+   * @param g
+   * @param marker
+   * @param color
+   * @param xOffset
+   * @param yOffset
+   */
+  public void paint(Graphics2D g, Marker marker, Color color, double xOffset, double yOffset) {
+
+    AffineTransform transform = g.getTransform();
+    if (!marker.isStampable() || !isStampable(g, transform)) {
+      g.setColor(color);
+      marker.paint(g, xOffset, yOffset);
+      return;
+    }
+
+    // device position split into an integer pixel and a sub-pixel step
+    double x = (xOffset + transform.getTranslateX()) * SUBPIXEL_STEPS;
+    double y = (yOffset + transform.getTranslateY()) * SUBPIXEL_STEPS;
+    if (Double.isNaN(x) || Double.isNaN(y) || Math.abs(x) > Integer.MAX_VALUE || Math.abs(y) > Integer.MAX_VALUE) {
+      return;
+    }
+    long xSteps = Math.round(x);
+    long ySteps = Math.round(y);
+    int xPixel = (int) Math.floor(xSteps / (double) SUBPIXEL_STEPS);
+    int yPixel = (int) Math.floor(ySteps / (double) SUBPIXEL_STEPS);
+    int xStep = (int) (xSteps - (long) xPixel * SUBPIXEL_STEPS);
+    int yStep = (int) (ySteps - (long) yPixel * SUBPIXEL_STEPS);
+
+    boolean isAntiAliased = RenderingHints.VALUE_ANTIALIAS_ON.equals(g.getRenderingHint(RenderingHints.KEY_ANTIALIASING));
+    Sprite sprite = getSprite(marker, color, isAntiAliased);
+    BufferedImage image = sprite.getImage(xStep, yStep);
+
+    g.drawImage(image, xPixel + sprite.left - (int) transform.getTranslateX(), yPixel + sprite.top - (int) transform.getTranslateY(), null);
+  }
+
+  /**
+   * Sprites can only replace filling the Shape if the Graphics2D translates by whole pixels and draws with SRC_OVER
+   */
+  private boolean isStampable(Graphics2D g, AffineTransform transform) {
+
+    if ((transform.getType() & ~AffineTransform.TYPE_TRANSLATION) != 0) {
+      return false;
+    }
+    if (transform.getTranslateX() != Math.rint(transform.getTranslateX()) || transform.getTranslateY() != Math.rint(transform.getTranslateY())) {
+      return false;
+    }
+    // vector output keeps vector Markers
+    GraphicsConfiguration graphicsConfiguration = g.getDeviceConfiguration();
+    if (graphicsConfiguration != null && graphicsConfiguration.getDevice().getType() == GraphicsDevice.TYPE_PRINTER) {
+      return false;
+    }
+    Composite composite = g.getComposite();
+    return composite instanceof AlphaComposite && ((AlphaComposite) composite).getRule() == AlphaComposite.SRC_OVER;
+  }
+
+  private Sprite getSprite(Marker marker, Color color, boolean isAntiAliased) {
+
+    SpriteKey key = new SpriteKey(marker, color, isAntiAliased);
+    Sprite sprite = spriteMap.get(key);
+    if (sprite == null) {
+      if (spriteMap.size() >= MAX_CACHE_SIZE) {
+        spriteMap.clear();
+      }
+      sprite = new Sprite(marker, color, isAntiAliased);
+      spriteMap.put(key, sprite);
+    }
+    return sprite;
+  }
+
+  /**
+   * The images of one Marker and color, lazily rendered for each sub-pixel position
+   */
+  private static class Sprite {
+
+    private final Marker marker;
+    private final Color color;
+    private final boolean isAntiAliased;
+
+    /** the position of the image relative to the Marker center, including one pixel of padding */
+    private final int left;
+    private final int top;
+    private final int width;
+    private final int height;
+
+    private final BufferedImage[] images = new BufferedImage[SUBPIXEL_STEPS * SUBPIXEL_STEPS];
+
+    Sprite(Marker marker, Color color, boolean isAntiAliased) {
+
+      this.marker = marker;
+      this.color = color;
+      this.isAntiAliased = isAntiAliased;
+
+      Rectangle2D bounds = marker.getShape(0, 0).getBounds2D();
+      left = (int) Math.floor(bounds.getMinX()) - 1;
+      top = (int) Math.floor(bounds.getMinY()) - 1;
+      width = (int) Math.ceil(bounds.getMaxX()) + 2 - left;
+      height = (int) Math.ceil(bounds.getMaxY()) + 2 - top;
+    }
+
+    BufferedImage getImage(int xStep, int yStep) {
+
+      int index = yStep * SUBPIXEL_STEPS + xStep;
+      if (images[index] == null) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = image.createGraphics();
+        if (isAntiAliased) {
+          g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        }
+        g.setColor(color);
+        marker.paint(g, xStep / (double) SUBPIXEL_STEPS - left, yStep / (double) SUBPIXEL_STEPS - top);
+        g.dispose();
+        images[index] = image;
+      }
+      return images[index];
+    }
+  }
+
+  private static class SpriteKey {
+
+    private final Marker marker;
+    private final Color color;
+    private final boolean isAntiAliased;
+
+    SpriteKey(Marker marker, Color color, boolean isAntiAliased) {
+
+      this.marker = marker;
+      this.color = color;
+      this.isAntiAliased = isAntiAliased;
+    }
+
+    @Override
+    public int hashCode() {
+
+      return 31 * (31 * marker.hashCode() + color.hashCode()) + (isAntiAliased ? 1 : 0);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+
+      if (!(obj instanceof SpriteKey)) {
+        return false;
+      }
+      SpriteKey other = (SpriteKey) obj;
+      return marker == other.marker && color.equals(other.color) && isAntiAliased == other.isAntiAliased;
+    }
+  }
+}
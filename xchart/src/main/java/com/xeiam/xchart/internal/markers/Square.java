@@ -15,7 +15,6 @@
  */
 package com.xeiam.xchart.internal.markers;
 
-import java.awt.Graphics2D;
 import java.awt.Shape;
 import java.awt.geom.Rectangle2D;
 
@@ -25,12 +24,17 @@ import java.awt.geom.Rectangle2D;
 public class Square extends Marker {
 
   @Override
-  public void paint(Graphics2D g, double xOffset, double yOffset) {
+  public Shape getShape(double xOffset, double yOffset) {
 
-    g.setStroke(stroke);
     Shape square = new Rectangle2D.Double(xOffset - Marker.HALF_SIZE, yOffset - Marker.HALF_SIZE, Marker.SIZE, Marker.SIZE);
-    g.fill(square);
+    return square;
+  }
+
+  @Override
+  public boolean isStampable() {
 
+    // Java2D fills axis-aligned rectangles faster than it draws images
+    return false;
   }
 
 }
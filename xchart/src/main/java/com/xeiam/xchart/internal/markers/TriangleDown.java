@@ -15,7 +15,7 @@
  */
 package com.xeiam.xchart.internal.markers;
 
-import java.awt.Graphics2D;
+import java.awt.Shape;
 import java.awt.geom.Path2D;
 
 /**
@@ -24,9 +24,7 @@ import java.awt.geom.Path2D;
 public class TriangleDown extends Marker {
 
   @Override
-  public void paint(Graphics2D g, double xOffset, double yOffset) {
-
-    g.setStroke(stroke);
+  public Shape getShape(double xOffset, double yOffset) {
 
     // Make a triangle
     Path2D.Double path = new Path2D.Double();
@@ -34,7 +32,6 @@ public class TriangleDown extends Marker {
     path.lineTo(xOffset, 1 + yOffset - Marker.HALF_SIZE + Marker.SIZE + 1);
     path.lineTo(xOffset - Marker.HALF_SIZE + Marker.SIZE + 1, 1 + yOffset - Marker.HALF_SIZE);
     path.closePath();
-    g.fill(path);
-
+    return path;
   }
 }
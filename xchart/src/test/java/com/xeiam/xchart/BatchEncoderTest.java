@@ -0,0 +1,170 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Test;
+
+import com.xeiam.xchart.StyleManager.ChartType;
+
+/**
+ * @author timmolter
+ */
+public class BatchEncoderTest {
+
+  private static final int CHART_COUNT = 48;
+
+  /**
+   * Renders different charts concurrently and checks that every PNG is identical to the one rendered on its own
+   */
+  @Test
+  public void testConcurrentRendering() throws Exception {
+
+    List<byte[]> expected = new ArrayList<byte[]>();
+    for (int i = 0; i < CHART_COUNT; i++) {
+      expected.add(BitmapEncoder.getPNGBytes(getChart(i)));
+    }
+
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+    try {
+      BatchEncoder batchEncoder = new BatchEncoder(executorService, 3);
+      List<ByteArrayOutputStream> outputs = new ArrayList<ByteArrayOutputStream>();
+      for (int i = 0; i < CHART_COUNT; i++) {
+        final int index = i;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        outputs.add(out);
+        batchEncoder.addPNG(new Callable<Chart>() {
+
+          @Override
+          public Chart call() {
+
+            return getChart(index);
+          }
+        }, out);
+      }
+      // a chart without series fails, without failing the others
+      ByteArrayOutputStream failedOut = new ByteArrayOutputStream();
+      batchEncoder.addPNG(new Chart(300, 200), failedOut);
+
+      List<Exception> exceptions = batchEncoder.saveAll();
+
+      assertThat(exceptions.size(), equalTo(CHART_COUNT + 1));
+      for (int i = 0; i < CHART_COUNT; i++) {
+        assertThat("chart " + i, exceptions.get(i) == null, equalTo(true));
+        assertThat("chart " + i, Arrays.equals(outputs.get(i).toByteArray(), expected.get(i)), equalTo(true));
+      }
+      assertThat(exceptions.get(CHART_COUNT) instanceof RuntimeException, equalTo(true));
+      assertThat(failedOut.size(), equalTo(0));
+    } finally {
+      executorService.shutdown();
+    }
+  }
+
+  /**
+   * Renders charts with a transparent background after ones with a red background into the same pooled images, which must not show through
+   */
+  @Test
+  public void testTranslucentBackground() throws Exception {
+
+    Chart[] charts = new Chart[6];
+    for (int i = 0; i < charts.length; i++) {
+      charts[i] = getChart(0);
+      Color backgroundColor = i % 2 == 0 ? Color.RED : new Color(0, 0, 0, 0);
+      charts[i].getStyleManager().setChartBackgroundColor(backgroundColor);
+      charts[i].getStyleManager().setPlotBackgroundColor(backgroundColor);
+    }
+
+    ExecutorService executorService = Executors.newSingleThreadExecutor();
+    try {
+      BatchEncoder batchEncoder = new BatchEncoder(executorService, 1);
+      List<ByteArrayOutputStream> outputs = new ArrayList<ByteArrayOutputStream>();
+      for (Chart chart : charts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        outputs.add(out);
+        batchEncoder.addPNG(chart, out);
+      }
+      batchEncoder.saveAll();
+
+      for (int i = 0; i < charts.length; i++) {
+        BufferedImage expected = BitmapEncoder.getBufferedImage(charts[i]);
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(outputs.get(i).toByteArray()));
+        int[] expectedRGB = expected.getRGB(0, 0, expected.getWidth(), expected.getHeight(), null, 0, expected.getWidth());
+        int[] rgb = image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+        assertThat("chart " + i, Arrays.equals(rgb, expectedRGB), equalTo(true));
+        // the transparent corner is black, as in a new image
+        assertThat("chart " + i, rgb[0], equalTo(i % 2 == 0 ? 0xFFFF0000 : 0xFF000000));
+      }
+    } finally {
+      executorService.shutdown();
+    }
+  }
+
+  private static Chart getChart(int index) {
+
+    Random random = new Random(index);
+    // two sizes, so that pooled images get reused across charts
+    Chart chart = index % 2 == 0 ? new Chart(400, 300) : new Chart(320, 240);
+    chart.setChartTitle("Chart " + index);
+    switch (index % 4) {
+    case 0:
+      chart.getStyleManager().setChartType(ChartType.Line);
+      break;
+    case 1:
+      chart.getStyleManager().setChartType(ChartType.Scatter);
+      break;
+    case 2:
+      chart.getStyleManager().setChartType(ChartType.Area);
+      break;
+    default:
+      chart.getStyleManager().setChartType(ChartType.Bar);
+      break;
+    }
+    int size = 10 + random.nextInt(200);
+    double[] xData = new double[size];
+    double[] yData = new double[size];
+    for (int i = 0; i < size; i++) {
+      xData[i] = i;
+      yData[i] = random.nextGaussian() * 100;
+    }
+    if (index % 3 == 0) {
+      long[] dates = new long[size];
+      for (int i = 0; i < size; i++) {
+        dates[i] = 1400000000000L + i * 3600000L;
+      }
+      chart.addDateSeries("dates", dates, yData);
+    }
+    else {
+      chart.addSeries("numbers", xData, yData);
+    }
+    return chart;
+  }
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * @author timmolter
+ */
+public class BinaryImporterTest {
+
+  @Test
+  public void testRoundTrip() throws Exception {
+
+    Random random = new Random(5);
+    double[] xData = new double[5000];
+    double[] yData = new double[xData.length];
+    double[] errorBars = new double[xData.length];
+    for (int i = 0; i < xData.length; i++) {
+      xData[i] = i;
+      yData[i] = i % 1000 == 10 ? Double.NaN : random.nextGaussian() * 10;
+      errorBars[i] = random.nextDouble();
+    }
+    Chart chart = new Chart(400, 300);
+    chart.addSeries("gaussian, with errors", xData, yData, errorBars);
+
+    File dir = File.createTempFile("BinaryImporterTest", "");
+    dir.delete();
+    dir.mkdir();
+    File file = new File(dir, "gaussian, with errors.xcs");
+    try {
+      BinaryExporter.writeSeries(chart, dir.getPath() + File.separator);
+      Chart importedChart = BinaryImporter.getChartFromBinaryDir(dir.getPath(), 400, 300, null);
+
+      Series series = importedChart.getSeriesMap().get("gaussian, with errors");
+      assertThat(series.getDataSource().getY(4999), equalTo(yData[4999]));
+      assertThat(series.getErrorBars().size(), equalTo(xData.length));
+      assertThat(series.getYData().contains(null), equalTo(true));
+      assertThat(series.getYMax(), equalTo(chart.getSeriesMap().get("gaussian, with errors").getYMax()));
+
+      // painted the same as the array backed series
+      BufferedImage expected = BitmapEncoder.getBufferedImage(chart);
+      BufferedImage actual = BitmapEncoder.getBufferedImage(importedChart);
+      assertThat(Arrays.equals(actual.getRGB(0, 0, 400, 300, null, 0, 400), expected.getRGB(0, 0, 400, 300, null, 0, 400)), equalTo(true));
+    } finally {
+      file.delete();
+      dir.delete();
+    }
+  }
+
+  @Test
+  public void testAppendedDateSeries() throws Exception {
+
+    Chart chart = new Chart(400, 300);
+    Series series = chart.addDateSeries("dates", new long[] { 1000L }, new double[] { 1.0 });
+    for (int i = 2; i <= 100; i++) {
+      series.append(new Date(i * 1000L), i);
+    }
+    series.evict(50);
+
+    File file = File.createTempFile("BinaryImporterTest", ".xcs");
+    try {
+      BinaryExporter.writeSeries(series, file.getPath());
+      Series importedSeries = BinaryImporter.addSeries(new Chart(400, 300), file);
+
+      assertThat(importedSeries.getDataSource().size(), equalTo(50));
+      assertThat(importedSeries.getDataSource().getX(0), equalTo(51000.0));
+      assertThat(importedSeries.getDataSource().getY(49), equalTo(100.0));
+      assertThat(importedSeries.getXMin(), equalTo(51000.0));
+    } finally {
+      file.delete();
+    }
+  }
+
+}
@@ -0,0 +1,177 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Test;
+
+import com.xeiam.xchart.StyleManager.ChartTheme;
+import com.xeiam.xchart.internal.BufferedImagePool;
+
+/**
+ * @author timmolter
+ */
+public class BitmapEncoderTest {
+
+  @Test
+  public void testStreamOutput() throws Exception {
+
+    Chart chart = getChart(ChartTheme.XChart, 1);
+    byte[] pngBytes = BitmapEncoder.getPNGBytes(chart);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BitmapEncoder.savePNG(chart, out);
+    assertThat(Arrays.equals(out.toByteArray(), pngBytes), equalTo(true));
+
+    ByteBuffer byteBuffer = BitmapEncoder.getPNGByteBuffer(chart);
+    assertThat(byteBuffer.position(), equalTo(0));
+    byte[] bufferBytes = new byte[byteBuffer.remaining()];
+    byteBuffer.get(bufferBytes);
+    assertThat(Arrays.equals(bufferBytes, pngBytes), equalTo(true));
+
+    // the file is closed and the same as the stream
+    out = new ByteArrayOutputStream();
+    BitmapEncoder.saveJPG(chart, out, 0.9f);
+    File jpgFile = File.createTempFile("BitmapEncoderTest", ".jpg");
+    try {
+      BitmapEncoder.saveJPG(chart, jpgFile.getPath(), 0.9f);
+      assertThat(jpgFile.length(), equalTo((long) out.size()));
+      assertThat(ImageIO.read(jpgFile).getWidth(), equalTo(chart.getWidth()));
+    } finally {
+      jpgFile.delete();
+    }
+  }
+
+  @Test
+  public void testPooledImageIsRepainted() throws Exception {
+
+    BitmapEncoder.setBufferedImagePoolSize(1);
+    try {
+      Chart chart = getChart(ChartTheme.XChart, 1);
+      BufferedImage expected = BitmapEncoder.getBufferedImage(chart);
+
+      // leaves a differently painted image of the same size in the pool
+      BitmapEncoder.getPNGBytes(getChart(ChartTheme.GGPlot2, -1));
+      BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(BitmapEncoder.getPNGBytes(chart)));
+      assertImagesEqual(decoded, expected);
+    } finally {
+      BitmapEncoder.setBufferedImagePoolSize(BitmapEncoder.DEFAULT_BUFFERED_IMAGE_POOL_SIZE);
+    }
+  }
+
+  @Test
+  public void testPooledImageUnderTranslucentBackground() throws Exception {
+
+    // with the default pool, a transparent chart after a red one of the same size
+    Chart redChart = getChart(ChartTheme.XChart, -1);
+    redChart.getStyleManager().setChartBackgroundColor(Color.RED);
+    redChart.getStyleManager().setPlotBackgroundColor(Color.RED);
+    Chart chart = getChart(ChartTheme.XChart, 1);
+    chart.getStyleManager().setChartBackgroundColor(new Color(0, 0, 0, 0));
+    chart.getStyleManager().setPlotBackgroundColor(new Color(255, 255, 255, 64));
+    BufferedImage expected = BitmapEncoder.getBufferedImage(chart);
+
+    for (int i = 0; i < 3; i++) {
+      BitmapEncoder.getPNGBytes(redChart);
+      BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(BitmapEncoder.getPNGBytes(chart)));
+      assertThat(decoded.getRGB(0, 0), equalTo(0xFF000000));
+      assertImagesEqual(decoded, expected);
+    }
+  }
+
+  @Test
+  public void testPoolEviction() {
+
+    BufferedImagePool pool = new BufferedImagePool(2);
+    BufferedImage a = pool.acquire(10, 20);
+    BufferedImage b = pool.acquire(20, 10);
+    BufferedImage c = pool.acquire(30, 30);
+    pool.release(a);
+    pool.release(b);
+    assertThat(pool.getIdleCount(), equalTo(2));
+
+    // using size a makes size b the least recently used
+    assertThat(pool.acquire(10, 20) == a, equalTo(true));
+    pool.release(a);
+    pool.release(c);
+    assertThat(pool.getIdleCount(), equalTo(2));
+    assertThat(pool.acquire(20, 10) == b, equalTo(false));
+    assertThat(pool.acquire(30, 30) == c, equalTo(true));
+    assertThat(pool.acquire(10, 20) == a, equalTo(true));
+    assertThat(pool.getIdleCount(), equalTo(0));
+
+    // several images of one size are evicted oldest first
+    BufferedImage a2 = new BufferedImage(10, 20, BufferedImage.TYPE_INT_RGB);
+    pool.release(a);
+    pool.release(a2);
+    pool.release(c);
+    assertThat(pool.getIdleCount(), equalTo(2));
+    assertThat(pool.acquire(10, 20) == a2, equalTo(true));
+    assertThat(pool.acquire(30, 30) == c, equalTo(true));
+    assertThat(pool.getIdleCount(), equalTo(0));
+  }
+
+  @Test
+  public void testPoolingOff() throws Exception {
+
+    BufferedImagePool pool = new BufferedImagePool(0);
+    BufferedImage image = pool.acquire(10, 20);
+    pool.release(image);
+    assertThat(pool.getIdleCount(), equalTo(0));
+    assertThat(pool.acquire(10, 20) == image, equalTo(false));
+
+    BitmapEncoder.setBufferedImagePoolSize(0);
+    try {
+      Chart chart = getChart(ChartTheme.XChart, 1);
+      BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(BitmapEncoder.getPNGBytes(chart)));
+      assertImagesEqual(decoded, BitmapEncoder.getBufferedImage(chart));
+    } finally {
+      BitmapEncoder.setBufferedImagePoolSize(BitmapEncoder.DEFAULT_BUFFERED_IMAGE_POOL_SIZE);
+    }
+  }
+
+  private static Chart getChart(ChartTheme chartTheme, double slope) {
+
+    Chart chart = new Chart(400, 300, chartTheme);
+    chart.setChartTitle("BitmapEncoderTest");
+    chart.addSeries("a", new double[] { 1, 2, 3, 4 }, new double[] { slope, 2 * slope, 3 * slope, 5 * slope });
+    return chart;
+  }
+
+  private static void assertImagesEqual(BufferedImage image, BufferedImage expected) {
+
+    assertThat(image.getWidth(), equalTo(expected.getWidth()));
+    assertThat(image.getHeight(), equalTo(expected.getHeight()));
+    for (int y = 0; y < expected.getHeight(); y++) {
+      for (int x = 0; x < expected.getWidth(); x++) {
+        assertThat(x + "," + y, image.getRGB(x, y), equalTo(expected.getRGB(x, y)));
+      }
+    }
+  }
+
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.xeiam.xchart.CSVImporter.DataOrientation;
+import com.xeiam.xchart.internal.CSVWriter;
+
+/**
+ * @author timmolter
+ */
+public class CSVExporterTest {
+
+  @Test
+  public void testRoundTrip() throws Exception {
+
+    Random random = new Random(3);
+    double[] xData = new double[2000];
+    double[] yData = new double[xData.length];
+    double[] errorBars = new double[xData.length];
+    for (int i = 0; i < xData.length; i++) {
+      xData[i] = i * 0.1;
+      yData[i] = i % 2 == 0 ? random.nextGaussian() : Double.longBitsToDouble(random.nextLong());
+      errorBars[i] = i % 100 == 0 ? -0.0 : Math.round(random.nextDouble() * 1000) / 1000.0;
+    }
+
+    File dir = File.createTempFile("CSVExporterTest", "");
+    dir.delete();
+    dir.mkdir();
+    File file = new File(dir, "series.csv");
+    try {
+      Chart chart = new Chart(800, 600);
+      CSVExporter.writeCSVColumns(chart.addSeries("series", xData, yData, errorBars), dir.getPath() + File.separator);
+      Series series = CSVImporter.getChartFromCSVDir(dir.getPath(), DataOrientation.Columns, 800, 600).getSeriesMap().get("series");
+
+      for (int i = 0; i < xData.length; i++) {
+        assertThat(Double.doubleToLongBits(series.getXDataArray()[i]), equalTo(Double.doubleToLongBits(xData[i])));
+        assertThat(Double.doubleToLongBits(series.getYDataArray()[i]), equalTo(Double.doubleToLongBits(yData[i])));
+        assertThat(Double.doubleToLongBits(series.getErrorBarsArray()[i]), equalTo(Double.doubleToLongBits(errorBars[i])));
+        assertThat(new String(toCSV(xData[i], yData[i])), equalTo(xData[i] + "," + yData[i]));
+      }
+    } finally {
+      file.delete();
+      dir.delete();
+    }
+  }
+
+  @Test
+  public void testChartColumns() throws Exception {
+
+    Chart chart = new Chart(800, 600);
+    Series a = chart.addDateSeries("a", new long[] { 1, 2 }, new double[] { 0.5, -1.25 });
+    a.append(new Date(3), 1e-5);
+    chart.addDateSeries("b, dated", new long[] { 1000L, 2000L }, new double[] { 7, 8 }, new double[] { 0.1, 0.2 });
+    chart.addSeries("c", Arrays.asList(new Date(5L)), Arrays.asList(42));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    CSVExporter.writeCSVColumns(chart, out);
+    String lineSeparator = System.getProperty("line.separator");
+    String expected = "a X,a Y,\"b, dated X\",\"b, dated Y\",\"b, dated Error Bars\",c X,c Y" + lineSeparator + "1,0.5,1000,7.0,0.1,5,42" + lineSeparator
+        + "2,-1.25,2000,8.0,0.2,," + lineSeparator + "3,1.0E-5,,,,," + lineSeparator;
+    assertThat(out.toString("UTF-8"), equalTo(expected));
+  }
+
+  @Test
+  public void testIntegerCollections() throws Exception {
+
+    Chart chart = new Chart(800, 600);
+    chart.addSeries("a", Arrays.asList(1, 2), Arrays.asList(9007199254740993L, -3L), Arrays.asList(0.5, 1.5));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    CSVExporter.writeCSVRows(chart, out);
+    String lineSeparator = System.getProperty("line.separator");
+    String expected = "a X,1,2" + lineSeparator + "a Y,9007199254740993,-3" + lineSeparator + "a Error Bars,0.5,1.5" + lineSeparator;
+    assertThat(out.toString("UTF-8"), equalTo(expected));
+  }
+
+  private static String toCSV(double x, double y) throws Exception {
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    CSVWriter csvWriter = new CSVWriter(out);
+    csvWriter.writeDouble(x);
+    csvWriter.writeComma();
+    csvWriter.writeDouble(y);
+    csvWriter.flush();
+    return out.toString("UTF-8");
+  }
+
+}
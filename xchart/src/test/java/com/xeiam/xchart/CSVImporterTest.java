@@ -0,0 +1,94 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.SimpleDateFormat;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.xeiam.xchart.CSVImporter.DataOrientation;
+
+/**
+ * @author timmolter
+ */
+public class CSVImporterTest {
+
+  @Test
+  public void testColumns() throws IOException {
+
+    // a header, white space, a trailing comma, an empty value and numbers that need Double.parseDouble(..)
+    StringBuilder csv = new StringBuilder("x , y,error\r\n");
+    Random random = new Random(7);
+    double[] yData = new double[1000];
+    for (int i = 0; i < yData.length; i++) {
+      yData[i] = i % 3 == 0 ? random.nextGaussian() : (i % 3 == 1 ? random.nextInt(1000) / 100.0 : random.nextDouble() * Math.pow(10, random.nextInt(80) - 40));
+      csv.append(i).append(", ").append(yData[i]).append(',').append(i == 5 ? "" : "0.5").append(",\r\n");
+    }
+
+    Series series = importSeries(csv.toString(), DataOrientation.Columns, null);
+    double[] importedYData = series.getYDataArray();
+    assertThat(importedYData.length, equalTo(yData.length));
+    for (int i = 0; i < yData.length; i++) {
+      assertThat(importedYData[i], equalTo(yData[i]));
+      assertThat(series.getXDataArray()[i], equalTo((double) i));
+    }
+    assertThat(Double.isNaN(series.getErrorBarsArray()[5]), equalTo(true));
+    assertThat(series.getErrorBarsArray()[6], equalTo(0.5));
+  }
+
+  @Test
+  public void testRowsWithDates() throws Exception {
+
+    // labels at the start of each row
+    String csv = "time,2014-01-02 10:00:00,2014-01-02 11:00:00\nvalue,1.5e2,-2E-1\n";
+
+    Series series = importSeries(csv, DataOrientation.Rows, "yyyy-MM-dd HH:mm:ss");
+    SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+    assertThat(series.getXDateArray()[1], equalTo(dateFormat.parse("2014-01-02 11:00:00").getTime()));
+    assertThat(series.getYDataArray()[0], equalTo(150.0));
+    assertThat(series.getYDataArray()[1], equalTo(-0.2));
+  }
+
+  private Series importSeries(String csv, DataOrientation dataOrientation, String datePattern) throws IOException {
+
+    File dir = File.createTempFile("CSVImporterTest", "");
+    dir.delete();
+    dir.mkdir();
+    File file = new File(dir, "series.csv");
+    OutputStream out = new FileOutputStream(file);
+    try {
+      out.write(csv.getBytes("UTF-8"));
+    } finally {
+      out.close();
+    }
+    try {
+      Chart chart = CSVImporter.getChartFromCSVDir(dir.getPath(), dataOrientation, 800, 600, null, datePattern);
+      return chart.getSeriesMap().get("series");
+    } finally {
+      file.delete();
+      dir.delete();
+    }
+  }
+
+}
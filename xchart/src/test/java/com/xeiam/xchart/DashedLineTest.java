@@ -0,0 +1,72 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * @author timmolter
+ */
+public class DashedLineTest {
+
+  /** starts with a gap longer than a marker radius plus the line width, so that a segment does not touch the marker it starts at */
+  private static final BasicStroke STROKE = new BasicStroke(2.0f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10.0f, new float[] { 5.0f, 12.0f }, 5.0f);
+
+  @Test
+  public void testDashedLineWithMarkersPaintedSegmentBySegment() {
+
+    double[] xData = { 0, 1, 2, 3, 4, 5, 6, 7 };
+    double[] yData = { 0, 5, 1, 4, 2, 6, 0, 3 };
+
+    Chart chart = getChart();
+    chart.addSeries("dashed", xData, yData).setLineStyle(STROKE).setLineColor(Color.BLUE).setMarker(SeriesMarker.CIRCLE).setMarkerColor(Color.RED);
+
+    // each segment with the dash pattern starting over, painted under the marker it ends at, as before dashed lines were collected into paths
+    Chart segmentChart = getChart();
+    for (int i = 1; i < xData.length; i++) {
+      segmentChart.addSeries("segment" + i, new double[] { xData[i - 1], xData[i] }, new double[] { yData[i - 1], yData[i] }).setLineStyle(STROKE)
+          .setLineColor(Color.BLUE).setMarker(SeriesMarker.NONE);
+    }
+    segmentChart.addSeries("markers", xData, yData).setLineStyle(SeriesLineStyle.NONE).setMarker(SeriesMarker.CIRCLE).setMarkerColor(Color.RED);
+
+    assertThat(Arrays.equals(getRGB(chart), getRGB(segmentChart)), equalTo(true));
+  }
+
+  private static Chart getChart() {
+
+    Chart chart = new Chart(400, 300);
+    chart.getStyleManager().setLegendVisible(false);
+    chart.getStyleManager().setXAxisMin(0.0);
+    chart.getStyleManager().setXAxisMax(7.0);
+    chart.getStyleManager().setYAxisMin(0.0);
+    chart.getStyleManager().setYAxisMax(6.0);
+    return chart;
+  }
+
+  private static int[] getRGB(Chart chart) {
+
+    BufferedImage image = BitmapEncoder.getBufferedImage(chart);
+    return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+  }
+}
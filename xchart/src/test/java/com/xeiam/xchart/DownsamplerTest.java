@@ -0,0 +1,95 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * @author timmolter
+ */
+public class DownsamplerTest {
+
+  @Test
+  public void testLTTB() {
+
+    double[] xData = new double[100];
+    double[] yData = new double[100];
+    for (int i = 0; i < xData.length; i++) {
+      xData[i] = i;
+      yData[i] = 1.0;
+    }
+    yData[42] = 100.0; // a spike
+
+    int[] indices = Downsampler.getLTTBIndices(xData, yData, 10);
+    assertThat(indices.length, equalTo(10));
+    assertThat(indices[0], equalTo(0));
+    assertThat(indices[9], equalTo(99));
+    assertThat(Arrays.binarySearch(indices, 42) >= 0, equalTo(true));
+    for (int i = 1; i < indices.length; i++) {
+      assertThat(indices[i] > indices[i - 1], equalTo(true));
+    }
+
+    double[] selected = Downsampler.select(yData, indices);
+    assertThat(selected.length, equalTo(10));
+
+    // nothing to do
+    indices = Downsampler.getLTTBIndices(xData, yData, 200);
+    assertThat(indices.length, equalTo(100));
+    indices = Downsampler.getLTTBIndices(xData, yData, 2);
+    assertThat(indices.length, equalTo(100));
+  }
+
+  @Test
+  public void testLTTBDates() {
+
+    long[] xData = new long[50];
+    double[] yData = new double[50];
+    for (int i = 0; i < xData.length; i++) {
+      xData[i] = 1358108105000L + i * 1000L;
+      yData[i] = Math.sin(i);
+    }
+
+    int[] indices = Downsampler.getLTTBIndices(xData, yData, 5);
+    long[] selected = Downsampler.select(xData, indices);
+    assertThat(selected.length, equalTo(5));
+    assertThat(selected[0], equalTo(1358108105000L));
+    assertThat(selected[4], equalTo(1358108154000L));
+  }
+
+  @Test
+  public void testLTTBKeepsGaps() {
+
+    double[] xData = new double[100];
+    double[] yData = new double[100];
+    for (int i = 0; i < xData.length; i++) {
+      xData[i] = i;
+      yData[i] = i % 7;
+    }
+    yData[50] = Double.NaN;
+    yData[51] = Double.NaN;
+
+    int[] indices = Downsampler.getLTTBIndices(xData, yData, 10);
+    assertThat(Arrays.binarySearch(indices, 50) >= 0, equalTo(true));
+    assertThat(Arrays.binarySearch(indices, 51) >= 0, equalTo(false));
+    assertThat(indices.length, equalTo(11));
+  }
+
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.xeiam.xchart.internal.LODPyramid;
+
+/**
+ * @author timmolter
+ */
+public class LevelOfDetailTest {
+
+  @Test
+  public void testBucketsOfSlidingWindow() {
+
+    Chart chart = new Chart(800, 600);
+    Series series = chart.addSeries("live", new double[] { 0.0 }, new double[] { 0.0 });
+    series.setCapacity(5000);
+    series.setLevelOfDetailEnabled(true);
+    BitmapEncoder.getBufferedImage(chart); // builds the pyramid
+
+    Random random = new Random(3);
+    for (int i = 1; i < 20000; i++) {
+      series.append(i, random.nextInt(10) == 0 ? Double.NaN : random.nextGaussian());
+      if (i % 2999 == 0) {
+        series.evict(random.nextInt(1000));
+        checkBuckets(series);
+      }
+    }
+    checkBuckets(series);
+    BitmapEncoder.getBufferedImage(chart);
+  }
+
+  @Test
+  public void testUnsortedXData() {
+
+    // a line back and forth across the plot, which buckets of consecutive points cannot stand in for
+    Random random = new Random(5);
+    double[] xData = new double[20000];
+    double[] yData = new double[xData.length];
+    for (int i = 0; i < xData.length; i++) {
+      xData[i] = random.nextDouble();
+      yData[i] = random.nextGaussian();
+    }
+    Chart chart = new Chart(800, 600);
+    Series series = chart.addSeries("a", xData, yData);
+    series.setMarker(SeriesMarker.NONE);
+    BufferedImage expected = BitmapEncoder.getBufferedImage(chart);
+
+    series.setLevelOfDetailEnabled(true);
+    BufferedImage actual = BitmapEncoder.getBufferedImage(chart);
+    int[] expectedPixels = expected.getRGB(0, 0, 800, 600, null, 0, 800);
+    int[] actualPixels = actual.getRGB(0, 0, 800, 600, null, 0, 800);
+    assertThat(Arrays.equals(actualPixels, expectedPixels), equalTo(true));
+  }
+
+  /**
+   * Compares every bucket that can be painted with the points it stands in for
+   */
+  private void checkBuckets(Series series) {
+
+    LODPyramid lodPyramid = series.getLODPyramid();
+    double[] xData = series.getXDataArray();
+    double[] yData = series.getYDataArray();
+    assertThat(lodPyramid.size(), equalTo(yData.length));
+
+    int level = lodPyramid.getLevel(yData.length, 1);
+    assertThat(level >= LODPyramid.MIN_LEVEL, equalTo(true));
+    for (; level >= LODPyramid.MIN_LEVEL; level--) {
+      long endBucket = lodPyramid.getEndBucket(level, yData.length);
+      for (long bucket = lodPyramid.getFirstBucket(level, 0); bucket < endBucket; bucket++) {
+        int from = lodPyramid.getPointIndex(level, bucket);
+        int to = from + (1 << level);
+        int firstIndex = -1;
+        int lastIndex = -1;
+        int minIndex = -1;
+        int maxIndex = -1;
+        for (int i = from; i < to; i++) {
+          if (!Double.isNaN(yData[i])) {
+            if (firstIndex < 0) {
+              firstIndex = i;
+              minIndex = i;
+              maxIndex = i;
+            }
+            minIndex = yData[i] < yData[minIndex] ? i : minIndex;
+            maxIndex = yData[i] > yData[maxIndex] ? i : maxIndex;
+            lastIndex = i;
+          }
+        }
+        int[] indices = { firstIndex, Math.min(minIndex, maxIndex), Math.max(minIndex, maxIndex), lastIndex };
+        for (int point = 0; point < LODPyramid.POINTS_PER_BUCKET; point++) {
+          assertThat(lodPyramid.getX(level, bucket, point), equalTo(xData[indices[point]]));
+          assertThat(lodPyramid.getY(level, bucket, point), equalTo(yData[indices[point]]));
+        }
+      }
+    }
+  }
+}
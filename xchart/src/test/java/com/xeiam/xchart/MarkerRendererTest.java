@@ -0,0 +1,92 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+
+import com.xeiam.xchart.internal.markers.MarkerRenderer;
+
+/**
+ * @author timmolter
+ */
+public class MarkerRendererTest {
+
+  @Test
+  public void testSpritesLookLikeFilledShapes() {
+
+    MarkerRenderer markerRenderer = new MarkerRenderer();
+    Color color = new Color(200, 30, 60);
+    double[] offsets = { 10.0, 10.5, 10.3, 10.77 };
+
+    for (SeriesMarker seriesMarker : SeriesMarker.values()) {
+      if (seriesMarker.getMarker() == null) {
+        continue;
+      }
+      for (double xOffset : offsets) {
+        for (double yOffset : offsets) {
+
+          BufferedImage expected = getImage();
+          Graphics2D g = expected.createGraphics();
+          g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+          g.setColor(color);
+          seriesMarker.getMarker().paint(g, xOffset, yOffset);
+          g.dispose();
+
+          BufferedImage actual = getImage();
+          g = actual.createGraphics();
+          g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+          markerRenderer.paint(g, seriesMarker.getMarker(), color, xOffset, yOffset);
+          g.dispose();
+
+          assertThat(seriesMarker + " at " + xOffset + ", " + yOffset, getMaxDifference(expected, actual) <= 16, equalTo(true));
+        }
+      }
+    }
+  }
+
+  private BufferedImage getImage() {
+
+    BufferedImage image = new BufferedImage(24, 24, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = image.createGraphics();
+    g.setColor(Color.WHITE);
+    g.fillRect(0, 0, 24, 24);
+    g.dispose();
+    return image;
+  }
+
+  private int getMaxDifference(BufferedImage expected, BufferedImage actual) {
+
+    int max = 0;
+    for (int x = 0; x < expected.getWidth(); x++) {
+      for (int y = 0; y < expected.getHeight(); y++) {
+        int rgb1 = expected.getRGB(x, y);
+        int rgb2 = actual.getRGB(x, y);
+        for (int shift = 0; shift < 24; shift += 8) {
+          max = Math.max(max, Math.abs(((rgb1 >> shift) & 0xFF) - ((rgb2 >> shift) & 0xFF)));
+        }
+      }
+    }
+    return max;
+  }
+}
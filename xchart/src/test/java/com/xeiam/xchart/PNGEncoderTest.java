@@ -0,0 +1,83 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Test;
+
+/**
+ * @author timmolter
+ */
+public class PNGEncoderTest {
+
+  @Test
+  public void testRoundTrip() throws Exception {
+
+    Chart chart = new Chart(400, 300);
+    chart.addSeries("a", new double[] { 1, 2, 3, 4 }, new double[] { 3, 1, 4, 1 });
+    BufferedImage chartImage = BitmapEncoder.getBufferedImage(chart);
+
+    // random noise, too many colors for a palette
+    BufferedImage noiseImage = new BufferedImage(97, 31, BufferedImage.TYPE_INT_RGB);
+    Random random = new Random(3);
+    for (int y = 0; y < noiseImage.getHeight(); y++) {
+      for (int x = 0; x < noiseImage.getWidth(); x++) {
+        noiseImage.setRGB(x, y, random.nextInt());
+      }
+    }
+
+    // a few translucent colors
+    BufferedImage alphaImage = new BufferedImage(20, 10, BufferedImage.TYPE_INT_ARGB);
+    for (int y = 0; y < alphaImage.getHeight(); y++) {
+      for (int x = 0; x < alphaImage.getWidth(); x++) {
+        alphaImage.setRGB(x, y, ((x * 25) << 24) | (y * 20) << 8 | 0x40);
+      }
+    }
+
+    PNGEncoder pngEncoder = new PNGEncoder();
+    for (BufferedImage image : new BufferedImage[] { chartImage, noiseImage, alphaImage }) {
+      for (PNGEncoder.Filter filter : PNGEncoder.Filter.values()) {
+        for (boolean isPaletteEnabled : new boolean[] { false, true }) {
+          pngEncoder.setFilter(filter);
+          pngEncoder.setPaletteEnabled(isPaletteEnabled);
+          pngEncoder.setCompressionLevel(isPaletteEnabled ? 1 : 9);
+          ByteArrayOutputStream out = new ByteArrayOutputStream();
+          pngEncoder.encode(image, out);
+
+          BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+          String message = image.getWidth() + "x" + image.getHeight() + " " + filter + " palette " + isPaletteEnabled;
+          assertThat(message, decoded.getWidth(), equalTo(image.getWidth()));
+          assertThat(message, decoded.getHeight(), equalTo(image.getHeight()));
+          for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+              assertThat(message, decoded.getRGB(x, y), equalTo(image.getRGB(x, y)));
+            }
+          }
+        }
+      }
+    }
+    pngEncoder.end();
+  }
+}
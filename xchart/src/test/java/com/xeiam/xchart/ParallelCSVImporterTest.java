@@ -0,0 +1,113 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+import com.xeiam.xchart.CSVImporter.DataOrientation;
+
+/**
+ * @author timmolter
+ */
+public class ParallelCSVImporterTest {
+
+  @Test
+  public void testOrderAndErrors() throws Exception {
+
+    File dir = File.createTempFile("ParallelCSVImporterTest", "");
+    dir.delete();
+    dir.mkdir();
+    String[] fileNames = { "d.csv", "b.csv", "bad.csv", "a.csv", "c.csv" };
+    for (int i = 0; i < fileNames.length; i++) {
+      String csv = fileNames[i].equals("bad.csv") ? "1,2\n3,four\n" : "1," + i + "\n2," + i + "\n";
+      OutputStream out = new FileOutputStream(new File(dir, fileNames[i]));
+      try {
+        out.write(csv.getBytes("UTF-8"));
+      } finally {
+        out.close();
+      }
+    }
+
+    ExecutorService executorService = Executors.newFixedThreadPool(3);
+    try {
+      ParallelCSVImporter importer = new ParallelCSVImporter(executorService, 2);
+      importer.setMaxBytesInFlight(1);
+      Chart chart = importer.getChartFromCSVDir(dir.getPath(), DataOrientation.Columns, 800, 600, null);
+
+      assertThat(new ArrayList<String>(chart.getSeriesMap().keySet()), equalTo(Arrays.asList("a", "b", "c", "d")));
+      assertThat(chart.getSeriesMap().get("a").getYDataArray()[1], equalTo(3.0));
+      assertThat(new ArrayList<String>(importer.getExceptions().keySet()), equalTo(Arrays.asList("bad.csv")));
+      assertThat(importer.getExceptions().get("bad.csv") instanceof IllegalArgumentException, equalTo(true));
+    } finally {
+      executorService.shutdown();
+      for (String fileName : fileNames) {
+        new File(dir, fileName).delete();
+      }
+      dir.delete();
+    }
+  }
+
+  @Test
+  public void testRaggedColumnsAndDuplicateNames() throws Exception {
+
+    File dir = File.createTempFile("ParallelCSVImporterTest", "");
+    dir.delete();
+    dir.mkdir();
+    // a.csv has one error bar less than Y values, b.csv.csv would be a second series named b
+    String[] fileNames = { "a.csv", "b.csv", "b.csv.csv", "c.csv" };
+    String[] csvs = { "1,2,0.1\n2,3\n", "1,2\n2,3\n", "1,4\n2,5\n", "1,6\n2,7\n" };
+    for (int i = 0; i < fileNames.length; i++) {
+      OutputStream out = new FileOutputStream(new File(dir, fileNames[i]));
+      try {
+        out.write(csvs[i].getBytes("UTF-8"));
+      } finally {
+        out.close();
+      }
+    }
+
+    ExecutorService executorService = Executors.newFixedThreadPool(2);
+    try {
+      ParallelCSVImporter importer = new ParallelCSVImporter(executorService, 2);
+      Chart chart = importer.getChartFromCSVDir(dir.getPath(), DataOrientation.Columns, 800, 600, null);
+
+      assertThat(new ArrayList<String>(chart.getSeriesMap().keySet()), equalTo(Arrays.asList("b", "c")));
+      assertThat(chart.getSeriesMap().get("b").getYDataArray()[1], equalTo(3.0));
+      assertThat(new ArrayList<String>(importer.getExceptions().keySet()), equalTo(Arrays.asList("a.csv", "b.csv.csv")));
+      assertThat(importer.getExceptions().get("a.csv") instanceof IllegalArgumentException, equalTo(true));
+      assertThat(importer.getExceptions().get("a.csv").getMessage().contains("a.csv"), equalTo(true));
+      assertThat(importer.getExceptions().get("b.csv.csv") instanceof IllegalArgumentException, equalTo(true));
+    } finally {
+      executorService.shutdown();
+      for (String fileName : fileNames) {
+        new File(dir, fileName).delete();
+      }
+      dir.delete();
+    }
+  }
+
+}
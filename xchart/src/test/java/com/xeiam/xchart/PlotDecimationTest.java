@@ -0,0 +1,99 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.xeiam.xchart.StyleManager.ChartType;
+
+/**
+ * @author timmolter
+ */
+public class PlotDecimationTest {
+
+  /** the difference between the largest and smallest color component above which a pixel is painted by the series rather than gray background or grid */
+  private static final int MIN_SATURATION = 48;
+
+  @Test
+  public void testDecimatedPaintedLikeFullLine() {
+
+    Random random = new Random(7);
+    double[] xData = new double[30020];
+    double[] yData = new double[xData.length];
+    double walk = 0;
+    for (int i = 0; i < xData.length; i++) {
+      // about a hundred points per pixel column, then points more than a pixel apart, one per column
+      xData[i] = i < 30000 ? i * 0.01 : 300 + (i - 30000) * 2.0;
+      walk += random.nextGaussian();
+      // a gap
+      yData[i] = i >= 10000 && i < 10500 ? Double.NaN : walk;
+    }
+
+    for (ChartType chartType : new ChartType[] { ChartType.Line, ChartType.Area }) {
+      BufferedImage[] images = new BufferedImage[2];
+      for (int i = 0; i < images.length; i++) {
+        Chart chart = new Chart(400, 300);
+        chart.getStyleManager().setChartType(chartType);
+        chart.getStyleManager().setPlotDecimationEnabled(i == 1);
+        chart.addSeries("walk", xData, yData).setMarker(SeriesMarker.NONE);
+        images[i] = BitmapEncoder.getBufferedImage(chart);
+      }
+
+      // the antialiased edges differ, so every painted pixel must have a painted pixel at most one pixel away in the other image
+      for (int y = 0; y < images[0].getHeight(); y++) {
+        for (int x = 0; x < images[0].getWidth(); x++) {
+          if (isPainted(images[0], x, y)) {
+            assertThat(chartType + " decimated " + x + "," + y, isPaintedNear(images[1], x, y), equalTo(true));
+          }
+          if (isPainted(images[1], x, y)) {
+            assertThat(chartType + " full " + x + "," + y, isPaintedNear(images[0], x, y), equalTo(true));
+          }
+        }
+      }
+    }
+  }
+
+  private static boolean isPaintedNear(BufferedImage image, int x, int y) {
+
+    for (int dy = -1; dy <= 1; dy++) {
+      for (int dx = -1; dx <= 1; dx++) {
+        if (isPainted(image, x + dx, y + dy)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static boolean isPainted(BufferedImage image, int x, int y) {
+
+    if (x < 0 || y < 0 || x >= image.getWidth() || y >= image.getHeight()) {
+      return false;
+    }
+    int rgb = image.getRGB(x, y);
+    int red = (rgb >> 16) & 0xFF;
+    int green = (rgb >> 8) & 0xFF;
+    int blue = rgb & 0xFF;
+    return Math.max(red, Math.max(green, blue)) - Math.min(red, Math.min(green, blue)) > MIN_SATURATION;
+  }
+
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+import com.xeiam.xchart.StyleManager.ChartType;
+
+/**
+ * @author timmolter
+ */
+public class SVGEncoderTest {
+
+  @Test
+  public void testPathsPerSeries() throws Exception {
+
+    // the number of elements does not grow with the number of points
+    Document small = toDocument(getLineChart(10));
+    Document large = toDocument(getLineChart(100000));
+    assertThat(large.getDocumentElement().getAttribute("width"), equalTo("400"));
+    assertThat(large.getElementsByTagName("path").getLength(), equalTo(small.getElementsByTagName("path").getLength()));
+  }
+
+  @Test
+  public void testPathsPerSeriesWithMarkers() throws Exception {
+
+    // the default markers go into a path of their own instead of splitting the line
+    Document small = toDocument(getLineChartWithMarkers(10));
+    Document large = toDocument(getLineChartWithMarkers(2000));
+    assertThat(large.getElementsByTagName("path").getLength(), equalTo(small.getElementsByTagName("path").getLength()));
+  }
+
+  @Test
+  public void testVectorMarkers() throws Exception {
+
+    Chart chart = new Chart(400, 300);
+    chart.getStyleManager().setChartType(ChartType.Scatter);
+    chart.addSeries("a", new double[] { 1, 2, 3, 4 }, new double[] { 3, 1, 4, 1 });
+    Document document = toDocument(chart);
+    assertThat(document.getElementsByTagName("image").getLength(), equalTo(0));
+  }
+
+  private Chart getLineChart(int pointCount) {
+
+    Chart chart = getLineChartWithMarkers(pointCount);
+    chart.getSeriesMap().get("a").setMarker(SeriesMarker.NONE);
+    return chart;
+  }
+
+  private Chart getLineChartWithMarkers(int pointCount) {
+
+    double[] xData = new double[pointCount];
+    double[] yData = new double[pointCount];
+    // the same axes for any number of points
+    for (int i = 0; i < pointCount; i++) {
+      xData[i] = i * 100.0 / (pointCount - 1);
+      yData[i] = i % 2 == 0 ? -1 : 1;
+    }
+    Chart chart = new Chart(400, 300);
+    chart.addSeries("a", xData, yData);
+    return chart;
+  }
+
+  private Document toDocument(Chart chart) throws Exception {
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    SVGEncoder.saveSVG(chart, out);
+    return DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new ByteArrayInputStream(out.toByteArray()));
+  }
+
+}
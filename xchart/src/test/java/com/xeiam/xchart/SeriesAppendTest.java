@@ -0,0 +1,136 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * @author timmolter
+ */
+public class SeriesAppendTest {
+
+  @Test
+  public void testSlidingWindow() {
+
+    Chart chart = new Chart(800, 600);
+    Series series = chart.addSeries("live", new double[] { 0.0 }, new double[] { 5.0 });
+
+    Random random = new Random(7);
+    int windowSize = 50;
+    for (int i = 1; i < 1000; i++) {
+      series.append(i, random.nextGaussian() * i);
+      if (series.getYData().size() > windowSize) {
+        series.evict(1);
+      }
+
+      double[] xData = series.getXDataArray();
+      double[] yData = series.getYDataArray();
+      assertThat(yData.length, equalTo(Math.min(i + 1, windowSize)));
+      assertThat(xData[xData.length - 1], equalTo((double) i));
+
+      double[] sorted = yData.clone();
+      Arrays.sort(sorted);
+      assertThat(series.getYMin(), equalTo(sorted[0]));
+      assertThat(series.getYMax(), equalTo(sorted[sorted.length - 1]));
+      assertThat(series.getXMin(), equalTo(xData[0]));
+      assertThat(series.getXMax(), equalTo((double) i));
+    }
+  }
+
+  @Test
+  public void testErrorBarsAndGaps() {
+
+    Chart chart = new Chart(800, 600);
+    Series series = chart.addSeries("live", new double[] { 1.0, 2.0 }, new double[] { 10.0, 20.0 }, new double[] { 1.0, 1.0 });
+
+    series.append(3.0, Double.NaN, 0.0);
+    series.append(4.0, 15.0, 10.0);
+    assertThat(series.getYMin(), equalTo(5.0));
+    assertThat(series.getYMax(), equalTo(25.0));
+    assertThat(series.getYData().size(), equalTo(4));
+    assertThat(series.getYData().contains(null), equalTo(true));
+
+    series.evict(3);
+    assertThat(series.getYMin(), equalTo(5.0));
+    assertThat(series.getYMax(), equalTo(25.0));
+    assertThat(series.getErrorBarsArray().length, equalTo(1));
+  }
+
+  @Test
+  public void testDates() {
+
+    Chart chart = new Chart(800, 600);
+    Series series = chart.addDateSeries("live", new long[] { 1000L, 2000L }, new double[] { 1.0, 2.0 });
+
+    int extremaModCount = series.getExtremaModCount();
+    series.append(new Date(3000L), 1.5);
+    assertThat(series.getXMax(), equalTo(3000.0));
+    assertThat(series.getExtremaModCount() != extremaModCount, equalTo(true));
+    assertThat(series.getXData().size(), equalTo(3));
+    assertThat(((Date) series.getXData().iterator().next()).getTime(), equalTo(1000L));
+
+    // the Y extrema did not change, the X extrema did
+    extremaModCount = series.getExtremaModCount();
+    series.evict(1);
+    assertThat(series.getXMin(), equalTo(2000.0));
+    assertThat(series.getExtremaModCount() != extremaModCount, equalTo(true));
+  }
+
+  @Test
+  public void testRingBuffer() {
+
+    Chart chart = new Chart(400, 300);
+    Series series = chart.addSeries("live", new double[] { 0.0, 1.0 }, new double[] { 3.0, 4.0 }).setCapacity(20);
+    for (int i = 2; i < 25; i++) {
+      series.append(i, i % 7);
+    }
+    series.appendAll(new double[] { 25.0, 26.0, 27.0 }, new double[] { 1.0, Double.NaN, 2.0 });
+
+    assertThat(series.getPointCount(), equalTo(20));
+    assertThat(series.getBufferStart() > 0, equalTo(true));
+    assertThat(series.getXMin(), equalTo(8.0));
+    assertThat(series.getXMax(), equalTo(27.0));
+    assertThat(series.getXDataArray()[0], equalTo(8.0));
+    assertThat(series.getYDataArray()[19], equalTo(2.0));
+
+    // the chart painted from the wrapped ring buffer looks like the chart painted from plain arrays
+    Chart expectedChart = new Chart(400, 300);
+    expectedChart.addSeries("live", series.getXDataArray().clone(), series.getYDataArray().clone());
+    BufferedImage expected = BitmapEncoder.getBufferedImage(expectedChart);
+    BufferedImage actual = BitmapEncoder.getBufferedImage(chart);
+    for (int x = 0; x < expected.getWidth(); x++) {
+      for (int y = 0; y < expected.getHeight(); y++) {
+        assertThat(actual.getRGB(x, y), equalTo(expected.getRGB(x, y)));
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAppendWrongAxisType() {
+
+    Chart chart = new Chart(800, 600);
+    Series series = chart.addSeries("live", new double[] { 1.0 }, new double[] { 1.0 });
+    series.append(new Date(), 1.0);
+  }
+}
@@ -0,0 +1,163 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * @author timmolter
+ */
+public class SeriesDataSourceTest {
+
+  @Test
+  public void testPaintedLikeArrays() {
+
+    SineDataSource dataSource = new SineDataSource(100000);
+    Chart chart = new Chart(400, 300);
+    chart.addSeries("sine", dataSource);
+    Chart arrayChart = new Chart(400, 300);
+    arrayChart.addSeries("sine", dataSource.xData, dataSource.yData);
+
+    assertThat(chart.getSeriesMap().get("sine").getYData().size(), equalTo(100000));
+    assertThat(Arrays.equals(getRGB(chart), getRGB(arrayChart)), equalTo(true));
+    assertThat(dataSource.readCount, equalTo(100000));
+  }
+
+  @Test
+  public void testOnlyVisiblePointsRead() {
+
+    SineDataSource dataSource = new SineDataSource(100000);
+    Chart chart = new Chart(400, 300);
+    chart.addSeries("sine", dataSource);
+    chart.getStyleManager().setXAxisMin(1000.0);
+    chart.getStyleManager().setXAxisMax(1999.5);
+
+    BitmapEncoder.getBufferedImage(chart);
+    // the visible points and one on either side
+    assertThat(dataSource.readCount, equalTo(1002));
+  }
+
+  private static int[] getRGB(Chart chart) {
+
+    BufferedImage image = BitmapEncoder.getBufferedImage(chart);
+    return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+  }
+
+  /**
+   * A sine wave in arrays, counting the points read
+   */
+  private static class SineDataSource implements SeriesDataSource {
+
+    private final double[] xData;
+    private final double[] yData;
+    private int readCount = 0;
+
+    SineDataSource(int size) {
+
+      xData = new double[size];
+      yData = new double[size];
+      for (int i = 0; i < size; i++) {
+        xData[i] = i;
+        yData[i] = Math.sin(i / 1000.0);
+      }
+    }
+
+    @Override
+    public int size() {
+
+      return xData.length;
+    }
+
+    @Override
+    public boolean isDateSeries() {
+
+      return false;
+    }
+
+    @Override
+    public boolean hasErrorBars() {
+
+      return false;
+    }
+
+    @Override
+    public boolean isXSorted() {
+
+      return true;
+    }
+
+    @Override
+    public double getXMin() {
+
+      return xData[0];
+    }
+
+    @Override
+    public double getXMax() {
+
+      return xData[xData.length - 1];
+    }
+
+    @Override
+    public double getYMin() {
+
+      double[] sorted = yData.clone();
+      Arrays.sort(sorted);
+      return sorted[0];
+    }
+
+    @Override
+    public double getYMax() {
+
+      double[] sorted = yData.clone();
+      Arrays.sort(sorted);
+      return sorted[sorted.length - 1];
+    }
+
+    @Override
+    public double getX(int index) {
+
+      return xData[index];
+    }
+
+    @Override
+    public double getY(int index) {
+
+      return yData[index];
+    }
+
+    @Override
+    public double getErrorBar(int index) {
+
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void read(int fromIndex, int toIndex, double[] xData, double[] yData, double[] errorBars) {
+
+      System.arraycopy(this.xData, fromIndex, xData, 0, toIndex - fromIndex);
+      System.arraycopy(this.yData, fromIndex, yData, 0, toIndex - fromIndex);
+      readCount += toIndex - fromIndex;
+    }
+  }
+
+}
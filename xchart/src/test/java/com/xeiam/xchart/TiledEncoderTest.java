@@ -0,0 +1,98 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Test;
+
+/**
+ * @author timmolter
+ */
+public class TiledEncoderTest {
+
+  @Test
+  public void testSameAsOneImage() throws Exception {
+
+    // tiles that do not divide the height
+    assertSameAsOneImage(getChart(), 3, 4);
+  }
+
+  @Test
+  public void testTranslucentBackground() throws Exception {
+
+    Chart chart = getChart();
+    chart.getStyleManager().setChartBackgroundColor(new Color(255, 0, 0, 64));
+    chart.getStyleManager().setPlotBackgroundColor(new Color(255, 255, 255, 0));
+
+    // one thread and two tiles in flight, so each tile image is painted again for later rows
+    assertSameAsOneImage(chart, 1, 2);
+  }
+
+  private Chart getChart() {
+
+    double[] xData = new double[200];
+    double[] yData = new double[200];
+    for (int i = 0; i < xData.length; i++) {
+      xData[i] = i;
+      yData[i] = Math.sin(i / 10.0);
+    }
+    Chart chart = new Chart(300, 200);
+    chart.setChartTitle("Tiles");
+    chart.addSeries("a", xData, yData);
+    return chart;
+  }
+
+  private void assertSameAsOneImage(Chart chart, int threadCount, int maxTilesInFlight) throws Exception {
+
+    // the whole chart at 144 DPI in one image
+    BufferedImage expected = new BufferedImage(600, 400, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = expected.createGraphics();
+    g.scale(2, 2);
+    chart.paint(g);
+
+    ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    PNGEncoder pngEncoder = new PNGEncoder();
+    try {
+      new TiledEncoder(executorService, maxTilesInFlight).setTileHeight(37).savePNGWithDPI(chart, out, 144, pngEncoder);
+    } finally {
+      pngEncoder.end();
+      executorService.shutdown();
+    }
+
+    BufferedImage actual = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+    assertThat(actual.getWidth(), equalTo(expected.getWidth()));
+    assertThat(actual.getHeight(), equalTo(expected.getHeight()));
+    for (int y = 0; y < expected.getHeight(); y++) {
+      for (int x = 0; x < expected.getWidth(); x++) {
+        assertThat(x + "," + y, actual.getRGB(x, y), equalTo(expected.getRGB(x, y)));
+      }
+    }
+  }
+
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright 2011 - 2014 Xeiam LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xeiam.xchart;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * @author timmolter
+ */
+public class ViewportCullingTest {
+
+  @Test
+  public void testZoomedArraysPaintedLikeVisibleSlice() {
+
+    Random random = new Random(5);
+    double[] xData = new double[100000];
+    double[] yData = new double[xData.length];
+    for (int i = 0; i < xData.length; i++) {
+      xData[i] = i * 0.5;
+      yData[i] = i == 0 ? 0 : yData[i - 1] + random.nextGaussian();
+    }
+
+    for (boolean isPlotDecimationEnabled : new boolean[] { false, true }) {
+      Chart chart = new Chart(400, 300);
+      Series series = chart.addSeries("walk", xData, yData);
+      assertThat(series.isXSorted(), equalTo(true));
+
+      // points 40001 to 40800 are visible
+      Chart sliceChart = new Chart(400, 300);
+      sliceChart.addSeries("walk", Arrays.copyOfRange(xData, 40000, 40802), Arrays.copyOfRange(yData, 40000, 40802));
+
+      for (Chart c : new Chart[] { chart, sliceChart }) {
+        c.getStyleManager().setPlotDecimationEnabled(isPlotDecimationEnabled);
+        c.getStyleManager().setXAxisMin(20000.25);
+        c.getStyleManager().setXAxisMax(20400.0);
+        c.getStyleManager().setYAxisMin(-500.0);
+        c.getStyleManager().setYAxisMax(500.0);
+      }
+      assertThat(Arrays.equals(getRGB(chart), getRGB(sliceChart)), equalTo(true));
+    }
+  }
+
+  @Test
+  public void testZoomedRingBufferPaintedLikeVisibleSlice() {
+
+    Chart chart = new Chart(400, 300);
+    Series series = chart.addSeries("live", new double[] { 0.0 }, new double[] { 0.0 });
+    series.setCapacity(5000);
+    Random random = new Random(6);
+    for (int i = 1; i < 12000; i++) {
+      series.append(i, random.nextGaussian());
+    }
+    assertThat(series.isXSorted(), equalTo(true));
+
+    // the window holds X values 7000 to 11999, 9000 to 9100 are visible
+    Chart sliceChart = new Chart(400, 300);
+    sliceChart.addSeries("live", Arrays.copyOfRange(series.getXDataArray(), 1999, 2102), Arrays.copyOfRange(series.getYDataArray(), 1999, 2102));
+
+    for (Chart c : new Chart[] { chart, sliceChart }) {
+      c.getStyleManager().setXAxisMin(9000.0);
+      c.getStyleManager().setXAxisMax(9100.0);
+      c.getStyleManager().setYAxisMin(-5.0);
+      c.getStyleManager().setYAxisMax(5.0);
+    }
+    assertThat(Arrays.equals(getRGB(chart), getRGB(sliceChart)), equalTo(true));
+
+    series.append(0.0, 1.0);
+    assertThat(series.isXSorted(), equalTo(false));
+  }
+
+  private static int[] getRGB(Chart chart) {
+
+    BufferedImage image = BitmapEncoder.getBufferedImage(chart);
+    return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+  }
+}